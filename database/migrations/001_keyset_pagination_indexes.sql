@@ -0,0 +1,7 @@
+-- Indexes for keyset pagination on alerts and project task lists
+-- (already part of schema.sql for new databases)
+USE project_management;
+
+CREATE INDEX idx_alerts_keyset ON alerts(severity, created_at, id);
+CREATE INDEX idx_alerts_unread_keyset ON alerts(is_read, severity, created_at, id);
+CREATE INDEX idx_tasks_project_keyset ON tasks(project_id, priority, deadline, id);
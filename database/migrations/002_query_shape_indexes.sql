@@ -0,0 +1,30 @@
+-- Composite indexes matching the DAO queries (filter columns first, then the ORDER BY columns),
+-- so that each list is read in order from one index range, without a filesort
+-- (already part of schema.sql for new databases; needs MySQL 8.0 for the DESC key parts)
+USE project_management;
+
+-- Tasks of a project: ORDER BY priority DESC, deadline ASC mixes directions,
+-- so priority is stored descending
+DROP INDEX idx_tasks_project_keyset ON tasks;
+CREATE INDEX idx_tasks_project_keyset ON tasks(project_id, priority DESC, deadline, id);
+-- TaskDAO.findByProjectAndStatus
+CREATE INDEX idx_tasks_project_status ON tasks(project_id, status, priority DESC, deadline);
+-- TaskDAO.findUnassignedByProject (assigned_member_id IS NULL is an index lookup)
+CREATE INDEX idx_tasks_project_assignee ON tasks(project_id, assigned_member_id, priority DESC, deadline);
+-- TaskDAO.findByMember
+CREATE INDEX idx_tasks_assignee_deadline ON tasks(assigned_member_id, deadline);
+
+-- AlertDAO.findByMember / findByProject: ORDER BY severity DESC, created_at DESC (read backwards)
+CREATE INDEX idx_alerts_member_order ON alerts(member_id, severity, created_at);
+CREATE INDEX idx_alerts_project_order ON alerts(project_id, severity, created_at);
+
+-- ProjectDAO.findAll, MemberDAO.findAll
+CREATE INDEX idx_projects_created ON projects(created_at);
+CREATE INDEX idx_members_name ON members(name);
+
+-- Left-prefixes of the indexes above: the foreign keys use the composite ones from now on
+DROP INDEX idx_tasks_project ON tasks;
+DROP INDEX idx_tasks_assigned ON tasks;
+DROP INDEX idx_alerts_member ON alerts;
+DROP INDEX idx_alerts_project ON alerts;
+DROP INDEX idx_alerts_read ON alerts;
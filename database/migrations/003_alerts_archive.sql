@@ -0,0 +1,26 @@
+-- Archive table for the alert retention job (AlertRetentionJob)
+-- (already part of schema.sql for new databases)
+USE project_management;
+
+CREATE TABLE alerts_archive (
+    id INT NOT NULL,
+    type ENUM('OVERLOAD', 'CONFLICT', 'DELAY', 'DEADLINE', 'INFO') NOT NULL,
+    severity ENUM('LOW', 'MEDIUM', 'HIGH', 'CRITICAL'),
+    title VARCHAR(200) NOT NULL,
+    message TEXT NOT NULL,
+    member_id INT,
+    member_name VARCHAR(100),
+    project_id INT,
+    project_name VARCHAR(200),
+    task_id INT,
+    task_title VARCHAR(200),
+    created_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) ENGINE=InnoDB;
+
+-- Each retention chunk reads the oldest read alerts from this index
+CREATE INDEX idx_alerts_retention ON alerts(is_read, created_at, id);
+CREATE INDEX idx_alerts_archive_created ON alerts_archive(created_at);
+CREATE INDEX idx_alerts_archive_member ON alerts_archive(member_id, created_at);
+CREATE INDEX idx_alerts_archive_project ON alerts_archive(project_id, created_at);
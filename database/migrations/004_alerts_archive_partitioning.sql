@@ -0,0 +1,31 @@
+-- OPTIONAL: monthly range partitions on alerts_archive (MySQL only, after 003)
+--
+-- The live alerts table is not partitioned: MySQL does not allow foreign keys on
+-- partitioned tables, and its cascades (member, project, task deletion) are relied upon.
+-- It stays small thanks to the retention job; the archive is where rows pile up.
+--
+-- Dropping a month of archive is then instant:
+--   ALTER TABLE alerts_archive DROP PARTITION p2026_01;
+-- Add the next months before they start by splitting pmax:
+--   ALTER TABLE alerts_archive REORGANIZE PARTITION pmax INTO (
+--       PARTITION p2027_01 VALUES LESS THAN (UNIX_TIMESTAMP('2027-02-01 00:00:00')),
+--       PARTITION pmax VALUES LESS THAN MAXVALUE);
+USE project_management;
+
+ALTER TABLE alerts_archive
+PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) (
+    PARTITION pold VALUES LESS THAN (UNIX_TIMESTAMP('2026-01-01 00:00:00')),
+    PARTITION p2026_01 VALUES LESS THAN (UNIX_TIMESTAMP('2026-02-01 00:00:00')),
+    PARTITION p2026_02 VALUES LESS THAN (UNIX_TIMESTAMP('2026-03-01 00:00:00')),
+    PARTITION p2026_03 VALUES LESS THAN (UNIX_TIMESTAMP('2026-04-01 00:00:00')),
+    PARTITION p2026_04 VALUES LESS THAN (UNIX_TIMESTAMP('2026-05-01 00:00:00')),
+    PARTITION p2026_05 VALUES LESS THAN (UNIX_TIMESTAMP('2026-06-01 00:00:00')),
+    PARTITION p2026_06 VALUES LESS THAN (UNIX_TIMESTAMP('2026-07-01 00:00:00')),
+    PARTITION p2026_07 VALUES LESS THAN (UNIX_TIMESTAMP('2026-08-01 00:00:00')),
+    PARTITION p2026_08 VALUES LESS THAN (UNIX_TIMESTAMP('2026-09-01 00:00:00')),
+    PARTITION p2026_09 VALUES LESS THAN (UNIX_TIMESTAMP('2026-10-01 00:00:00')),
+    PARTITION p2026_10 VALUES LESS THAN (UNIX_TIMESTAMP('2026-11-01 00:00:00')),
+    PARTITION p2026_11 VALUES LESS THAN (UNIX_TIMESTAMP('2026-12-01 00:00:00')),
+    PARTITION p2026_12 VALUES LESS THAN (UNIX_TIMESTAMP('2027-01-01 00:00:00')),
+    PARTITION pmax VALUES LESS THAN MAXVALUE
+);
@@ -0,0 +1,93 @@
+-- Manual assignment in one round trip (TaskDAO.assignTaskToMember / unassignTask)
+-- MySQL only, run with the mysql client (DELIMITER): mysql -u root -p < database/migrations/005_assign_procedures.sql
+-- TaskDAO looks the procedures up once and falls back to one statement per step without them.
+--
+-- Neither procedure commits: the caller's transaction decides. Rows are locked task first,
+-- then member, in the same order as the statement-by-statement path.
+-- Result: one row (member_id, competence_score, current_workload, weekly_availability).
+USE project_management;
+
+DELIMITER //
+
+DROP PROCEDURE IF EXISTS assign_task //
+CREATE PROCEDURE assign_task(IN p_task_id INT, IN p_member_id INT)
+BEGIN
+    DECLARE v_hours DECIMAL(10, 2);
+    DECLARE v_name VARCHAR(100);
+    DECLARE v_workload DECIMAL(10, 2);
+    DECLARE v_availability INT;
+    DECLARE v_total INT;
+    DECLARE v_matched INT;
+    DECLARE v_score DOUBLE;
+    DECLARE v_pct DECIMAL(10, 1);
+    DECLARE v_error VARCHAR(128);
+
+    SELECT estimated_hours INTO v_hours FROM tasks WHERE id = p_task_id FOR UPDATE;
+    SELECT name, current_workload, weekly_availability INTO v_name, v_workload, v_availability
+    FROM members WHERE id = p_member_id FOR UPDATE;
+    IF v_hours IS NULL OR v_name IS NULL THEN
+        SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = 'Task or member not found';
+    END IF;
+
+    -- Même règle que TaskDAO : au moins 60% des compétences requises au niveau demandé
+    SELECT COUNT(*), COALESCE(SUM(COALESCE(ms.proficiency_level, 0) >= ts.required_level), 0)
+    INTO v_total, v_matched
+    FROM task_skills ts
+    LEFT JOIN member_skills ms ON ts.skill_id = ms.skill_id AND ms.member_id = p_member_id
+    WHERE ts.task_id = p_task_id;
+    SET v_score = IF(v_total > 0, v_matched / v_total, 1.0);
+    IF v_score < 0.6 THEN
+        -- MESSAGE_TEXT est limité à 128 caractères
+        SET v_error = CONCAT('INCOMPETENT: ', LEFT(v_name, 40),
+                             ' n''est pas assez compétent pour cette tâche (score: ', ROUND(v_score * 100), '%).');
+        SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = v_error;
+    END IF;
+
+    UPDATE tasks SET assigned_member_id = p_member_id, updated_at = NOW() WHERE id = p_task_id;
+    SET v_workload = v_workload + v_hours;
+    UPDATE members SET current_workload = v_workload WHERE id = p_member_id;
+
+    IF v_workload > v_availability THEN
+        SET v_pct = v_workload / v_availability * 100;
+        INSERT INTO alerts (type, severity, title, message, member_id, is_read)
+        VALUES ('OVERLOAD', IF(v_workload > v_availability * 1.5, 'CRITICAL', 'HIGH'),
+                CONCAT('Member Overloaded: ', v_name),
+                CONCAT(v_name, ' is overloaded at ', v_pct, '% capacity (',
+                       CAST(v_workload AS DECIMAL(10, 1)), '/', CAST(v_availability AS DECIMAL(10, 1)), ' hours)'),
+                p_member_id, FALSE);
+    END IF;
+
+    SELECT p_member_id AS member_id, v_score AS competence_score,
+           v_workload AS current_workload, v_availability AS weekly_availability;
+END //
+
+DROP PROCEDURE IF EXISTS unassign_task //
+CREATE PROCEDURE unassign_task(IN p_task_id INT)
+BEGIN
+    DECLARE v_found INT DEFAULT 0;
+    DECLARE v_hours DECIMAL(10, 2);
+    DECLARE v_member_id INT;
+    DECLARE v_workload DECIMAL(10, 2);
+    DECLARE v_availability INT;
+
+    SELECT 1, estimated_hours, assigned_member_id INTO v_found, v_hours, v_member_id
+    FROM tasks WHERE id = p_task_id AND status = 'TODO' FOR UPDATE;
+    IF v_found = 0 THEN
+        SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = 'Cannot unassign task: either task not found or status is not TODO';
+    END IF;
+    IF v_member_id IS NULL THEN
+        SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = 'Task is not assigned to anyone';
+    END IF;
+
+    SELECT current_workload, weekly_availability INTO v_workload, v_availability
+    FROM members WHERE id = v_member_id FOR UPDATE;
+    SET v_workload = GREATEST(0, v_workload - v_hours);
+
+    UPDATE tasks SET assigned_member_id = NULL, updated_at = NOW() WHERE id = p_task_id;
+    UPDATE members SET current_workload = v_workload WHERE id = v_member_id;
+
+    SELECT v_member_id AS member_id, NULL AS competence_score,
+           v_workload AS current_workload, v_availability AS weekly_availability;
+END //
+
+DELIMITER ;
@@ -99,6 +99,25 @@ CREATE TABLE alerts (
     FOREIGN KEY (task_id) REFERENCES tasks(id) ON DELETE CASCADE
 ) ENGINE=InnoDB;
 
+-- Table: alerts_archive (read alerts moved out of alerts by the retention job)
+-- No foreign keys: archived rows outlive their member, project or task, whose names are copied
+CREATE TABLE alerts_archive (
+    id INT NOT NULL,
+    type ENUM('OVERLOAD', 'CONFLICT', 'DELAY', 'DEADLINE', 'INFO') NOT NULL,
+    severity ENUM('LOW', 'MEDIUM', 'HIGH', 'CRITICAL'),
+    title VARCHAR(200) NOT NULL,
+    message TEXT NOT NULL,
+    member_id INT,
+    member_name VARCHAR(100),
+    project_id INT,
+    project_name VARCHAR(200),
+    task_id INT,
+    task_title VARCHAR(200),
+    created_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at) -- created_at : clé de partitionnement possible (migrations/004)
+) ENGINE=InnoDB;
+
 -- Table: task_history (for tracking changes)
 CREATE TABLE task_history (
     id INT AUTO_INCREMENT PRIMARY KEY,
@@ -112,15 +131,30 @@ CREATE TABLE task_history (
 ) ENGINE=InnoDB;
 
 -- Indexes for performance
-CREATE INDEX idx_tasks_project ON tasks(project_id);
-CREATE INDEX idx_tasks_assigned ON tasks(assigned_member_id);
 CREATE INDEX idx_tasks_status ON tasks(status);
-CREATE INDEX idx_alerts_member ON alerts(member_id);
-CREATE INDEX idx_alerts_project ON alerts(project_id);
-CREATE INDEX idx_alerts_read ON alerts(is_read);
 CREATE INDEX idx_projects_status ON projects(status);
 CREATE INDEX idx_members_email ON members(email);
 
+-- Keyset pagination (/api/alerts/?limit=, /api/projects/{id}/tasks?limit=)
+CREATE INDEX idx_alerts_keyset ON alerts(severity, created_at, id);
+CREATE INDEX idx_alerts_unread_keyset ON alerts(is_read, severity, created_at, id);
+CREATE INDEX idx_tasks_project_keyset ON tasks(project_id, priority DESC, deadline, id);
+
+-- DAO list queries: filter columns, then ORDER BY columns (see migrations/002)
+CREATE INDEX idx_tasks_project_status ON tasks(project_id, status, priority DESC, deadline);
+CREATE INDEX idx_tasks_project_assignee ON tasks(project_id, assigned_member_id, priority DESC, deadline);
+CREATE INDEX idx_tasks_assignee_deadline ON tasks(assigned_member_id, deadline);
+CREATE INDEX idx_alerts_member_order ON alerts(member_id, severity, created_at);
+CREATE INDEX idx_alerts_project_order ON alerts(project_id, severity, created_at);
+CREATE INDEX idx_projects_created ON projects(created_at);
+CREATE INDEX idx_members_name ON members(name);
+
+-- Alert retention (migrations/003): next chunk of old read alerts, archive lookups
+CREATE INDEX idx_alerts_retention ON alerts(is_read, created_at, id);
+CREATE INDEX idx_alerts_archive_created ON alerts_archive(created_at);
+CREATE INDEX idx_alerts_archive_member ON alerts_archive(member_id, created_at);
+CREATE INDEX idx_alerts_archive_project ON alerts_archive(project_id, created_at);
+
 -- Insert default skills
 INSERT INTO skills (name, description) VALUES
 ('Java Development', 'Backend development with Java'),
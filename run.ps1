@@ -22,6 +22,7 @@ $dependencies = @{
     "HikariCP-5.1.0.jar" = "https://repo1.maven.org/maven2/com/zaxxer/HikariCP/5.1.0/HikariCP-5.1.0.jar"
     "slf4j-api-2.0.9.jar" = "https://repo1.maven.org/maven2/org/slf4j/slf4j-api/2.0.9/slf4j-api-2.0.9.jar"
     "slf4j-simple-2.0.9.jar" = "https://repo1.maven.org/maven2/org/slf4j/slf4j-simple/2.0.9/slf4j-simple-2.0.9.jar"
+    "h2-2.2.224.jar" = "https://repo1.maven.org/maven2/com/h2database/h2/2.2.224/h2-2.2.224.jar"
 }
 
 foreach ($jar in $dependencies.Keys) {
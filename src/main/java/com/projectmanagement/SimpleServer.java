@@ -2,9 +2,21 @@ package com.projectmanagement;
 
 import com.sun.net.httpserver.*;
 import com.google.gson.*;
+import com.google.gson.stream.JsonWriter;
 import com.projectmanagement.dao.*;
+import com.projectmanagement.http.ApiRequests;
+import com.projectmanagement.http.ContentEncoding;
+import com.projectmanagement.http.HttpStatusException;
+import com.projectmanagement.http.JsonRequestReader;
+import com.projectmanagement.http.JsonStreamResponse;
+import com.projectmanagement.http.QueryParams;
+import com.projectmanagement.http.RequestExecutor;
+import com.projectmanagement.http.ResponseCompression;
+import com.projectmanagement.http.Router;
+import com.projectmanagement.http.StaticAssetCache;
 import com.projectmanagement.model.*;
 import com.projectmanagement.service.*;
+import static com.projectmanagement.dao.EntityVersions.Collection.*;
 import java.io.*;
 import java.net.InetSocketAddress;
 import java.nio.file.*;
@@ -28,278 +40,352 @@ public class SimpleServer {
         })
         .create();
     
+    private static final String SUCCESS = "{\"success\":true}";
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BULK_SIZE = 10_000;
+    private static final long MAX_BULK_BODY_BYTES = Long.getLong("server.maxBulkBodyBytes", 16 * 1024 * 1024);
+    
+    private static RequestExecutor requestExecutor;
+    private static final ResponseCompression compression = ResponseCompression.fromSystemProperties();
+    private static final JsonRequestReader bodyReader = JsonRequestReader.fromSystemProperties(gson);
+    
     public static void main(String[] args) throws Exception {
         HttpServer server = HttpServer.create(new InetSocketAddress(8080), 0);
         
-        server.createContext("/", exchange -> {
-            String path = exchange.getRequestURI().getPath();
-            if (path.equals("/")) path = "/index.html";
-            
-            File file = new File("src/main/webapp" + path);
-            if (file.exists()) {
-                byte[] bytes = Files.readAllBytes(file.toPath());
-                String contentType = path.endsWith(".html") ? "text/html; charset=UTF-8" :
-                                   path.endsWith(".css") ? "text/css" :
-                                   path.endsWith(".js") ? "application/javascript" : "text/plain";
-                exchange.getResponseHeaders().add("Content-Type", contentType);
-                exchange.sendResponseHeaders(200, bytes.length);
-                exchange.getResponseBody().write(bytes);
-            } else {
-                exchange.sendResponseHeaders(404, 0);
-            }
-            exchange.close();
-        });
+        // Sans executor, toutes les requêtes passent par le thread dispatcher du HttpServer
+        requestExecutor = RequestExecutor.fromSystemProperties();
+        server.setExecutor(requestExecutor);
+        
+        StaticAssetCache assets = new StaticAssetCache(Paths.get(System.getProperty("server.webroot", "src/main/webapp")));
+        assets.startWatching();
+        server.createContext("/", assets::handle);
+        
+        Storage storage = Storage.fromSystemProperties();
+        Router router = buildRouter(storage);
+        server.createContext("/api/", exchange -> dispatch(router, exchange));
+        
+        // Archivage des alertes lues anciennes, désactivé par défaut (-Dalerts.retention.days=30 pour l'activer)
+        AlertRetentionJob alertRetention = AlertRetentionJob.fromSystemProperties(storage.alerts());
+        alertRetention.start();
+        
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            alertRetention.stop();
+            server.stop(1);
+            requestExecutor.shutdown(5);
+        }));
+        
+        server.start();
+        System.out.println("\n======================================");
+        System.out.println("  Serveur demarre !");
+        System.out.println("======================================");
+        System.out.println("\nURL: http://localhost:8080\n");
+        System.out.println("Appuyez sur Ctrl+C pour arreter\n");
+    }
+    
+    /**
+     * Table des routes de l'API, construite une seule fois au démarrage.
+     * DAOs et services sont sans état : une seule instance partagée par tous les workers.
+     * Le stockage (JDBC ou mémoire) est choisi par -Dstorage, voir {@link Storage}.
+     */
+    static Router buildRouter(Storage storage) {
+        MemberRepository memberDAO = storage.members();
+        ProjectRepository projectDAO = storage.projects();
+        TaskRepository taskDAO = storage.tasks();
+        SkillRepository skillDAO = storage.skills();
+        AlertRepository alertDAO = storage.alerts();
+        TaskAllocationService allocationService = new TaskAllocationService(storage);
+        StatisticsService statisticsService = new StatisticsService(storage);
+        // Le batch passe par les connexions JDBC : pas d'équivalent en mémoire
+        BatchService batchService = storage instanceof JdbcStorage ? new BatchService(gson) : null;
+        
+        Router router = new Router();
         
         // API Members
-        server.createContext("/api/members/", exchange -> {
-            cors(exchange);
-            if ("OPTIONS".equals(exchange.getRequestMethod())) { exchange.sendResponseHeaders(200, -1); exchange.close(); return; }
-            
-            MemberDAO dao = new MemberDAO();
-            String method = exchange.getRequestMethod();
-            String path = exchange.getRequestURI().getPath();
-            String response = "";
-            
-            try {
-                // POST /api/members/{id}/skills - Add skill to member
-                if ("POST".equals(method) && path.contains("/skills")) {
-                    String body = read(exchange);
-                    Map<String, Object> data = gson.fromJson(body, Map.class);
-                    int memberId = getId(exchange);
-                    int skillId = ((Double)data.get("skillId")).intValue();
-                    int proficiency = ((Double)data.get("proficiencyLevel")).intValue();
-                    dao.addSkill(memberId, skillId, proficiency);
-                    response = "{\"success\":true}";
-                }
-                // DELETE /api/members/{memberId}/skills/{skillId} - Remove skill
-                else if ("DELETE".equals(method) && path.contains("/skills")) {
-                    String[] parts = path.split("/");
-                    int memberId = Integer.parseInt(parts[3]);
-                    int skillId = Integer.parseInt(parts[5]);
-                    dao.removeSkill(memberId, skillId);
-                    response = "{\"success\":true}";
-                }
-                // Standard CRUD
-                else if ("GET".equals(method)) {
-                    response = gson.toJson(dao.findAll());
-                } else if ("POST".equals(method)) {
-                    Member m = gson.fromJson(read(exchange), Member.class);
-                    dao.create(m);
-                    response = gson.toJson(m);
-                } else if ("PUT".equals(method)) {
-                    Member m = gson.fromJson(read(exchange), Member.class);
-                    dao.update(m);
-                    response = gson.toJson(m);
-                } else if ("DELETE".equals(method)) {
-                    dao.delete(getId(exchange));
-                    response = "{\"success\":true}";
-                }
-                send(exchange, response);
-            } catch (Exception e) {
-                error(exchange, e);
-            }
+        router.get("/api/members", versioned(p -> EntityVersions.etag(MEMBERS, SKILLS), (ex, p) -> {
+            FieldSet fields = fields(QueryParams.of(ex), MemberDAO.FIELDS);
+            send(ex, toJson(memberDAO.findAll(fields), fields));
+        }));
+        router.get("/api/members/{id:int}", versioned(p -> EntityVersions.etag(MEMBERS, p.getInt("id"), SKILLS),
+            (ex, p) -> send(ex, gson.toJson(memberDAO.findById(p.getInt("id"))))));
+        router.post("/api/members", (ex, p) -> {
+            Member m = read(ex, Member.class);
+            memberDAO.create(m);
+            send(ex, gson.toJson(m));
+        });
+        // POST /api/members/bulk - Création en masse (JDBC batch, une transaction)
+        router.post("/api/members/bulk", (ex, p) -> {
+            List<Member> members = readBulk(ex, Member[].class);
+            memberDAO.createAll(members);
+            send(ex, gson.toJson(members));
+        });
+        router.put("/api/members", (ex, p) -> {
+            Member m = read(ex, Member.class);
+            memberDAO.update(m);
+            send(ex, gson.toJson(m));
+        });
+        router.delete("/api/members/{id:int}", (ex, p) -> {
+            memberDAO.delete(p.getInt("id"));
+            send(ex, SUCCESS);
+        });
+        // POST /api/members/{id}/skills - Add skill to member
+        router.post("/api/members/{id:int}/skills", (ex, p) -> {
+            ApiRequests.MemberSkillRequest body = read(ex, ApiRequests.MemberSkillRequest.class);
+            memberDAO.addSkill(p.getInt("id"), body.getSkillId(), body.getProficiencyLevel());
+            send(ex, SUCCESS);
+        });
+        // DELETE /api/members/{memberId}/skills/{skillId} - Remove skill
+        router.delete("/api/members/{id:int}/skills/{skillId:int}", (ex, p) -> {
+            memberDAO.removeSkill(p.getInt("id"), p.getInt("skillId"));
+            send(ex, SUCCESS);
         });
         
         // API Projects
-        server.createContext("/api/projects/", exchange -> {
-            cors(exchange);
-            if ("OPTIONS".equals(exchange.getRequestMethod())) { exchange.sendResponseHeaders(200, -1); exchange.close(); return; }
-            
-            ProjectDAO dao = new ProjectDAO();
-            TaskDAO taskDAO = new TaskDAO();
-            String method = exchange.getRequestMethod();
-            String path = exchange.getRequestURI().getPath();
-            String response = "";
-            
-            try {
-                // GET /api/projects/{id}/tasks - Get tasks for a project
-                if ("GET".equals(method) && path.contains("/tasks")) {
-                    String[] parts = path.split("/");
-                    int projectId = 0;
-                    for (int i = 0; i < parts.length; i++) {
-                        if (parts[i].equals("projects") && i + 1 < parts.length) {
-                            try {
-                                projectId = Integer.parseInt(parts[i + 1]);
-                                break;
-                            } catch (Exception e) {}
-                        }
-                    }
-                    List<Task> tasks = taskDAO.findByProject(projectId);
-                    response = gson.toJson(tasks);
-                }
-                // GET /api/projects/{id} - Get single project
-                else if ("GET".equals(method) && path.matches(".*/\\d+/?$")) {
-                    int id = getId(exchange);
-                    Project project = dao.findById(id);
-                    response = gson.toJson(project);
-                }
-                // GET /api/projects/ - Get all projects
-                else if ("GET".equals(method)) {
-                    response = gson.toJson(dao.findAll());
-                } else if ("POST".equals(method)) {
-                    Project p = gson.fromJson(read(exchange), Project.class);
-                    dao.create(p);
-                    response = gson.toJson(p);
-                } else if ("PUT".equals(method)) {
-                    Project p = gson.fromJson(read(exchange), Project.class);
-                    dao.update(p);
-                    response = gson.toJson(p);
-                } else if ("DELETE".equals(method)) {
-                    dao.delete(getId(exchange));
-                    response = "{\"success\":true}";
-                }
-                send(exchange, response);
-            } catch (Exception e) {
-                error(exchange, e);
+        router.get("/api/projects", versioned(p -> EntityVersions.etag(PROJECTS), (ex, p) -> {
+            FieldSet fields = fields(QueryParams.of(ex), ProjectDAO.FIELDS);
+            send(ex, toJson(projectDAO.findAll(fields), fields));
+        }));
+        router.get("/api/projects/{id:int}", versioned(p -> EntityVersions.etag(PROJECTS, p.getInt("id")),
+            (ex, p) -> send(ex, gson.toJson(projectDAO.findById(p.getInt("id"))))));
+        // GET /api/projects/{id}/tasks - Get tasks for a project
+        router.get("/api/projects/{id:int}/tasks", versioned(p -> EntityVersions.etag(TASKS, MEMBERS, SKILLS), (ex, p) -> {
+            int projectId = p.getInt("id");
+            QueryParams query = QueryParams.of(ex);
+            FieldSet fields = fields(query, TaskDAO.FIELDS);
+            Integer limit = query.getInt("limit", 1, MAX_PAGE_SIZE);
+            if (limit != null) {
+                PageCursor after = cursor(query, Task.Priority.class);
+                streamPage(ex, writer -> taskDAO.streamPageByProject(projectId, fields, after, limit,
+                    task -> write(writer, task, fields)));
+                return;
             }
+            stream(ex, writer -> {
+                writer.beginArray();
+                taskDAO.streamByProject(projectId, fields, task -> write(writer, task, fields));
+                writer.endArray();
+            });
+        }));
+        router.post("/api/projects", (ex, p) -> {
+            Project project = read(ex, Project.class);
+            projectDAO.create(project);
+            send(ex, gson.toJson(project));
+        });
+        router.put("/api/projects", (ex, p) -> {
+            Project project = read(ex, Project.class);
+            projectDAO.update(project);
+            send(ex, gson.toJson(project));
+        });
+        router.delete("/api/projects/{id:int}", (ex, p) -> {
+            projectDAO.delete(p.getInt("id"));
+            send(ex, SUCCESS);
         });
         
         // API Tasks
-        server.createContext("/api/tasks/", exchange -> {
-            cors(exchange);
-            if ("OPTIONS".equals(exchange.getRequestMethod())) { exchange.sendResponseHeaders(200, -1); exchange.close(); return; }
-            
-            TaskDAO dao = new TaskDAO();
-            String method = exchange.getRequestMethod();
-            String path = exchange.getRequestURI().getPath();
-            String response = "";
-            
-            try {
-                // POST /api/tasks/{taskId}/assign - Manually assign task to member
-                if ("POST".equals(method) && path.contains("/assign")) {
-                    String body = read(exchange);
-                    Map<String, Object> data = gson.fromJson(body, Map.class);
-                    int taskId = getId(exchange);
-                    int memberId = ((Double)data.get("memberId")).intValue();
-                    dao.assignTaskToMember(taskId, memberId);
-                    
-                    // Vérifier si l'assignation a causé une surcharge et créer une alerte si nécessaire
-                    TaskAllocationService allocationService = new TaskAllocationService();
-                    allocationService.checkAndCreateOverloadAlert(memberId, taskId);
-                    
-                    response = "{\"success\":true,\"message\":\"Task assigned successfully\"}";
-                }
-                // DELETE /api/tasks/{taskId}/assign - Unassign task (only if TODO)
-                else if ("DELETE".equals(method) && path.contains("/assign")) {
-                    int taskId = getId(exchange);
-                    dao.unassignTask(taskId);
-                    response = "{\"success\":true,\"message\":\"Task unassigned successfully\"}";
-                }
-                // Standard CRUD
-                else if ("GET".equals(method)) {
-                    response = gson.toJson(dao.findById(getId(exchange)));
-                } else if ("POST".equals(method)) {
-                    Task t = gson.fromJson(read(exchange), Task.class);
-                    dao.create(t);
-                    response = gson.toJson(t);
-                } else if ("PUT".equals(method)) {
-                    Task t = gson.fromJson(read(exchange), Task.class);
-                    dao.update(t);
-                    response = gson.toJson(t);
-                } else if ("DELETE".equals(method)) {
-                    dao.delete(getId(exchange));
-                    response = "{\"success\":true}";
+        router.get("/api/tasks/{id:int}", versioned(p -> EntityVersions.etag(TASKS, p.getInt("id"), PROJECTS, MEMBERS, SKILLS),
+            (ex, p) -> send(ex, gson.toJson(taskDAO.findById(p.getInt("id"))))));
+        router.post("/api/tasks", (ex, p) -> {
+            Task t = read(ex, Task.class);
+            taskDAO.create(t);
+            send(ex, gson.toJson(t));
+        });
+        // POST /api/tasks/bulk - Création en masse, avec les compétences requises de chaque tâche
+        router.post("/api/tasks/bulk", (ex, p) -> {
+            List<Task> tasks = readBulk(ex, Task[].class);
+            for (Task t : tasks) {
+                if (t.getPriority() == null || t.getStatus() == null) {
+                    throw new HttpStatusException(400, "Missing field: priority or status");
                 }
-                send(exchange, response);
-            } catch (Exception e) {
-                error(exchange, e);
             }
+            taskDAO.createAll(tasks);
+            send(ex, gson.toJson(tasks));
+        });
+        router.put("/api/tasks", (ex, p) -> {
+            Task t = read(ex, Task.class);
+            taskDAO.update(t);
+            send(ex, gson.toJson(t));
+        });
+        router.delete("/api/tasks/{id:int}", (ex, p) -> {
+            taskDAO.delete(p.getInt("id"));
+            send(ex, SUCCESS);
+        });
+        // POST /api/tasks/{taskId}/assign - Manually assign task to member
+        router.post("/api/tasks/{id:int}/assign", (ex, p) -> {
+            int taskId = p.getInt("id");
+            int memberId = read(ex, ApiRequests.AssignRequest.class).getMemberId();
+            // Un seul appel : l'alerte de surcharge est levée dans la même transaction
+            TaskRepository.AssignmentResult result = taskDAO.assignTaskToMember(taskId, memberId);
+            send(ex, assignmentJson(result, "Task assigned successfully"));
+        });
+        // DELETE /api/tasks/{taskId}/assign - Unassign task (only if TODO)
+        router.delete("/api/tasks/{id:int}/assign", (ex, p) -> {
+            TaskRepository.AssignmentResult result = taskDAO.unassignTask(p.getInt("id"));
+            send(ex, assignmentJson(result, "Task unassigned successfully"));
+        });
+        router.post("/api/tasks/{id:int}/skills", (ex, p) -> {
+            ApiRequests.SkillRequirementRequest body = read(ex, ApiRequests.SkillRequirementRequest.class);
+            taskDAO.addSkillRequirement(p.getInt("id"), body.getSkillId(), body.getRequiredLevel());
+            send(ex, SUCCESS);
+        });
+        router.post("/api/tasks/{id:int}/dependencies", (ex, p) -> {
+            taskDAO.addDependency(p.getInt("id"), read(ex, ApiRequests.DependencyRequest.class).getDependsOnTaskId());
+            send(ex, SUCCESS);
         });
         
         // API Skills
-        server.createContext("/api/skills/", exchange -> {
-            cors(exchange);
-            if ("OPTIONS".equals(exchange.getRequestMethod())) { exchange.sendResponseHeaders(200, -1); exchange.close(); return; }
-            
+        router.get("/api/skills", versioned(p -> EntityVersions.etag(SKILLS),
+            (ex, p) -> send(ex, gson.toJson(skillDAO.findAll()))));
+        
+        // POST /api/batch - Plusieurs opérations en une requête et une transaction
+        router.post("/api/batch", (ex, p) -> {
+            if (batchService == null) {
+                throw new HttpStatusException(501, "Batch operations require the jdbc storage");
+            }
+            JsonObject body = read(ex, JsonObject.class);
+            if (!body.has("operations") || !body.get("operations").isJsonArray()) {
+                throw new HttpStatusException(400, "Missing field: operations");
+            }
             try {
-                SkillDAO dao = new SkillDAO();
-                send(exchange, gson.toJson(dao.findAll()));
-            } catch (Exception e) {
-                error(exchange, e);
+                BatchService.BatchResult result = batchService.execute(body.getAsJsonArray("operations"));
+                Map<String, Object> map = new LinkedHashMap<>();
+                map.put("success", true);
+                map.put("results", result.getResults());
+                map.put("refs", result.getRefs());
+                send(ex, gson.toJson(map));
+            } catch (BatchService.BatchException e) {
+                Map<String, Object> map = new LinkedHashMap<>();
+                map.put("success", false);
+                map.put("error", e.getMessage());
+                map.put("index", e.getIndex());
+                send(ex, batchStatus(e.getReason()), gson.toJson(map));
             }
         });
         
         // API Allocation
-        server.createContext("/api/allocate/", exchange -> {
-            cors(exchange);
-            if ("OPTIONS".equals(exchange.getRequestMethod())) { exchange.sendResponseHeaders(200, -1); exchange.close(); return; }
-            
-            try {
-                TaskAllocationService service = new TaskAllocationService();
-                TaskAllocationService.AllocationResult result = service.allocateTasks(getId(exchange));
-                Map<String, Object> map = new HashMap<>();
-                map.put("success", result.getAssignedCount() > 0);
-                map.put("assignedCount", result.getAssignedCount());
-                map.put("failedCount", result.getFailedCount());
-                map.put("message", result.getMessage());
-                send(exchange, gson.toJson(map));
-            } catch (Exception e) {
-                error(exchange, e);
-            }
+        router.post("/api/allocate/{id:int}", (ex, p) -> {
+            TaskAllocationService.Mode mode = allocationMode(QueryParams.of(ex));
+            TaskAllocationService.AllocationResult result = allocationService.allocateTasks(p.getInt("id"), mode);
+            Map<String, Object> map = new HashMap<>();
+            map.put("success", result.getAssignedCount() > 0);
+            map.put("assignedCount", result.getAssignedCount());
+            map.put("failedCount", result.getFailedCount());
+            map.put("message", result.getMessage());
+            map.put("mode", mode.name().toLowerCase(Locale.ROOT));
+            send(ex, gson.toJson(map));
         });
         
         // API Alerts
-        server.createContext("/api/alerts/", exchange -> {
-            cors(exchange);
-            if ("OPTIONS".equals(exchange.getRequestMethod())) { exchange.sendResponseHeaders(200, -1); exchange.close(); return; }
-            
-            AlertDAO dao = new AlertDAO();
-            String method = exchange.getRequestMethod();
-            String path = exchange.getRequestURI().getPath();
-            String query = exchange.getRequestURI().getQuery();
-            String response = "";
-            
-            try {
-                if ("GET".equals(method) && path.endsWith("/count")) {
-                    List<Alert> unread = dao.findAll(true);
-                    response = "{\"count\":" + unread.size() + "}";
-                } else if ("GET".equals(method) && query != null && query.contains("unread=true")) {
-                    response = gson.toJson(dao.findAll(true));
-                } else if ("GET".equals(method)) {
-                    response = gson.toJson(dao.findAll());
-                } else if ("DELETE".equals(method)) {
-                    dao.delete(getId(exchange));
-                    response = "{\"success\":true}";
-                } else if ("PUT".equals(method) && path.contains("/read")) {
-                    dao.markAsRead(getId(exchange));
-                    response = "{\"success\":true}";
+        router.get("/api/alerts", versioned(p -> EntityVersions.etag(ALERTS, MEMBERS, PROJECTS, TASKS), (ex, p) -> {
+            QueryParams query = QueryParams.of(ex);
+            boolean unreadOnly = query.getBoolean("unread");
+            FieldSet fields = fields(query, AlertDAO.FIELDS);
+            Integer limit = query.getInt("limit", 1, MAX_PAGE_SIZE);
+            if (limit != null) {
+                PageCursor after = cursor(query, Alert.Severity.class);
+                streamPage(ex, writer -> alertDAO.streamPage(unreadOnly, fields, after, limit,
+                    alert -> write(writer, alert, fields)));
+                return;
+            }
+            stream(ex, writer -> {
+                writer.beginArray();
+                alertDAO.streamAll(unreadOnly, fields, alert -> write(writer, alert, fields));
+                writer.endArray();
+            });
+        }));
+        router.get("/api/alerts/count", versioned(p -> EntityVersions.etag(ALERTS),
+            (ex, p) -> send(ex, "{\"count\":" + alertDAO.getUnreadCount() + "}")));
+        // GET /api/alerts/archive?memberId=&projectId=&from=yyyy-MM-dd&to=yyyy-MM-dd&limit=
+        router.get("/api/alerts/archive", versioned(p -> EntityVersions.etag(ALERTS), (ex, p) -> {
+            QueryParams query = QueryParams.of(ex);
+            Integer limit = query.getInt("limit", 1, MAX_PAGE_SIZE);
+            send(ex, gson.toJson(alertDAO.findArchived(query.getInt("memberId", 1, Integer.MAX_VALUE),
+                query.getInt("projectId", 1, Integer.MAX_VALUE), query.getDate("from"), query.getDate("to"),
+                limit != null ? limit : 100)));
+        }));
+        router.get("/api/alerts/{id:int}", versioned(p -> EntityVersions.etag(ALERTS, p.getInt("id"), MEMBERS, PROJECTS, TASKS),
+            (ex, p) -> send(ex, gson.toJson(alertDAO.findById(p.getInt("id"))))));
+        // POST /api/alerts/bulk - Création en masse
+        router.post("/api/alerts/bulk", (ex, p) -> {
+            List<Alert> alerts = readBulk(ex, Alert[].class);
+            for (Alert a : alerts) {
+                if (a.getType() == null || a.getSeverity() == null) {
+                    throw new HttpStatusException(400, "Missing field: type or severity");
                 }
-                send(exchange, response);
-            } catch (Exception e) {
-                error(exchange, e);
             }
+            alertDAO.createAll(alerts);
+            send(ex, gson.toJson(alerts));
+        });
+        router.put("/api/alerts/{id:int}/read", (ex, p) -> {
+            alertDAO.markAsRead(p.getInt("id"));
+            send(ex, SUCCESS);
+        });
+        router.put("/api/alerts/read-all", (ex, p) -> {
+            alertDAO.markAllAsRead();
+            send(ex, SUCCESS);
+        });
+        router.delete("/api/alerts/{id:int}", (ex, p) -> {
+            alertDAO.delete(p.getInt("id"));
+            send(ex, SUCCESS);
         });
         
         // API Statistics
-        server.createContext("/api/statistics/", exchange -> {
-            cors(exchange);
-            if ("OPTIONS".equals(exchange.getRequestMethod())) { exchange.sendResponseHeaders(200, -1); exchange.close(); return; }
-            
-            StatisticsService service = new StatisticsService();
-            String path = exchange.getRequestURI().getPath();
-            String response = "";
-            
-            try {
-                if (path.contains("/workload")) {
-                    response = gson.toJson(service.getMemberWorkloadStatistics());
-                } else if (path.matches(".*/project/\\d+/?")) {
-                    int id = Integer.parseInt(path.split("/")[4]);
-                    response = gson.toJson(service.getProjectStatistics(id));
-                } else {
-                    response = gson.toJson(service.getOverallStatistics());
+        router.get("/api/statistics", versioned(p -> EntityVersions.etag(PROJECTS, MEMBERS, TASKS),
+            (ex, p) -> send(ex, gson.toJson(statisticsService.getOverallStatistics()))));
+        router.get("/api/statistics/workload", versioned(p -> EntityVersions.etag(MEMBERS, TASKS),
+            (ex, p) -> send(ex, gson.toJson(statisticsService.getMemberWorkloadStatistics()))));
+        router.get("/api/statistics/project/{id:int}", versioned(p -> EntityVersions.etag(PROJECTS, p.getInt("id"), TASKS),
+            (ex, p) -> send(ex, gson.toJson(statisticsService.getProjectStatistics(p.getInt("id"))))));
+        
+        // API Metrics
+        router.get("/api/metrics", (ex, p) -> {
+            Map<String, Object> map = new HashMap<>();
+            map.put("executor", requestExecutor != null ? requestExecutor.getStats() : null);
+            map.put("compression", compression.getStats());
+            send(ex, gson.toJson(map));
+        });
+        
+        return router;
+    }
+    
+    /**
+     * Conditional GET: the ETag is computed from the in-memory version counters
+     * before any query, and a matching If-None-Match gets a 304 without touching the database.
+     */
+    static Router.Handler versioned(java.util.function.Function<Router.PathParams, String> etag, Router.Handler handler) {
+        return (ex, p) -> {
+            String tag = etag.apply(p);
+            ex.getResponseHeaders().set("ETag", tag);
+            ex.getResponseHeaders().set("Cache-Control", "no-cache");
+            String ifNoneMatch = ex.getRequestHeaders().getFirst("If-None-Match");
+            if (ifNoneMatch != null) {
+                for (String candidate : ifNoneMatch.split(",")) {
+                    if (candidate.trim().equals(tag)) {
+                        ex.sendResponseHeaders(304, -1);
+                        ex.close();
+                        return;
+                    }
                 }
-                send(exchange, response);
-            } catch (Exception e) {
-                error(exchange, e);
             }
-        });
+            handler.handle(ex, p);
+        };
+    }
+    
+    static void dispatch(Router router, HttpExchange exchange) throws IOException {
+        cors(exchange);
+        String method = exchange.getRequestMethod();
+        if ("OPTIONS".equals(method)) { exchange.sendResponseHeaders(200, -1); exchange.close(); return; }
         
-        server.start();
-        System.out.println("\n======================================");
-        System.out.println("  Serveur demarre !");
-        System.out.println("======================================");
-        System.out.println("\nURL: http://localhost:8080\n");
-        System.out.println("Appuyez sur Ctrl+C pour arreter\n");
+        Router.Match match = router.match(method, exchange.getRequestURI().getPath());
+        try {
+            if (match.isFound()) {
+                match.getHandler().handle(exchange, match.getParams());
+            } else if (match.getAllowedMethods() != null) {
+                exchange.getResponseHeaders().set("Allow", String.join(", ", match.getAllowedMethods()));
+                send(exchange, 405, "{\"success\":false,\"error\":\"Method not allowed\"}");
+            } else {
+                send(exchange, 404, "{\"success\":false,\"error\":\"Not found\"}");
+            }
+        } catch (Exception e) {
+            error(exchange, e);
+        }
     }
     
     static void cors(HttpExchange ex) {
@@ -309,34 +395,170 @@ public class SimpleServer {
         ex.getResponseHeaders().add("Access-Control-Allow-Headers", "Content-Type");
     }
     
-    static String read(HttpExchange ex) throws IOException {
-        BufferedReader r = new BufferedReader(new InputStreamReader(ex.getRequestBody(), "UTF-8"));
-        StringBuilder sb = new StringBuilder();
-        String line;
-        while ((line = r.readLine()) != null) sb.append(line);
-        return sb.toString();
+    static <T> T read(HttpExchange ex, Class<T> type) throws IOException {
+        return bodyReader.read(ex, type);
     }
     
-    static int getId(HttpExchange ex) {
-        String[] parts = ex.getRequestURI().getPath().split("/");
-        for (int i = parts.length - 1; i >= 0; i--) {
-            try { return Integer.parseInt(parts[i]); } catch (Exception e) {}
+    /**
+     * Body of a bulk endpoint: a JSON array of 1 to MAX_BULK_SIZE objects, read with the
+     * larger bulk body limit.
+     */
+    static <T> List<T> readBulk(HttpExchange ex, Class<T[]> type) throws IOException {
+        T[] items = bodyReader.read(ex, type, MAX_BULK_BODY_BYTES);
+        if (items.length == 0 || items.length > MAX_BULK_SIZE) {
+            throw new HttpStatusException(400, "Expected between 1 and " + MAX_BULK_SIZE + " items");
+        }
+        for (T item : items) {
+            if (item == null) {
+                throw new HttpStatusException(400, "Null item in array");
+            }
         }
-        return 0;
+        return Arrays.asList(items);
+    }
+    
+    // {"success":true,"message":...} plus le score de compétence et la nouvelle charge du membre
+    static String assignmentJson(TaskRepository.AssignmentResult result, String message) {
+        JsonObject json = gson.toJsonTree(result).getAsJsonObject();
+        json.addProperty("success", true);
+        json.addProperty("message", message);
+        return gson.toJson(json);
     }
     
     static void send(HttpExchange ex, String response) throws IOException {
+        send(ex, 200, response);
+    }
+    
+    static void send(HttpExchange ex, int status, String response) throws IOException {
         byte[] bytes = response.getBytes("UTF-8");
-        ex.sendResponseHeaders(200, bytes.length);
+        ContentEncoding encoding = compression.negotiate(ex.getRequestHeaders().getFirst("Accept-Encoding"), bytes.length);
+        bytes = compression.encode(bytes, encoding);
+        ex.getResponseHeaders().set("Vary", "Accept-Encoding");
+        if (encoding != ContentEncoding.IDENTITY) {
+            ex.getResponseHeaders().set("Content-Encoding", encoding.getToken());
+        }
+        ex.sendResponseHeaders(status, bytes.length);
         ex.getResponseBody().write(bytes);
         ex.close();
     }
     
+    /**
+     * Streams a JSON body (chunked) instead of building the whole string in memory.
+     * If the body fails after the first bytes were sent, the connection is just cut.
+     */
+    static void stream(HttpExchange ex, JsonStreamResponse.Body body) throws IOException {
+        JsonStreamResponse response = new JsonStreamResponse(ex, compression);
+        try {
+            response.send(body);
+        } catch (Exception e) {
+            if (!response.isCommitted()) {
+                error(ex, e);
+                return;
+            }
+            e.printStackTrace();
+        } finally {
+            ex.close();
+        }
+    }
+    
+    /**
+     * Page of a keyset-paginated list: {"items":[...],"nextCursor":"..."}, nextCursor being
+     * null on the last page. The cursor is only known once the items are written, hence
+     * a field after them rather than a response header.
+     */
+    static void streamPage(HttpExchange ex, PageWriter items) throws IOException {
+        stream(ex, writer -> {
+            writer.beginObject().name("items").beginArray();
+            PageCursor next = items.writeTo(writer);
+            writer.endArray();
+            writer.name("nextCursor").value(next != null ? next.encode() : null);
+            writer.endObject();
+        });
+    }
+    
+    @FunctionalInterface
+    interface PageWriter {
+        PageCursor writeTo(JsonWriter writer) throws Exception;
+    }
+    
+    static <E extends Enum<E>> PageCursor cursor(QueryParams query, Class<E> rankType) {
+        String cursor = query.get("cursor");
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return PageCursor.decode(cursor, rankType);
+        } catch (IllegalArgumentException e) {
+            throw new HttpStatusException(400, "Invalid cursor");
+        }
+    }
+    
+    static int batchStatus(BatchService.BatchException.Reason reason) {
+        switch (reason) {
+            case INVALID: return 400;
+            case NOT_FOUND: return 404;
+            case CONFLICT: return 409;
+            default: return 500;
+        }
+    }
+    
+    static TaskAllocationService.Mode allocationMode(QueryParams query) {
+        String mode = query.get("mode");
+        if (mode == null || mode.isEmpty()) {
+            return TaskAllocationService.Mode.GREEDY;
+        }
+        try {
+            return TaskAllocationService.Mode.valueOf(mode.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new HttpStatusException(400, "Parameter 'mode' must be greedy or optimal");
+        }
+    }
+    
+    static FieldSet fields(QueryParams query, Set<String> allowed) {
+        try {
+            return FieldSet.parse(query.get("fields"), allowed);
+        } catch (IllegalArgumentException e) {
+            throw new HttpStatusException(400, e.getMessage());
+        }
+    }
+    
+    /**
+     * JSON array of the items, each reduced to the requested fields.
+     */
+    static String toJson(List<?> items, FieldSet fields) {
+        if (fields.isAll()) {
+            return gson.toJson(items);
+        }
+        JsonArray array = new JsonArray();
+        for (Object item : items) {
+            array.add(retain(gson.toJsonTree(item), fields));
+        }
+        return gson.toJson(array);
+    }
+    
+    static void write(JsonWriter writer, Object item, FieldSet fields) {
+        if (fields.isAll()) {
+            gson.toJson(item, item.getClass(), writer);
+        } else {
+            gson.toJson(retain(gson.toJsonTree(item), fields), writer);
+        }
+    }
+    
+    private static JsonElement retain(JsonElement element, FieldSet fields) {
+        element.getAsJsonObject().keySet().removeIf(name -> !fields.includes(name));
+        return element;
+    }
+    
     static void error(HttpExchange ex, Exception e) throws IOException {
-        e.printStackTrace();
-        String err = "{\"success\":false,\"error\":\"" + e.getMessage().replace("\"", "'") + "\"}";
+        int status = 500;
+        if (e instanceof HttpStatusException) {
+            status = ((HttpStatusException) e).getStatus();
+        } else {
+            e.printStackTrace();
+        }
+        String message = String.valueOf(e.getMessage());
+        String err = "{\"success\":false,\"error\":\"" + message.replace("\"", "'") + "\"}";
         byte[] bytes = err.getBytes("UTF-8");
-        ex.sendResponseHeaders(500, bytes.length);
+        ex.sendResponseHeaders(status, bytes.length);
         ex.getResponseBody().write(bytes);
         ex.close();
     }
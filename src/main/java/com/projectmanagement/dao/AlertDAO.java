@@ -2,34 +2,49 @@ package com.projectmanagement.dao;
 
 import com.projectmanagement.model.Alert;
 import com.projectmanagement.util.DatabaseUtil;
+import com.projectmanagement.util.UnitOfWork;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
-public class AlertDAO {
+public class AlertDAO implements AlertRepository {
     private static final Logger logger = LoggerFactory.getLogger(AlertDAO.class);
 
+    // Colonnes de chaque champ pour ?fields=
+    private static final Map<String, String> COLUMNS = new LinkedHashMap<>();
+    static {
+        COLUMNS.put("id", "a.id");
+        COLUMNS.put("type", "a.type");
+        COLUMNS.put("severity", "a.severity");
+        COLUMNS.put("title", "a.title");
+        COLUMNS.put("message", "a.message");
+        COLUMNS.put("member", "a.member_id, m.name as member_name");
+        COLUMNS.put("project", "a.project_id, p.name as project_name");
+        COLUMNS.put("task", "a.task_id, t.title as task_title");
+        COLUMNS.put("isRead", "a.is_read");
+        COLUMNS.put("createdAt", "a.created_at");
+    }
+    public static final Set<String> FIELDS = Collections.unmodifiableSet(COLUMNS.keySet());
+    // alerts_archive a les mêmes colonnes que la requête jointe, sans is_read (toujours lues)
+    private static final FieldSet ARCHIVED = FieldSet.parse("type,title,message,member,project,task,createdAt", FIELDS);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO alerts (type, severity, title, message, member_id, project_id, task_id, is_read) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
     public int create(Alert alert) throws SQLException {
-        String sql = "INSERT INTO alerts (type, severity, title, message, member_id, project_id, task_id, is_read) " +
-                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-        
         try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
             
-            stmt.setString(1, alert.getType().name());
-            stmt.setString(2, alert.getSeverity().name());
-            stmt.setString(3, alert.getTitle());
-            stmt.setString(4, alert.getMessage());
-            // setIntOrNull(stmt, 5, alert.getMemberId());
-            setIntOrNull(stmt, 5, alert.getMember() != null ? alert.getMember().getId() : null);
-            // setIntOrNull(stmt, 6, alert.getProjectId());
-            setIntOrNull(stmt, 6, alert.getProject() != null ? alert.getProject().getId() : null);
-            // setIntOrNull(stmt, 7, alert.getTaskId());
-            setIntOrNull(stmt, 7, alert.getTask() != null ? alert.getTask().getId() : null);
-            stmt.setBoolean(8, alert.isRead());
+            bindInsert(stmt, alert);
             
             int affectedRows = stmt.executeUpdate();
             if (affectedRows == 0) {
@@ -40,6 +55,7 @@ public class AlertDAO {
                 if (generatedKeys.next()) {
                     int id = generatedKeys.getInt(1);
                     alert.setId(id);
+                    EntityVersions.bump(EntityVersions.Collection.ALERTS, id);
                     logger.info("Created alert: {} [{}]", alert.getTitle(), alert.getType());
                     return id;
                 } else {
@@ -49,6 +65,64 @@ public class AlertDAO {
         }
     }
 
+    /**
+     * Inserts the alerts with one JDBC batch in a single transaction.
+     *
+     * @return the generated ids, in list order (also set on the alerts)
+     */
+    public int[] createAll(List<Alert> alerts) throws SQLException {
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            createAll(DatabaseUtil.getConnection(), alerts);
+            int[] ids = new int[alerts.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = alerts.get(i).getId();
+                EntityVersions.bump(EntityVersions.Collection.ALERTS, ids[i]);
+            }
+            uow.commit();
+            logger.info("Created {} alerts", ids.length);
+            return ids;
+        }
+    }
+
+    /**
+     * Inserts the alerts with one JDBC batch on the caller's connection and sets their ids.
+     * The caller owns the transaction and records the version bumps once it commits.
+     */
+    public void createAll(Connection conn, List<Alert> alerts) throws SQLException {
+        if (alerts.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (Alert alert : alerts) {
+                bindInsert(stmt, alert);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                for (Alert alert : alerts) {
+                    if (!generatedKeys.next()) {
+                        throw new SQLException("Creating alerts failed, missing generated ID.");
+                    }
+                    alert.setId(generatedKeys.getInt(1));
+                }
+            }
+        }
+    }
+
+    private void bindInsert(PreparedStatement stmt, Alert alert) throws SQLException {
+        stmt.setString(1, alert.getType().name());
+        stmt.setString(2, alert.getSeverity().name());
+        stmt.setString(3, alert.getTitle());
+        stmt.setString(4, alert.getMessage());
+        // setIntOrNull(stmt, 5, alert.getMemberId());
+        setIntOrNull(stmt, 5, alert.getMember() != null ? alert.getMember().getId() : null);
+        // setIntOrNull(stmt, 6, alert.getProjectId());
+        setIntOrNull(stmt, 6, alert.getProject() != null ? alert.getProject().getId() : null);
+        // setIntOrNull(stmt, 7, alert.getTaskId());
+        setIntOrNull(stmt, 7, alert.getTask() != null ? alert.getTask().getId() : null);
+        stmt.setBoolean(8, alert.isRead());
+    }
+
     public Alert findById(int id) throws SQLException {
         String sql = "SELECT a.*, m.name as member_name, p.name as project_name, t.title as task_title " +
                     "FROM alerts a " +
@@ -57,7 +131,7 @@ public class AlertDAO {
                     "LEFT JOIN tasks t ON a.task_id = t.id " +
                     "WHERE a.id = ?";
         
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, id);
@@ -75,6 +149,98 @@ public class AlertDAO {
     }
 
     public List<Alert> findAll(boolean unreadOnly) throws SQLException {
+        List<Alert> alerts = new ArrayList<>();
+        
+        try (Connection conn = DatabaseUtil.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(findAllSql(unreadOnly));
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                alerts.add(extractAlertFromResultSet(rs));
+            }
+        }
+        return alerts;
+    }
+
+    /**
+     * Same rows as {@link #findAll(boolean)}, handed to the handler as they are read.
+     */
+    public void streamAll(boolean unreadOnly, RowHandler<Alert> handler) throws SQLException, IOException {
+        streamAll(unreadOnly, FieldSet.ALL, handler);
+    }
+
+    /**
+     * Same, reading only the columns and joins of the requested fields.
+     */
+    public void streamAll(boolean unreadOnly, FieldSet fields, RowHandler<Alert> handler) throws SQLException, IOException {
+        String sql = selectFrom(fields) + (unreadOnly ? "WHERE a.is_read = FALSE " : "") +
+                    "ORDER BY a.severity DESC, a.created_at DESC";
+        
+        try (Connection conn = DatabaseUtil.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            DatabaseUtil.enableStreaming(stmt);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.handle(extractAlertFromResultSet(rs, fields));
+                }
+            }
+        }
+    }
+
+    /**
+     * One page of {@link #findAll(boolean)}, in the same order (id DESC breaks ties), starting
+     * after the cursor, or at the top if it is null.
+     *
+     * Severity is an ENUM, so the keyset is walked one severity at a time: each query is an
+     * equality on severity plus a range on (created_at, id), served in order by the
+     * (severity, created_at, id) index, so a page never sorts or skips the rows before it.
+     *
+     * @return cursor of the next page, null on the last page
+     */
+    public PageCursor streamPage(boolean unreadOnly, FieldSet fields, PageCursor after, int limit,
+                                 RowHandler<Alert> handler) throws SQLException, IOException {
+        Alert.Severity[] severities = Alert.Severity.values();
+        int start = after != null ? Alert.Severity.valueOf(after.getRank()).ordinal() : severities.length - 1;
+        Alert last = null;
+        int count = 0;
+
+        try (Connection conn = DatabaseUtil.getReadConnection()) {
+            for (int s = start; s >= 0; s--) {
+                boolean resume = after != null && s == start;
+                String sql = selectFrom(fields) +
+                            "WHERE " + (unreadOnly ? "a.is_read = FALSE AND " : "") + "a.severity = ? " +
+                            (resume ? "AND (a.created_at < ? OR (a.created_at = ? AND a.id < ?)) " : "") +
+                            "ORDER BY a.created_at DESC, a.id DESC LIMIT ?";
+
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    int i = 1;
+                    stmt.setString(i++, severities[s].name());
+                    if (resume) {
+                        Timestamp createdAt = new Timestamp(after.getTime());
+                        stmt.setTimestamp(i++, createdAt);
+                        stmt.setTimestamp(i++, createdAt);
+                        stmt.setInt(i++, after.getId());
+                    }
+                    // Une ligne de plus que la page : sa présence dit s'il reste une page suivante
+                    stmt.setInt(i, limit + 1 - count);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            if (count == limit) {
+                                return PageCursor.after(last);
+                            }
+                            last = extractAlertFromResultSet(rs, fields);
+                            handler.handle(last);
+                            count++;
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private String findAllSql(boolean unreadOnly) {
         String sql = "SELECT a.*, m.name as member_name, p.name as project_name, t.title as task_title " +
                     "FROM alerts a " +
                     "LEFT JOIN members m ON a.member_id = m.id " +
@@ -85,19 +251,7 @@ public class AlertDAO {
             sql += "WHERE a.is_read = FALSE ";
         }
         
-        sql += "ORDER BY a.severity DESC, a.created_at DESC";
-        
-        List<Alert> alerts = new ArrayList<>();
-        
-        try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-            
-            while (rs.next()) {
-                alerts.add(extractAlertFromResultSet(rs));
-            }
-        }
-        return alerts;
+        return sql + "ORDER BY a.severity DESC, a.created_at DESC";
     }
 
     public List<Alert> findByMember(int memberId) throws SQLException {
@@ -110,7 +264,7 @@ public class AlertDAO {
                     "ORDER BY a.severity DESC, a.created_at DESC";
         List<Alert> alerts = new ArrayList<>();
         
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, memberId);
@@ -133,7 +287,7 @@ public class AlertDAO {
                     "ORDER BY a.severity DESC, a.created_at DESC";
         List<Alert> alerts = new ArrayList<>();
         
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, projectId);
@@ -154,6 +308,7 @@ public class AlertDAO {
             
             stmt.setInt(1, id);
             stmt.executeUpdate();
+            EntityVersions.bump(EntityVersions.Collection.ALERTS, id);
         }
     }
 
@@ -164,6 +319,7 @@ public class AlertDAO {
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.executeUpdate();
+            EntityVersions.bump(EntityVersions.Collection.ALERTS);
         }
     }
 
@@ -175,6 +331,7 @@ public class AlertDAO {
             
             stmt.setInt(1, id);
             stmt.executeUpdate();
+            EntityVersions.bump(EntityVersions.Collection.ALERTS, id);
             logger.info("Deleted alert with ID: {}", id);
         }
     }
@@ -182,7 +339,7 @@ public class AlertDAO {
     public int getUnreadCount() throws SQLException {
         String sql = "SELECT COUNT(*) FROM alerts WHERE is_read = FALSE";
         
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
@@ -193,40 +350,149 @@ public class AlertDAO {
         return 0;
     }
 
+    /**
+     * Locks the next chunk of old read alerts, copies them to alerts_archive with the names
+     * of their member, project and task, and deletes them, all in one transaction. The chunk
+     * is read from the (is_read, created_at, id) index, so only its own rows are locked.
+     */
+    public int archiveRead(Timestamp cutoff, int limit) throws SQLException {
+        String selectSql = "SELECT id FROM alerts WHERE is_read = TRUE AND created_at < ? " +
+                          "ORDER BY created_at, id LIMIT ? FOR UPDATE";
+
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            Connection conn = DatabaseUtil.getConnection();
+            List<Integer> ids = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(selectSql)) {
+                stmt.setTimestamp(1, cutoff);
+                stmt.setInt(2, limit);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(rs.getInt(1));
+                    }
+                }
+            }
+            if (ids.isEmpty()) {
+                return 0;
+            }
+
+            int[] chunk = ids.stream().mapToInt(Integer::intValue).toArray();
+            String in = DatabaseUtil.placeholders(chunk.length);
+            String copySql = "INSERT INTO alerts_archive (id, type, severity, title, message, member_id, member_name, " +
+                            "project_id, project_name, task_id, task_title, created_at) " +
+                            "SELECT a.id, a.type, a.severity, a.title, a.message, a.member_id, m.name, " +
+                            "a.project_id, p.name, a.task_id, t.title, a.created_at " +
+                            "FROM alerts a " +
+                            "LEFT JOIN members m ON a.member_id = m.id " +
+                            "LEFT JOIN projects p ON a.project_id = p.id " +
+                            "LEFT JOIN tasks t ON a.task_id = t.id " +
+                            "WHERE a.id IN (" + in + ")";
+            try (PreparedStatement copy = conn.prepareStatement(copySql);
+                 PreparedStatement delete = conn.prepareStatement("DELETE FROM alerts WHERE id IN (" + in + ")")) {
+                DatabaseUtil.setInts(copy, chunk, 0, chunk.length);
+                DatabaseUtil.setInts(delete, chunk, 0, chunk.length);
+                copy.executeUpdate();
+                delete.executeUpdate();
+            }
+            EntityVersions.bump(EntityVersions.Collection.ALERTS);
+            uow.commit();
+            logger.info("Archived {} read alerts", ids.size());
+            return ids.size();
+        }
+    }
+
+    public List<Alert> findArchived(Integer memberId, Integer projectId, Timestamp from, Timestamp to,
+                                    int limit) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT * FROM alerts_archive WHERE 1 = 1 ");
+        List<Object> params = new ArrayList<>();
+        if (memberId != null) {
+            sql.append("AND member_id = ? ");
+            params.add(memberId);
+        }
+        if (projectId != null) {
+            sql.append("AND project_id = ? ");
+            params.add(projectId);
+        }
+        if (from != null) {
+            sql.append("AND created_at >= ? ");
+            params.add(from);
+        }
+        if (to != null) {
+            sql.append("AND created_at < ? ");
+            params.add(to);
+        }
+        sql.append("ORDER BY created_at DESC, id DESC LIMIT ?");
+        params.add(limit);
+        List<Alert> alerts = new ArrayList<>();
+
+        try (Connection conn = DatabaseUtil.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Alert alert = extractAlertFromResultSet(rs, ARCHIVED);
+                    alert.setRead(true);
+                    alerts.add(alert);
+                }
+            }
+        }
+        return alerts;
+    }
+
+    // severity et created_at sont toujours lues : ce sont les clés de tri et du curseur de page
+    private String selectFrom(FieldSet fields) {
+        return "SELECT " + fields.columns(COLUMNS, "a.id", "a.severity", "a.created_at") + " FROM alerts a " +
+               (fields.includes("member") ? "LEFT JOIN members m ON a.member_id = m.id " : "") +
+               (fields.includes("project") ? "LEFT JOIN projects p ON a.project_id = p.id " : "") +
+               (fields.includes("task") ? "LEFT JOIN tasks t ON a.task_id = t.id " : "");
+    }
+
     private Alert extractAlertFromResultSet(ResultSet rs) throws SQLException {
+        return extractAlertFromResultSet(rs, FieldSet.ALL);
+    }
+
+    private Alert extractAlertFromResultSet(ResultSet rs, FieldSet fields) throws SQLException {
         Alert alert = new Alert();
         alert.setId(rs.getInt("id"));
-        alert.setType(Alert.AlertType.valueOf(rs.getString("type")));
         alert.setSeverity(Alert.Severity.valueOf(rs.getString("severity")));
-        alert.setTitle(rs.getString("title"));
-        alert.setMessage(rs.getString("message"));
+        alert.setCreatedAt(rs.getTimestamp("created_at"));
+        if (fields.includes("type")) alert.setType(Alert.AlertType.valueOf(rs.getString("type")));
+        if (fields.includes("title")) alert.setTitle(rs.getString("title"));
+        if (fields.includes("message")) alert.setMessage(rs.getString("message"));
         
-        int memberId = rs.getInt("member_id");
-        if (!rs.wasNull()) {
-            com.projectmanagement.model.Member member = new com.projectmanagement.model.Member();
-            member.setId(memberId);
-            member.setName(rs.getString("member_name"));
-            alert.setMember(member);
+        if (fields.includes("member")) {
+            int memberId = rs.getInt("member_id");
+            if (!rs.wasNull()) {
+                com.projectmanagement.model.Member member = new com.projectmanagement.model.Member();
+                member.setId(memberId);
+                member.setName(rs.getString("member_name"));
+                alert.setMember(member);
+            }
         }
         
-        int projectId = rs.getInt("project_id");
-        if (!rs.wasNull()) {
-            com.projectmanagement.model.Project project = new com.projectmanagement.model.Project();
-            project.setId(projectId);
-            project.setName(rs.getString("project_name"));
-            alert.setProject(project);
+        if (fields.includes("project")) {
+            int projectId = rs.getInt("project_id");
+            if (!rs.wasNull()) {
+                com.projectmanagement.model.Project project = new com.projectmanagement.model.Project();
+                project.setId(projectId);
+                project.setName(rs.getString("project_name"));
+                alert.setProject(project);
+            }
         }
         
-        int taskId = rs.getInt("task_id");
-        if (!rs.wasNull()) {
-            com.projectmanagement.model.Task task = new com.projectmanagement.model.Task();
-            task.setId(taskId);
-            task.setTitle(rs.getString("task_title"));
-            alert.setTask(task);
+        if (fields.includes("task")) {
+            int taskId = rs.getInt("task_id");
+            if (!rs.wasNull()) {
+                com.projectmanagement.model.Task task = new com.projectmanagement.model.Task();
+                task.setId(taskId);
+                task.setTitle(rs.getString("task_title"));
+                alert.setTask(task);
+            }
         }
         
-        alert.setRead(rs.getBoolean("is_read"));
-        alert.setCreatedAt(rs.getTimestamp("created_at"));
+        if (fields.includes("isRead")) alert.setRead(rs.getBoolean("is_read"));
         return alert;
     }
 
@@ -0,0 +1,72 @@
+package com.projectmanagement.dao;
+
+import com.projectmanagement.model.Alert;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Storage of alerts. {@link AlertDAO} is the JDBC implementation.
+ *
+ * Lists are ordered by severity (most severe first), then newest first.
+ */
+public interface AlertRepository {
+
+    int create(Alert alert) throws SQLException;
+
+    /**
+     * @return the generated ids, in list order (also set on the alerts)
+     */
+    int[] createAll(List<Alert> alerts) throws SQLException;
+
+    Alert findById(int id) throws SQLException;
+
+    default List<Alert> findAll() throws SQLException {
+        return findAll(false);
+    }
+
+    List<Alert> findAll(boolean unreadOnly) throws SQLException;
+
+    default void streamAll(boolean unreadOnly, RowHandler<Alert> handler) throws SQLException, IOException {
+        streamAll(unreadOnly, FieldSet.ALL, handler);
+    }
+
+    void streamAll(boolean unreadOnly, FieldSet fields, RowHandler<Alert> handler) throws SQLException, IOException;
+
+    /**
+     * Emits at most limit alerts following the cursor (null for the first page).
+     *
+     * @return the cursor of the next page, or null if this page is the last one
+     */
+    PageCursor streamPage(boolean unreadOnly, FieldSet fields, PageCursor after, int limit,
+                          RowHandler<Alert> handler) throws SQLException, IOException;
+
+    List<Alert> findByMember(int memberId) throws SQLException;
+
+    List<Alert> findByProject(int projectId) throws SQLException;
+
+    void markAsRead(int id) throws SQLException;
+
+    void markAllAsRead() throws SQLException;
+
+    void delete(int id) throws SQLException;
+
+    int getUnreadCount() throws SQLException;
+
+    /**
+     * Moves at most limit read alerts created before the cutoff, oldest first, to the
+     * archive, in one short transaction. Archived alerts keep the names of their member,
+     * project and task, which may be deleted later.
+     *
+     * @return the number of alerts moved; fewer than limit means none are left
+     */
+    int archiveRead(Timestamp cutoff, int limit) throws SQLException;
+
+    /**
+     * Archived alerts, newest first. Null filters are ignored; from is inclusive, to exclusive.
+     */
+    List<Alert> findArchived(Integer memberId, Integer projectId, Timestamp from, Timestamp to,
+                             int limit) throws SQLException;
+}
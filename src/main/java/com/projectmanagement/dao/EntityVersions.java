@@ -0,0 +1,85 @@
+package com.projectmanagement.dao;
+
+import com.projectmanagement.util.DatabaseUtil;
+import com.projectmanagement.util.UnitOfWork;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-process version counters, bumped by every DAO write, used to build API ETags.
+ *
+ * Each collection has a counter. An ETag combines the counters of everything a response
+ * depends on (a task list embeds member and skill names, so it depends on MEMBERS and
+ * SKILLS too). The startup time is part of every tag so that a restart never validates a
+ * tag from the previous process.
+ *
+ * A single entity's tag uses its whole collection's counter: bulk and cascading writes
+ * (mark all alerts read, archiving, deleting a project with its tasks) change rows they
+ * don't name one by one, and must still invalidate them. Any write to the collection
+ * therefore costs a 200 on the next conditional GET, never a stale 304.
+ *
+ * A bump also tells DatabaseUtil that a write was committed, so that reads stay on the
+ * primary for a moment rather than hitting a replica that may not have it yet.
+ *
+ * Only writes made through this process are seen: changes made directly in the database
+ * (scripts, another server instance) are not reflected until the next local write.
+ */
+public final class EntityVersions {
+
+    public enum Collection {
+        MEMBERS, PROJECTS, TASKS, SKILLS, ALERTS
+    }
+
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+    private static final AtomicLongArray collections = new AtomicLongArray(Collection.values().length);
+
+    private EntityVersions() {
+    }
+
+    /**
+     * Records a write affecting one or more collections as a whole.
+     * Inside a {@link UnitOfWork} the bump waits for its commit.
+     */
+    public static void bump(Collection... changed) {
+        UnitOfWork.afterCommit(() -> {
+            DatabaseUtil.recordWrite();
+            for (Collection c : changed) {
+                collections.incrementAndGet(c.ordinal());
+            }
+        });
+    }
+
+    /**
+     * Records a write to a single entity, that is to its collection.
+     */
+    public static void bump(Collection collection, int id) {
+        bump(collection);
+    }
+
+    public static long version(Collection collection) {
+        return collections.get(collection.ordinal());
+    }
+
+    /**
+     * Weak ETag for a response built from whole collections.
+     */
+    public static String etag(Collection... dependsOn) {
+        StringBuilder sb = new StringBuilder("W/\"").append(EPOCH);
+        for (Collection c : dependsOn) {
+            sb.append('-').append(c.name().charAt(0)).append(version(c));
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * Weak ETag for a single entity, plus the collections its representation embeds.
+     */
+    public static String etag(Collection collection, int id, Collection... alsoDependsOn) {
+        StringBuilder sb = new StringBuilder("W/\"").append(EPOCH)
+                .append('-').append(collection.name().charAt(0)).append(id).append('.').append(version(collection));
+        for (Collection c : alsoDependsOn) {
+            sb.append('-').append(c.name().charAt(0)).append(version(c));
+        }
+        return sb.append('"').toString();
+    }
+}
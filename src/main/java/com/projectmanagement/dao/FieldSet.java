@@ -0,0 +1,70 @@
+package com.projectmanagement.dao;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Subset of an entity's fields requested by a client (?fields=title,status).
+ *
+ * Field names are the model's JSON property names. The DAOs use it to narrow their SELECT
+ * list, skip joins and child-row queries; the API uses it to drop the other properties
+ * from the JSON. "id" is always included.
+ */
+public final class FieldSet {
+    public static final FieldSet ALL = new FieldSet(null);
+
+    private final Set<String> names;    // null : tous les champs
+
+    private FieldSet(Set<String> names) {
+        this.names = names;
+    }
+
+    /**
+     * Parses a comma-separated list; null or blank means all fields.
+     *
+     * @throws IllegalArgumentException on a name that isn't in {@code allowed}
+     */
+    public static FieldSet parse(String list, Collection<String> allowed) {
+        if (list == null || list.trim().isEmpty()) {
+            return ALL;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        names.add("id");
+        for (String name : list.split(",")) {
+            name = name.trim();
+            if (name.isEmpty()) continue;
+            if (!allowed.contains(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "', expected one of " + allowed);
+            }
+            names.add(name);
+        }
+        return new FieldSet(names);
+    }
+
+    public boolean isAll() {
+        return names == null;
+    }
+
+    public boolean includes(String field) {
+        return names == null || names.contains(field);
+    }
+
+    /**
+     * SELECT list for the requested fields, given each field's column expression
+     * (null for fields that aren't columns, like child lists), plus columns always needed.
+     */
+    String columns(Map<String, String> columnsByField, String... always) {
+        Set<String> columns = new LinkedHashSet<>();
+        for (String column : always) {
+            columns.add(column);
+        }
+        for (Map.Entry<String, String> e : columnsByField.entrySet()) {
+            if (e.getValue() != null && includes(e.getKey())) {
+                columns.add(e.getValue());
+            }
+        }
+        return String.join(", ", columns);
+    }
+}
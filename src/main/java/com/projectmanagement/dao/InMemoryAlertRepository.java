@@ -0,0 +1,221 @@
+package com.projectmanagement.dao;
+
+import com.projectmanagement.model.Alert;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Alerts of an {@link InMemoryStorage}.
+ */
+class InMemoryAlertRepository implements AlertRepository {
+    // Même ordre que AlertDAO : sévérité DESC, created_at DESC, id DESC
+    private static final Comparator<Alert> ORDER = Comparator
+            .comparing((Alert a) -> a.getSeverity().ordinal(), Comparator.reverseOrder())
+            .thenComparing(Alert::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Alert::getId, Comparator.reverseOrder());
+
+    private final InMemoryStorage store;
+
+    InMemoryAlertRepository(InMemoryStorage store) {
+        this.store = store;
+    }
+
+    @Override
+    public int create(Alert alert) throws SQLException {
+        store.writeLock.lock();
+        try {
+            int id = store.insertAlert(alert);
+            EntityVersions.bump(EntityVersions.Collection.ALERTS, id);
+            return id;
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public int[] createAll(List<Alert> alerts) throws SQLException {
+        store.writeLock.lock();
+        try {
+            int[] ids = new int[alerts.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = store.insertAlert(alerts.get(i));
+                EntityVersions.bump(EntityVersions.Collection.ALERTS, ids[i]);
+            }
+            return ids;
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Alert findById(int id) {
+        Alert row = store.alerts.get(id);
+        return row != null ? store.alert(row) : null;
+    }
+
+    @Override
+    public List<Alert> findAll(boolean unreadOnly) {
+        return select(a -> !unreadOnly || !a.isRead());
+    }
+
+    @Override
+    public void streamAll(boolean unreadOnly, FieldSet fields, RowHandler<Alert> handler) throws IOException {
+        for (Alert alert : findAll(unreadOnly)) {
+            handler.handle(alert);
+        }
+    }
+
+    @Override
+    public PageCursor streamPage(boolean unreadOnly, FieldSet fields, PageCursor after, int limit,
+                                 RowHandler<Alert> handler) throws IOException {
+        List<Alert> alerts = select(a -> (!unreadOnly || !a.isRead()) && (after == null || isAfter(a, after)));
+        List<Alert> page = alerts.subList(0, Math.min(limit, alerts.size()));
+        for (Alert alert : page) {
+            handler.handle(alert);
+        }
+        return alerts.size() > limit ? PageCursor.after(page.get(page.size() - 1)) : null;
+    }
+
+    private static boolean isAfter(Alert alert, PageCursor cursor) {
+        int rank = Alert.Severity.valueOf(cursor.getRank()).ordinal();
+        int severity = alert.getSeverity().ordinal();
+        if (severity != rank) {
+            return severity < rank;
+        }
+        long created = alert.getCreatedAt().getTime();
+        return created < cursor.getTime() || (created == cursor.getTime() && alert.getId() < cursor.getId());
+    }
+
+    @Override
+    public List<Alert> findByMember(int memberId) {
+        return select(a -> a.getMember() != null && a.getMember().getId() == memberId);
+    }
+
+    @Override
+    public List<Alert> findByProject(int projectId) {
+        return select(a -> a.getProject() != null && a.getProject().getId() == projectId);
+    }
+
+    private List<Alert> select(Predicate<Alert> filter) {
+        List<Alert> result = new ArrayList<>();
+        for (Alert row : store.alerts.values()) {
+            if (filter.test(row)) {
+                result.add(store.alert(row));
+            }
+        }
+        result.sort(ORDER);
+        return result;
+    }
+
+    @Override
+    public void markAsRead(int id) {
+        store.writeLock.lock();
+        try {
+            Alert row = store.alerts.get(id);
+            if (row != null) {
+                Alert updated = InMemoryStorage.alertRow(row);
+                updated.setRead(true);
+                store.alerts.put(id, updated);
+                EntityVersions.bump(EntityVersions.Collection.ALERTS, id);
+            }
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void markAllAsRead() {
+        store.writeLock.lock();
+        try {
+            for (Alert row : store.alerts.values()) {
+                if (!row.isRead()) {
+                    Alert updated = InMemoryStorage.alertRow(row);
+                    updated.setRead(true);
+                    store.alerts.put(row.getId(), updated);
+                }
+            }
+            EntityVersions.bump(EntityVersions.Collection.ALERTS);
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(int id) {
+        store.writeLock.lock();
+        try {
+            if (store.alerts.remove(id) != null) {
+                EntityVersions.bump(EntityVersions.Collection.ALERTS, id);
+            }
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public int getUnreadCount() {
+        int count = 0;
+        for (Alert row : store.alerts.values()) {
+            if (!row.isRead()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int archiveRead(Timestamp cutoff, int limit) {
+        store.writeLock.lock();
+        try {
+            List<Alert> chunk = new ArrayList<>();
+            for (Alert row : store.alerts.values()) {
+                if (row.isRead() && row.getCreatedAt().before(cutoff)) {
+                    chunk.add(row);
+                }
+            }
+            chunk.sort(Comparator.comparing(Alert::getCreatedAt).thenComparing(Alert::getId));
+            chunk = chunk.subList(0, Math.min(limit, chunk.size()));
+            for (Alert row : chunk) {
+                store.archivedAlerts.put(row.getId(), store.alert(row));
+                store.alerts.remove(row.getId());
+            }
+            if (!chunk.isEmpty()) {
+                EntityVersions.bump(EntityVersions.Collection.ALERTS);
+            }
+            return chunk.size();
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Alert> findArchived(Integer memberId, Integer projectId, Timestamp from, Timestamp to, int limit) {
+        List<Alert> result = new ArrayList<>();
+        for (Alert archived : store.archivedAlerts.values()) {
+            if ((memberId == null || (archived.getMember() != null && archived.getMember().getId() == memberId))
+                    && (projectId == null || (archived.getProject() != null && archived.getProject().getId() == projectId))
+                    && (from == null || !archived.getCreatedAt().before(from))
+                    && (to == null || archived.getCreatedAt().before(to))) {
+                result.add(archivedCopy(archived));
+            }
+        }
+        result.sort(Comparator.comparing(Alert::getCreatedAt, Comparator.reverseOrder())
+                .thenComparing(Alert::getId, Comparator.reverseOrder()));
+        return new ArrayList<>(result.subList(0, Math.min(limit, result.size())));
+    }
+
+    // alertRow ne garde que les identifiants : les noms archivés sont recopiés à part
+    private static Alert archivedCopy(Alert archived) {
+        Alert copy = InMemoryStorage.alertRow(archived);
+        if (copy.getMember() != null) copy.getMember().setName(archived.getMember().getName());
+        if (copy.getProject() != null) copy.getProject().setName(archived.getProject().getName());
+        if (copy.getTask() != null) copy.getTask().setTitle(archived.getTask().getTitle());
+        return copy;
+    }
+}
@@ -0,0 +1,226 @@
+package com.projectmanagement.dao;
+
+import com.projectmanagement.model.Member;
+import com.projectmanagement.model.MemberSkill;
+import com.projectmanagement.model.Task;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Members of an {@link InMemoryStorage}.
+ */
+class InMemoryMemberRepository implements MemberRepository {
+    private static final Comparator<Member> BY_NAME =
+            Comparator.comparing(Member::getName, Comparator.nullsFirst(Comparator.naturalOrder()));
+    private static final Comparator<Member> BY_WORKLOAD = Comparator.comparingDouble(Member::getCurrentWorkload);
+
+    private final InMemoryStorage store;
+
+    InMemoryMemberRepository(InMemoryStorage store) {
+        this.store = store;
+    }
+
+    @Override
+    public int create(Member member) throws SQLException {
+        store.writeLock.lock();
+        try {
+            return insert(member);
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public int[] createAll(List<Member> members) throws SQLException {
+        store.writeLock.lock();
+        try {
+            int[] ids = new int[members.size()];
+            for (int i = 0; i < ids.length; i++) {
+                Member member = members.get(i);
+                ids[i] = insert(member);
+                if (member.getSkills() != null) {
+                    for (MemberSkill skill : member.getSkills()) {
+                        skill.setMember(member);
+                        addSkill(member.getId(), skill.getSkill().getId(), skill.getProficiencyLevel());
+                    }
+                }
+            }
+            return ids;
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    private int insert(Member member) throws SQLException {
+        for (Member row : store.members.values()) {
+            if (row.getEmail() != null && row.getEmail().equals(member.getEmail())) {
+                throw new SQLIntegrityConstraintViolationException("Duplicate email " + member.getEmail());
+            }
+        }
+        member.setId(store.memberIds.incrementAndGet());
+        store.members.put(member.getId(), InMemoryStorage.memberRow(member));
+        EntityVersions.bump(EntityVersions.Collection.MEMBERS, member.getId());
+        return member.getId();
+    }
+
+    @Override
+    public Member findById(int id) {
+        Member row = store.members.get(id);
+        return row != null ? store.member(row) : null;
+    }
+
+    @Override
+    public List<Member> findAll(FieldSet fields) {
+        List<Member> result = all();
+        result.sort(BY_NAME);
+        return result;
+    }
+
+    @Override
+    public void update(Member member) {
+        store.writeLock.lock();
+        try {
+            if (store.members.replace(member.getId(), InMemoryStorage.memberRow(member)) != null) {
+                EntityVersions.bump(EntityVersions.Collection.MEMBERS, member.getId());
+            }
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void updateWorkload(int memberId, double workload) {
+        store.writeLock.lock();
+        try {
+            Member row = store.members.get(memberId);
+            if (row != null) {
+                Member updated = InMemoryStorage.memberRow(row);
+                updated.setCurrentWorkload(workload);
+                store.members.put(memberId, updated);
+                EntityVersions.bump(EntityVersions.Collection.MEMBERS, memberId);
+            }
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void addWorkloads(Map<Integer, Double> deltas) {
+        store.writeLock.lock();
+        try {
+            for (Map.Entry<Integer, Double> e : deltas.entrySet()) {
+                Member row = store.members.get(e.getKey());
+                if (row != null) {
+                    updateWorkload(e.getKey(), row.getCurrentWorkload() + e.getValue());
+                }
+            }
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    /**
+     * Like the schema's foreign keys: skills and alerts go with the member, tasks are unassigned.
+     */
+    @Override
+    public void delete(int id) {
+        store.writeLock.lock();
+        try {
+            if (store.members.remove(id) == null) {
+                return;
+            }
+            store.memberSkills.remove(id);
+            Set<Integer> assigned = store.tasksByMember.remove(id);
+            if (assigned != null) {
+                for (int taskId : assigned) {
+                    Task row = store.tasks.get(taskId);
+                    if (row != null) {
+                        Task updated = InMemoryStorage.taskRow(row);
+                        updated.setAssignedMember(null);
+                        store.tasks.put(taskId, updated);
+                    }
+                }
+            }
+            store.alerts.values().removeIf(a -> a.getMember() != null && a.getMember().getId() == id);
+            EntityVersions.bump(EntityVersions.Collection.MEMBERS, id);
+            EntityVersions.bump(EntityVersions.Collection.TASKS, EntityVersions.Collection.ALERTS);
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void addSkill(int memberId, int skillId, int proficiencyLevel) throws SQLException {
+        store.writeLock.lock();
+        try {
+            store.requireRow(store.members, memberId, "member");
+            store.requireRow(store.skills, skillId, "skill");
+            store.memberSkills.computeIfAbsent(memberId, k -> new ConcurrentHashMap<>()).put(skillId, proficiencyLevel);
+            EntityVersions.bump(EntityVersions.Collection.MEMBERS, memberId);
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void removeSkill(int memberId, int skillId) {
+        store.writeLock.lock();
+        try {
+            Map<Integer, Integer> levels = store.memberSkills.get(memberId);
+            if (levels != null && levels.remove(skillId) != null) {
+                EntityVersions.bump(EntityVersions.Collection.MEMBERS, memberId);
+            }
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<MemberSkill> findMemberSkills(int memberId) {
+        Member member = findById(memberId);
+        return member != null ? member.getSkills() : new ArrayList<>();
+    }
+
+    @Override
+    public List<Member> findAvailableMembers(double minAvailableHours) {
+        List<Member> result = new ArrayList<>();
+        for (Member member : all()) {
+            if (member.getWeeklyAvailability() - member.getCurrentWorkload() >= minAvailableHours) {
+                result.add(member);
+            }
+        }
+        result.sort(BY_WORKLOAD);
+        return result;
+    }
+
+    @Override
+    public List<Member> findBySkill(int skillId, int minProficiency) {
+        List<Member> result = new ArrayList<>();
+        Map<Member, Integer> levels = new HashMap<>();
+        for (Member member : all()) {
+            Integer level = store.memberSkills.getOrDefault(member.getId(), Map.of()).get(skillId);
+            if (level != null && level >= minProficiency) {
+                result.add(member);
+                levels.put(member, level);
+            }
+        }
+        result.sort(Comparator.comparing((Member m) -> levels.get(m)).reversed().thenComparing(BY_WORKLOAD));
+        return result;
+    }
+
+    private List<Member> all() {
+        List<Member> result = new ArrayList<>(store.members.size());
+        for (Member row : store.members.values()) {
+            result.add(store.member(row));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,82 @@
+package com.projectmanagement.dao;
+
+import com.projectmanagement.model.Project;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Projects of an {@link InMemoryStorage}.
+ */
+class InMemoryProjectRepository implements ProjectRepository {
+    private final InMemoryStorage store;
+
+    InMemoryProjectRepository(InMemoryStorage store) {
+        this.store = store;
+    }
+
+    @Override
+    public int create(Project project) {
+        store.writeLock.lock();
+        try {
+            project.setId(store.projectIds.incrementAndGet());
+            store.projects.put(project.getId(), InMemoryStorage.projectRow(project));
+            EntityVersions.bump(EntityVersions.Collection.PROJECTS, project.getId());
+            return project.getId();
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Project findById(int id) {
+        Project row = store.projects.get(id);
+        return row != null ? store.project(row) : null;
+    }
+
+    /**
+     * Most recent first: ids grow with creation time, like created_at.
+     */
+    @Override
+    public List<Project> findAll(FieldSet fields) {
+        List<Project> result = new ArrayList<>(store.projects.size());
+        for (Project row : store.projects.values()) {
+            result.add(0, store.project(row));
+        }
+        return result;
+    }
+
+    @Override
+    public void update(Project project) {
+        store.writeLock.lock();
+        try {
+            if (store.projects.replace(project.getId(), InMemoryStorage.projectRow(project)) != null) {
+                EntityVersions.bump(EntityVersions.Collection.PROJECTS, project.getId());
+            }
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(int id) {
+        store.writeLock.lock();
+        try {
+            if (store.projects.remove(id) == null) {
+                return;
+            }
+            Set<Integer> taskIds = store.tasksByProject.remove(id);
+            if (taskIds != null) {
+                for (int taskId : taskIds) {
+                    store.removeTask(taskId);
+                }
+            }
+            store.alerts.values().removeIf(a -> a.getProject() != null && a.getProject().getId() == id);
+            EntityVersions.bump(EntityVersions.Collection.PROJECTS, id);
+            EntityVersions.bump(EntityVersions.Collection.TASKS, EntityVersions.Collection.ALERTS);
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.projectmanagement.dao;
+
+import com.projectmanagement.model.Skill;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Skill catalogue of an {@link InMemoryStorage}.
+ */
+class InMemorySkillRepository implements SkillRepository {
+    private final InMemoryStorage store;
+
+    InMemorySkillRepository(InMemoryStorage store) {
+        this.store = store;
+    }
+
+    @Override
+    public int create(Skill skill) throws SQLException {
+        store.writeLock.lock();
+        try {
+            if (findByName(skill.getName()) != null) {
+                throw new SQLIntegrityConstraintViolationException("Duplicate skill " + skill.getName());
+            }
+            skill.setId(store.skillIds.incrementAndGet());
+            store.skills.put(skill.getId(), InMemoryStorage.skillRow(skill));
+            EntityVersions.bump(EntityVersions.Collection.SKILLS, skill.getId());
+            return skill.getId();
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Skill findById(int id) {
+        Skill row = store.skills.get(id);
+        return row != null ? store.skill(row) : null;
+    }
+
+    @Override
+    public Skill findByName(String name) {
+        for (Skill row : store.skills.values()) {
+            if (row.getName() != null && row.getName().equals(name)) {
+                return store.skill(row);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public List<Skill> findAll() {
+        List<Skill> result = new ArrayList<>(store.skills.size());
+        for (Skill row : store.skills.values()) {
+            result.add(store.skill(row));
+        }
+        result.sort(Comparator.comparing(Skill::getName, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return result;
+    }
+
+    @Override
+    public void update(Skill skill) {
+        store.writeLock.lock();
+        try {
+            if (store.skills.replace(skill.getId(), InMemoryStorage.skillRow(skill)) != null) {
+                EntityVersions.bump(EntityVersions.Collection.SKILLS, skill.getId());
+            }
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(int id) {
+        store.writeLock.lock();
+        try {
+            if (store.skills.remove(id) == null) {
+                return;
+            }
+            for (Map<Integer, Integer> levels : store.memberSkills.values()) {
+                levels.remove(id);
+            }
+            for (Map<Integer, Integer> levels : store.taskSkills.values()) {
+                levels.remove(id);
+            }
+            EntityVersions.bump(EntityVersions.Collection.SKILLS, id);
+            EntityVersions.bump(EntityVersions.Collection.MEMBERS, EntityVersions.Collection.TASKS);
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+}
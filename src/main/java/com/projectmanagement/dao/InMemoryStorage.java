@@ -0,0 +1,319 @@
+package com.projectmanagement.dao;
+
+import com.projectmanagement.model.*;
+import com.projectmanagement.util.UnitOfWork;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Backend keeping every table in concurrent maps inside the JVM.
+ *
+ * Rows are stored as model objects holding only their own columns (references to other
+ * rows are kept as bare ids) and are copied on the way in and out, so callers never share
+ * state with the store. Tasks are indexed by project and by assignee. Reads take no lock;
+ * writes, and {@link #inTransaction} work, are serialized by a single lock so that
+ * multi-map updates (cascades, workload changes) are never seen half done by another
+ * writer. There is no rollback: a unit that fails keeps the writes done before the failure.
+ */
+public class InMemoryStorage implements Storage {
+
+    final Map<Integer, Member> members = new ConcurrentSkipListMap<>();
+    final Map<Integer, Map<Integer, Integer>> memberSkills = new ConcurrentHashMap<>();   // membre -> compétence -> niveau
+    final Map<Integer, Project> projects = new ConcurrentSkipListMap<>();
+    final Map<Integer, Skill> skills = new ConcurrentSkipListMap<>();
+    final Map<Integer, Task> tasks = new ConcurrentSkipListMap<>();
+    final Map<Integer, Map<Integer, Integer>> taskSkills = new ConcurrentHashMap<>();     // tâche -> compétence -> niveau
+    final Map<Integer, Set<Integer>> taskDependencies = new ConcurrentHashMap<>();
+    final Map<Integer, Alert> alerts = new ConcurrentSkipListMap<>();
+    final Map<Integer, Alert> archivedAlerts = new ConcurrentSkipListMap<>();  // avec les noms, comme alerts_archive
+
+    final Map<Integer, Set<Integer>> tasksByProject = new ConcurrentHashMap<>();
+    final Map<Integer, Set<Integer>> tasksByMember = new ConcurrentHashMap<>();
+
+    final AtomicInteger memberIds = new AtomicInteger();
+    final AtomicInteger projectIds = new AtomicInteger();
+    final AtomicInteger skillIds = new AtomicInteger();
+    final AtomicInteger taskIds = new AtomicInteger();
+    final AtomicInteger alertIds = new AtomicInteger();
+
+    final ReentrantLock writeLock = new ReentrantLock();
+
+    private final InMemoryMemberRepository memberRepository = new InMemoryMemberRepository(this);
+    private final InMemoryProjectRepository projectRepository = new InMemoryProjectRepository(this);
+    private final InMemoryTaskRepository taskRepository = new InMemoryTaskRepository(this);
+    private final InMemorySkillRepository skillRepository = new InMemorySkillRepository(this);
+    private final InMemoryAlertRepository alertRepository = new InMemoryAlertRepository(this);
+
+    @Override
+    public MemberRepository members() {
+        return memberRepository;
+    }
+
+    @Override
+    public ProjectRepository projects() {
+        return projectRepository;
+    }
+
+    @Override
+    public TaskRepository tasks() {
+        return taskRepository;
+    }
+
+    @Override
+    public SkillRepository skills() {
+        return skillRepository;
+    }
+
+    @Override
+    public AlertRepository alerts() {
+        return alertRepository;
+    }
+
+    @Override
+    public <T> T inTransaction(UnitOfWork.Work<T> work) throws SQLException {
+        writeLock.lock();
+        try {
+            return work.run();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // --- Index ---
+
+    void index(Map<Integer, Set<Integer>> index, Integer key, int id) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    void unindex(Map<Integer, Set<Integer>> index, Integer key, int id) {
+        if (key != null) {
+            Set<Integer> ids = index.get(key);
+            if (ids != null) {
+                ids.remove(id);
+            }
+        }
+    }
+
+    List<Task> tasksIn(Set<Integer> ids) {
+        List<Task> result = new ArrayList<>();
+        if (ids != null) {
+            for (int id : ids) {
+                Task row = tasks.get(id);
+                if (row != null) {
+                    result.add(task(row));
+                }
+            }
+        }
+        return result;
+    }
+
+    static Integer assigneeId(Task row) {
+        return row.getAssignedMember() != null ? row.getAssignedMember().getId() : null;
+    }
+
+    // --- Écritures partagées entre dépôts (sous writeLock) ---
+
+    /**
+     * Removes a task with its skills, dependencies (both ways) and alerts.
+     */
+    boolean removeTask(int id) {
+        Task row = tasks.remove(id);
+        if (row == null) {
+            return false;
+        }
+        unindex(tasksByProject, row.getProjectId(), id);
+        unindex(tasksByMember, assigneeId(row), id);
+        taskSkills.remove(id);
+        taskDependencies.remove(id);
+        for (Set<Integer> deps : taskDependencies.values()) {
+            deps.remove(id);
+        }
+        alerts.values().removeIf(a -> a.getTask() != null && a.getTask().getId() == id);
+        return true;
+    }
+
+    /**
+     * Stores the alert with a new id and the current time as creation date.
+     */
+    int insertAlert(Alert alert) throws SQLException {
+        if (alert.getMember() != null) requireRow(members, alert.getMember().getId(), "member");
+        if (alert.getProject() != null) requireRow(projects, alert.getProject().getId(), "project");
+        if (alert.getTask() != null) requireRow(tasks, alert.getTask().getId(), "task");
+        alert.setId(alertIds.incrementAndGet());
+        alert.setCreatedAt(new Timestamp(System.currentTimeMillis()));
+        alerts.put(alert.getId(), alertRow(alert));
+        return alert.getId();
+    }
+
+    // --- Contraintes ---
+
+    void requireRow(Map<Integer, ?> table, int id, String what) throws SQLException {
+        if (!table.containsKey(id)) {
+            throw new SQLIntegrityConstraintViolationException("Unknown " + what + " " + id);
+        }
+    }
+
+    // --- Lignes stockées : colonnes propres uniquement ---
+
+    static Member memberRow(Member m) {
+        Member row = new Member();
+        row.setId(m.getId());
+        row.setName(m.getName());
+        row.setEmail(m.getEmail());
+        row.setWeeklyAvailability(m.getWeeklyAvailability());
+        row.setCurrentWorkload(m.getCurrentWorkload());
+        return row;
+    }
+
+    static Project projectRow(Project p) {
+        Project row = new Project();
+        row.setId(p.getId());
+        row.setName(p.getName());
+        row.setDescription(p.getDescription());
+        row.setStartDate(p.getStartDate());
+        row.setDeadline(p.getDeadline());
+        row.setStatus(p.getStatus());
+        return row;
+    }
+
+    static Skill skillRow(Skill s) {
+        Skill row = new Skill();
+        row.setId(s.getId());
+        row.setName(s.getName());
+        row.setDescription(s.getDescription());
+        return row;
+    }
+
+    static Task taskRow(Task t) {
+        Task row = new Task();
+        row.setId(t.getId());
+        row.setProjectId(t.getProjectId());
+        row.setTitle(t.getTitle());
+        row.setDescription(t.getDescription());
+        row.setEstimatedHours(t.getEstimatedHours());
+        row.setPriority(t.getPriority());
+        row.setStatus(t.getStatus());
+        row.setStartDate(t.getStartDate());
+        row.setDeadline(t.getDeadline());
+        if (t.getAssignedMember() != null) {
+            row.setAssignedMember(memberRef(t.getAssignedMember().getId()));
+        }
+        row.setRequiredSkills(Collections.emptyList());
+        row.setDependencies(Collections.emptyList());
+        return row;
+    }
+
+    static Alert alertRow(Alert a) {
+        Alert row = new Alert();
+        row.setId(a.getId());
+        row.setType(a.getType());
+        row.setSeverity(a.getSeverity());
+        row.setTitle(a.getTitle());
+        row.setMessage(a.getMessage());
+        row.setRead(a.isRead());
+        row.setCreatedAt(a.getCreatedAt());
+        if (a.getMember() != null) row.setMember(memberRef(a.getMember().getId()));
+        if (a.getProject() != null) row.setProject(projectRef(a.getProject().getId()));
+        if (a.getTask() != null) row.setTask(taskRef(a.getTask().getId()));
+        return row;
+    }
+
+    static Member memberRef(int id) {
+        Member m = new Member();
+        m.setId(id);
+        return m;
+    }
+
+    static Project projectRef(int id) {
+        Project p = new Project();
+        p.setId(id);
+        return p;
+    }
+
+    static Task taskRef(int id) {
+        Task t = new Task();
+        t.setId(id);
+        return t;
+    }
+
+    // --- Objets rendus : copies, avec les "jointures" des DAO JDBC ---
+
+    Member member(Member row) {
+        Member m = memberRow(row);
+        List<MemberSkill> list = new ArrayList<>();
+        Map<Integer, Integer> levels = memberSkills.get(row.getId());
+        if (levels != null) {
+            for (Map.Entry<Integer, Integer> e : levels.entrySet()) {
+                list.add(new MemberSkill(memberRef(row.getId()), skillRef(e.getKey()), e.getValue()));
+            }
+        }
+        m.setSkills(list);
+        return m;
+    }
+
+    Project project(Project row) {
+        return projectRow(row);
+    }
+
+    Skill skill(Skill row) {
+        return skillRow(row);
+    }
+
+    Task task(Task row) {
+        Task t = taskRow(row);
+        Integer memberId = assigneeId(row);
+        if (memberId != null) {
+            Member m = members.get(memberId);
+            t.getAssignedMember().setName(m != null ? m.getName() : null);
+        }
+        List<TaskSkill> required = new ArrayList<>();
+        Map<Integer, Integer> levels = taskSkills.get(row.getId());
+        if (levels != null) {
+            for (Map.Entry<Integer, Integer> e : levels.entrySet()) {
+                required.add(new TaskSkill(taskRef(row.getId()), skillRef(e.getKey()), e.getValue()));
+            }
+        }
+        t.setRequiredSkills(required);
+        Set<Integer> deps = taskDependencies.get(row.getId());
+        t.setDependencies(deps != null ? new ArrayList<>(deps) : new ArrayList<>());
+        return t;
+    }
+
+    Alert alert(Alert row) {
+        Alert a = alertRow(row);
+        if (a.getMember() != null) {
+            Member m = members.get(a.getMember().getId());
+            a.getMember().setName(m != null ? m.getName() : null);
+        }
+        if (a.getProject() != null) {
+            Project p = projects.get(a.getProject().getId());
+            a.getProject().setName(p != null ? p.getName() : null);
+        }
+        if (a.getTask() != null) {
+            Task t = tasks.get(a.getTask().getId());
+            a.getTask().setTitle(t != null ? t.getTitle() : null);
+        }
+        return a;
+    }
+
+    private Skill skillRef(int skillId) {
+        Skill s = new Skill();
+        s.setId(skillId);
+        Skill row = skills.get(skillId);
+        s.setName(row != null ? row.getName() : null);
+        return s;
+    }
+}
@@ -0,0 +1,381 @@
+package com.projectmanagement.dao;
+
+import com.projectmanagement.model.Alert;
+import com.projectmanagement.model.Member;
+import com.projectmanagement.model.Task;
+import com.projectmanagement.model.TaskSkill;
+
+import java.io.IOException;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Tasks of an {@link InMemoryStorage}, read through the project and assignee indexes.
+ */
+class InMemoryTaskRepository implements TaskRepository {
+    // Même ordre que TaskDAO : priorité DESC, échéance ASC (absente d'abord, comme MySQL), id ASC
+    static final Comparator<Task> PROJECT_ORDER = Comparator
+            .comparing((Task t) -> t.getPriority().ordinal(), Comparator.reverseOrder())
+            .thenComparing(Task::getDeadline, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparingInt(Task::getId);
+
+    private final InMemoryStorage store;
+
+    InMemoryTaskRepository(InMemoryStorage store) {
+        this.store = store;
+    }
+
+    @Override
+    public int create(Task task) throws SQLException {
+        store.writeLock.lock();
+        try {
+            return insert(task);
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public int[] createAll(List<Task> tasks) throws SQLException {
+        store.writeLock.lock();
+        try {
+            int[] ids = new int[tasks.size()];
+            for (int i = 0; i < ids.length; i++) {
+                Task task = tasks.get(i);
+                ids[i] = insert(task);
+                if (task.getRequiredSkills() != null) {
+                    for (TaskSkill requirement : task.getRequiredSkills()) {
+                        requirement.setTask(task);
+                        putRequirement(task.getId(), requirement.getSkill().getId(), requirement.getRequiredLevel());
+                    }
+                }
+            }
+            return ids;
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    private int insert(Task task) throws SQLException {
+        store.requireRow(store.projects, task.getProjectId(), "project");
+        Integer memberId = InMemoryStorage.assigneeId(task);
+        if (memberId != null) {
+            store.requireRow(store.members, memberId, "member");
+        }
+        task.setId(store.taskIds.incrementAndGet());
+        store.tasks.put(task.getId(), InMemoryStorage.taskRow(task));
+        store.index(store.tasksByProject, task.getProjectId(), task.getId());
+        store.index(store.tasksByMember, memberId, task.getId());
+        EntityVersions.bump(EntityVersions.Collection.TASKS, task.getId());
+        return task.getId();
+    }
+
+    @Override
+    public Task findById(int id) {
+        Task row = store.tasks.get(id);
+        return row != null ? store.task(row) : null;
+    }
+
+    @Override
+    public List<Task> findByProject(int projectId) {
+        return projectTasks(projectId, t -> true);
+    }
+
+    @Override
+    public void streamByProject(int projectId, FieldSet fields, RowHandler<Task> handler) throws IOException {
+        for (Task task : findByProject(projectId)) {
+            handler.handle(task);
+        }
+    }
+
+    @Override
+    public PageCursor streamPageByProject(int projectId, FieldSet fields, PageCursor after, int limit,
+                                          RowHandler<Task> handler) throws IOException {
+        List<Task> tasks = projectTasks(projectId, t -> after == null || isAfter(t, after));
+        List<Task> page = tasks.subList(0, Math.min(limit, tasks.size()));
+        for (Task task : page) {
+            handler.handle(task);
+        }
+        return tasks.size() > limit ? PageCursor.after(page.get(page.size() - 1)) : null;
+    }
+
+    private static boolean isAfter(Task task, PageCursor cursor) {
+        int rank = Task.Priority.valueOf(cursor.getRank()).ordinal();
+        int priority = task.getPriority().ordinal();
+        if (priority != rank) {
+            return priority < rank;
+        }
+        Date deadline = task.getDeadline();
+        if (cursor.getTime() == null) {
+            return deadline != null || task.getId() > cursor.getId();
+        }
+        return deadline != null && (deadline.getTime() > cursor.getTime()
+                || (deadline.getTime() == cursor.getTime() && task.getId() > cursor.getId()));
+    }
+
+    @Override
+    public List<Task> findUnassignedByProject(int projectId) {
+        return projectTasks(projectId, t -> t.getAssignedMember() == null);
+    }
+
+    @Override
+    public List<Task> findByProjectAndStatus(int projectId, Task.TaskStatus status) {
+        return projectTasks(projectId, t -> t.getStatus() == status);
+    }
+
+    @Override
+    public List<Task> findByMember(int memberId) {
+        List<Task> tasks = store.tasksIn(store.tasksByMember.get(memberId));
+        tasks.sort(Comparator.comparing(Task::getDeadline, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return tasks;
+    }
+
+    private List<Task> projectTasks(int projectId, Predicate<Task> filter) {
+        List<Task> tasks = store.tasksIn(store.tasksByProject.get(projectId));
+        tasks.removeIf(filter.negate());
+        tasks.sort(PROJECT_ORDER);
+        return tasks;
+    }
+
+    @Override
+    public void update(Task task) throws SQLException {
+        store.writeLock.lock();
+        try {
+            Task old = store.tasks.get(task.getId());
+            if (old == null) {
+                return;
+            }
+            Integer memberId = InMemoryStorage.assigneeId(task);
+            if (memberId != null) {
+                store.requireRow(store.members, memberId, "member");
+            }
+            replace(old, InMemoryStorage.taskRow(task));
+            EntityVersions.bump(EntityVersions.Collection.TASKS, task.getId());
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void assignTask(int taskId, int memberId) throws SQLException {
+        store.writeLock.lock();
+        try {
+            Task old = store.tasks.get(taskId);
+            if (old == null) {
+                return;
+            }
+            store.requireRow(store.members, memberId, "member");
+            Task updated = InMemoryStorage.taskRow(old);
+            updated.setAssignedMember(InMemoryStorage.memberRef(memberId));
+            replace(old, updated);
+            EntityVersions.bump(EntityVersions.Collection.TASKS, taskId);
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void assignAll(Map<Integer, Integer> assignees) throws SQLException {
+        store.writeLock.lock();
+        try {
+            for (Map.Entry<Integer, Integer> e : assignees.entrySet()) {
+                assignTask(e.getKey(), e.getValue());
+            }
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public AssignmentResult assignTaskToMember(int taskId, int memberId) throws SQLException {
+        store.writeLock.lock();
+        try {
+            Task task = store.tasks.get(taskId);
+            Member member = store.members.get(memberId);
+            if (task == null || member == null) {
+                throw new SQLException("Task or member not found");
+            }
+
+            Map<Integer, Integer> required = store.taskSkills.getOrDefault(taskId, Map.of());
+            Map<Integer, Integer> levels = store.memberSkills.getOrDefault(memberId, Map.of());
+            int matched = 0;
+            for (Map.Entry<Integer, Integer> e : required.entrySet()) {
+                if (levels.getOrDefault(e.getKey(), 0) >= e.getValue()) {
+                    matched++;
+                }
+            }
+            double competenceScore = required.isEmpty() ? 1.0 : (double) matched / required.size();
+            if (competenceScore < 0.6) {
+                throw new SQLException(
+                    String.format("INCOMPETENT: %s n'est pas assez compétent pour cette tâche (score: %.0f%%).",
+                                member.getName(), competenceScore * 100)
+                );
+            }
+
+            Task assigned = InMemoryStorage.taskRow(task);
+            assigned.setAssignedMember(InMemoryStorage.memberRef(memberId));
+            replace(task, assigned);
+
+            Member loaded = InMemoryStorage.memberRow(member);
+            loaded.setCurrentWorkload(member.getCurrentWorkload() + task.getEstimatedHours());
+            store.members.put(memberId, loaded);
+
+            double workload = loaded.getCurrentWorkload();
+            int availability = loaded.getWeeklyAvailability();
+            if (workload > availability) {
+                double overloadPct = (workload / availability) * 100;
+                Alert alert = new Alert(Alert.AlertType.OVERLOAD, "Member Overloaded: " + loaded.getName(),
+                        String.format("%s is overloaded at %.1f%% capacity (%.1f/%.1f hours)",
+                                loaded.getName(), overloadPct, workload, (double) availability));
+                alert.setSeverity(overloadPct > 150 ? Alert.Severity.CRITICAL : Alert.Severity.HIGH);
+                alert.setMember(InMemoryStorage.memberRef(memberId));
+                store.insertAlert(alert);
+            }
+
+            EntityVersions.bump(EntityVersions.Collection.TASKS, taskId);
+            EntityVersions.bump(EntityVersions.Collection.MEMBERS, memberId);
+            EntityVersions.bump(EntityVersions.Collection.ALERTS);
+            return new AssignmentResult(memberId, competenceScore, workload, availability);
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public AssignmentResult unassignTask(int taskId) throws SQLException {
+        store.writeLock.lock();
+        try {
+            Task task = store.tasks.get(taskId);
+            if (task == null || task.getStatus() != Task.TaskStatus.TODO) {
+                throw new SQLException("Cannot unassign task: either task not found or status is not TODO");
+            }
+            Integer memberId = InMemoryStorage.assigneeId(task);
+            if (memberId == null) {
+                throw new SQLException("Task is not assigned to anyone");
+            }
+
+            Task unassigned = InMemoryStorage.taskRow(task);
+            unassigned.setAssignedMember(null);
+            replace(task, unassigned);
+
+            Member member = store.members.get(memberId);
+            Member updated = InMemoryStorage.memberRow(member);
+            updated.setCurrentWorkload(Math.max(0, member.getCurrentWorkload() - task.getEstimatedHours()));
+            store.members.put(memberId, updated);
+            EntityVersions.bump(EntityVersions.Collection.TASKS, taskId);
+            EntityVersions.bump(EntityVersions.Collection.MEMBERS, memberId);
+            return new AssignmentResult(memberId, null, updated.getCurrentWorkload(), updated.getWeeklyAvailability());
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void updateStatus(int taskId, Task.TaskStatus status) {
+        store.writeLock.lock();
+        try {
+            Task old = store.tasks.get(taskId);
+            if (old != null) {
+                Task updated = InMemoryStorage.taskRow(old);
+                updated.setStatus(status);
+                replace(old, updated);
+                EntityVersions.bump(EntityVersions.Collection.TASKS, taskId);
+            }
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(int id) {
+        store.writeLock.lock();
+        try {
+            if (store.removeTask(id)) {
+                EntityVersions.bump(EntityVersions.Collection.TASKS, id);
+                EntityVersions.bump(EntityVersions.Collection.ALERTS);
+            }
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void addSkillRequirement(int taskId, int skillId, int requiredLevel) throws SQLException {
+        store.writeLock.lock();
+        try {
+            putRequirement(taskId, skillId, requiredLevel);
+            EntityVersions.bump(EntityVersions.Collection.TASKS, taskId);
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void addSkillRequirements(List<TaskSkill> requirements) throws SQLException {
+        store.writeLock.lock();
+        try {
+            for (TaskSkill requirement : requirements) {
+                int taskId = requirement.getTask().getId();
+                putRequirement(taskId, requirement.getSkill().getId(), requirement.getRequiredLevel());
+                EntityVersions.bump(EntityVersions.Collection.TASKS, taskId);
+            }
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    private void putRequirement(int taskId, int skillId, int requiredLevel) throws SQLException {
+        store.requireRow(store.tasks, taskId, "task");
+        store.requireRow(store.skills, skillId, "skill");
+        store.taskSkills.computeIfAbsent(taskId, k -> new ConcurrentHashMap<>()).put(skillId, requiredLevel);
+    }
+
+    @Override
+    public void addDependency(int taskId, int dependsOnTaskId) throws SQLException {
+        store.writeLock.lock();
+        try {
+            store.requireRow(store.tasks, taskId, "task");
+            store.requireRow(store.tasks, dependsOnTaskId, "task");
+            store.taskDependencies.computeIfAbsent(taskId, k -> ConcurrentHashMap.newKeySet()).add(dependsOnTaskId);
+            EntityVersions.bump(EntityVersions.Collection.TASKS, taskId);
+        } finally {
+            store.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<TaskSkill> findTaskSkills(int taskId) {
+        Task task = findById(taskId);
+        return task != null ? task.getRequiredSkills() : new ArrayList<>();
+    }
+
+    @Override
+    public List<Integer> findTaskDependencies(int taskId) {
+        Set<Integer> deps = store.taskDependencies.get(taskId);
+        return deps != null ? new ArrayList<>(deps) : new ArrayList<>();
+    }
+
+    // Remplace la ligne en tenant les index à jour. Les lectures ne prennent pas le verrou :
+    // un index n'est touché que si sa clé change, et la nouvelle entrée est ajoutée avant le
+    // retrait de l'ancienne, pour qu'une lecture concurrente ne perde jamais la tâche
+    private void replace(Task old, Task row) {
+        store.tasks.put(row.getId(), row);
+        reindex(store.tasksByProject, old.getProjectId(), row.getProjectId(), row.getId());
+        reindex(store.tasksByMember, InMemoryStorage.assigneeId(old), InMemoryStorage.assigneeId(row), row.getId());
+    }
+
+    private void reindex(Map<Integer, Set<Integer>> index, Integer oldKey, Integer newKey, int id) {
+        if (!Objects.equals(oldKey, newKey)) {
+            store.index(index, newKey, id);
+            store.unindex(index, oldKey, id);
+        }
+    }
+}
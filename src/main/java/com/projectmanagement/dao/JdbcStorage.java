@@ -0,0 +1,46 @@
+package com.projectmanagement.dao;
+
+import com.projectmanagement.util.UnitOfWork;
+
+import java.sql.SQLException;
+
+/**
+ * The MySQL backend: the JDBC DAOs over {@link com.projectmanagement.util.DatabaseUtil}.
+ */
+public class JdbcStorage implements Storage {
+    private final MemberDAO members = new MemberDAO();
+    private final ProjectDAO projects = new ProjectDAO();
+    private final TaskDAO tasks = new TaskDAO();
+    private final SkillDAO skills = new SkillDAO();
+    private final AlertDAO alerts = new AlertDAO();
+
+    @Override
+    public MemberDAO members() {
+        return members;
+    }
+
+    @Override
+    public ProjectDAO projects() {
+        return projects;
+    }
+
+    @Override
+    public TaskDAO tasks() {
+        return tasks;
+    }
+
+    @Override
+    public SkillDAO skills() {
+        return skills;
+    }
+
+    @Override
+    public AlertDAO alerts() {
+        return alerts;
+    }
+
+    @Override
+    public <T> T inTransaction(UnitOfWork.Work<T> work) throws SQLException {
+        return UnitOfWork.run(work);
+    }
+}
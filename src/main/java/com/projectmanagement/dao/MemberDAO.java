@@ -4,26 +4,47 @@ import com.projectmanagement.model.Member;
 import com.projectmanagement.model.MemberSkill;
 import com.projectmanagement.model.Skill;
 import com.projectmanagement.util.DatabaseUtil;
+import com.projectmanagement.util.IntObjectMap;
+import com.projectmanagement.util.UnitOfWork;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
-public class MemberDAO {
+public class MemberDAO implements MemberRepository {
     private static final Logger logger = LoggerFactory.getLogger(MemberDAO.class);
 
+    // Colonnes de chaque champ pour ?fields= (null : liste enfant chargée à part)
+    private static final Map<String, String> COLUMNS = new LinkedHashMap<>();
+    static {
+        COLUMNS.put("id", "id");
+        COLUMNS.put("name", "name");
+        COLUMNS.put("email", "email");
+        COLUMNS.put("weeklyAvailability", "weekly_availability");
+        COLUMNS.put("currentWorkload", "current_workload");
+        COLUMNS.put("skills", null);
+    }
+    public static final Set<String> FIELDS = Collections.unmodifiableSet(COLUMNS.keySet());
+
+    private static final String INSERT_SQL =
+            "INSERT INTO members (name, email, weekly_availability, current_workload) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_SQL =
+            "UPDATE members SET name = ?, email = ?, weekly_availability = ?, current_workload = ? WHERE id = ?";
+    private static final String ADD_SKILL_SQL =
+            "INSERT INTO member_skills (member_id, skill_id, proficiency_level) " +
+            "VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE proficiency_level = ?";
+
     public int create(Member member) throws SQLException {
-        String sql = "INSERT INTO members (name, email, weekly_availability, current_workload) VALUES (?, ?, ?, ?)";
-        
         try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
             
-            stmt.setString(1, member.getName());
-            stmt.setString(2, member.getEmail());
-            stmt.setInt(3, member.getWeeklyAvailability());
-            stmt.setDouble(4, member.getCurrentWorkload());
+            bindInsert(stmt, member);
             
             int affectedRows = stmt.executeUpdate();
             if (affectedRows == 0) {
@@ -34,6 +55,7 @@ public class MemberDAO {
                 if (generatedKeys.next()) {
                     int id = generatedKeys.getInt(1);
                     member.setId(id);
+                    EntityVersions.bump(EntityVersions.Collection.MEMBERS, id);
                     logger.info("Created member: {} with ID: {}", member.getName(), id);
                     return id;
                 } else {
@@ -46,7 +68,7 @@ public class MemberDAO {
     public Member findById(int id) throws SQLException {
         String sql = "SELECT * FROM members WHERE id = ?";
         
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, id);
@@ -62,42 +84,116 @@ public class MemberDAO {
     }
 
     public List<Member> findAll() throws SQLException {
-        String sql = "SELECT * FROM members ORDER BY name";
+        return findAll(FieldSet.ALL);
+    }
+
+    /**
+     * Members with only the requested fields read; skills are loaded only if requested.
+     */
+    public List<Member> findAll(FieldSet fields) throws SQLException {
+        String sql = "SELECT " + fields.columns(COLUMNS, "id") + " FROM members ORDER BY name";
         List<Member> members = new ArrayList<>();
         
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
-                Member member = extractMemberFromResultSet(rs);
-                member.setSkills(findMemberSkills(member.getId()));
-                members.add(member);
+                members.add(extractMemberFromResultSet(rs, fields));
+            }
+            if (fields.includes("skills")) {
+                loadSkills(conn, members, true);
             }
         }
         return members;
     }
 
-    public void update(Member member) throws SQLException {
-        String sql = "UPDATE members SET name = ?, email = ?, weekly_availability = ?, " +
-                    "current_workload = ? WHERE id = ?";
-        
-        try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+    /**
+     * Inserts the members, and the skills listed on them, with JDBC batches in a single
+     * transaction.
+     *
+     * @return the generated ids, in list order (also set on the members)
+     */
+    public int[] createAll(List<Member> members) throws SQLException {
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            Connection conn = DatabaseUtil.getConnection();
+            createAll(conn, members);
             
+            int[] ids = new int[members.size()];
+            List<MemberSkill> skills = new ArrayList<>();
+            for (int i = 0; i < ids.length; i++) {
+                Member member = members.get(i);
+                ids[i] = member.getId();
+                if (member.getSkills() != null) {
+                    for (MemberSkill skill : member.getSkills()) {
+                        skill.setMember(member);
+                        skills.add(skill);
+                    }
+                }
+                EntityVersions.bump(EntityVersions.Collection.MEMBERS, ids[i]);
+            }
+            if (!skills.isEmpty()) {
+                addSkills(conn, skills);
+            }
+            uow.commit();
+            logger.info("Created {} members with {} skills", ids.length, skills.size());
+            return ids;
+        }
+    }
+
+    /**
+     * Inserts the members with one JDBC batch on the caller's connection and sets their ids.
+     * The caller owns the transaction and records the version bumps once it commits.
+     */
+    public void createAll(Connection conn, List<Member> members) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (Member member : members) {
+                bindInsert(stmt, member);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                for (Member member : members) {
+                    if (!generatedKeys.next()) {
+                        throw new SQLException("Creating members failed, missing generated ID.");
+                    }
+                    member.setId(generatedKeys.getInt(1));
+                }
+            }
+        }
+    }
+
+    private void bindInsert(PreparedStatement stmt, Member member) throws SQLException {
+        stmt.setString(1, member.getName());
+        stmt.setString(2, member.getEmail());
+        stmt.setInt(3, member.getWeeklyAvailability());
+        stmt.setDouble(4, member.getCurrentWorkload());
+    }
+
+    public void update(Member member) throws SQLException {
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            update(conn, member);
+            EntityVersions.bump(EntityVersions.Collection.MEMBERS, member.getId());
+            logger.info("Updated member: {}", member.getName());
+        }
+    }
+
+    /**
+     * @return false if no member has this id
+     */
+    public boolean update(Connection conn, Member member) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(UPDATE_SQL)) {
             stmt.setString(1, member.getName());
             stmt.setString(2, member.getEmail());
             stmt.setInt(3, member.getWeeklyAvailability());
             stmt.setDouble(4, member.getCurrentWorkload());
             stmt.setInt(5, member.getId());
-            
-            stmt.executeUpdate();
-            logger.info("Updated member: {}", member.getName());
+            return stmt.executeUpdate() > 0;
         }
     }
 
     public void updateWorkload(int memberId, double workload) throws SQLException {
-        String sql = "UPDATE members SET current_workload = ? WHERE id = ?";
+        String sql = "UPDATE members SET current_workload = current_workload + ? WHERE id = ?";
         
         try (Connection conn = DatabaseUtil.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -105,37 +201,84 @@ public class MemberDAO {
             stmt.setDouble(1, workload);
             stmt.setInt(2, memberId);
             stmt.executeUpdate();
+            EntityVersions.bump(EntityVersions.Collection.MEMBERS, memberId);
         }
     }
 
-    public void delete(int id) throws SQLException {
-        String sql = "DELETE FROM members WHERE id = ?";
+    /**
+     * One UPDATE batch in a single transaction (joins the current unit of work if any).
+     * Each row adds its delta to the stored workload instead of overwriting it.
+     */
+    public void addWorkloads(Map<Integer, Double> deltas) throws SQLException {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        String sql = "UPDATE members SET current_workload = current_workload + ? WHERE id = ?";
         
-        try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (UnitOfWork uow = UnitOfWork.begin();
+             PreparedStatement stmt = DatabaseUtil.getConnection().prepareStatement(sql)) {
             
-            stmt.setInt(1, id);
-            stmt.executeUpdate();
+            for (Map.Entry<Integer, Double> e : deltas.entrySet()) {
+                stmt.setDouble(1, e.getValue());
+                stmt.setInt(2, e.getKey());
+                stmt.addBatch();
+                EntityVersions.bump(EntityVersions.Collection.MEMBERS, e.getKey());
+            }
+            stmt.executeBatch();
+            uow.commit();
+        }
+    }
+
+    public void delete(int id) throws SQLException {
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            delete(conn, id);
+            // ON DELETE : tâches désassignées, alertes supprimées en cascade
+            EntityVersions.bump(EntityVersions.Collection.MEMBERS, id);
+            EntityVersions.bump(EntityVersions.Collection.TASKS, EntityVersions.Collection.ALERTS);
             logger.info("Deleted member with ID: {}", id);
         }
     }
 
+    /**
+     * @return false if no member has this id
+     */
+    public boolean delete(Connection conn, int id) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM members WHERE id = ?")) {
+            stmt.setInt(1, id);
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
     public void addSkill(int memberId, int skillId, int proficiencyLevel) throws SQLException {
-        String sql = "INSERT INTO member_skills (member_id, skill_id, proficiency_level) " +
-                    "VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE proficiency_level = ?";
-        
         try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(ADD_SKILL_SQL)) {
             
             stmt.setInt(1, memberId);
             stmt.setInt(2, skillId);
             stmt.setInt(3, proficiencyLevel);
             stmt.setInt(4, proficiencyLevel);
             stmt.executeUpdate();
+            EntityVersions.bump(EntityVersions.Collection.MEMBERS, memberId);
             logger.info("Added/Updated skill {} for member {}", skillId, memberId);
         }
     }
 
+    /**
+     * Adds or updates several member skills with one JDBC batch on the caller's connection.
+     */
+    public void addSkills(Connection conn, List<MemberSkill> skills) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(ADD_SKILL_SQL)) {
+            for (MemberSkill skill : skills) {
+                stmt.setInt(1, skill.getMember().getId());
+                stmt.setInt(2, skill.getSkill().getId());
+                stmt.setInt(3, skill.getProficiencyLevel());
+                stmt.setInt(4, skill.getProficiencyLevel());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
     public void removeSkill(int memberId, int skillId) throws SQLException {
         String sql = "DELETE FROM member_skills WHERE member_id = ? AND skill_id = ?";
         
@@ -145,6 +288,7 @@ public class MemberDAO {
             stmt.setInt(1, memberId);
             stmt.setInt(2, skillId);
             stmt.executeUpdate();
+            EntityVersions.bump(EntityVersions.Collection.MEMBERS, memberId);
         }
     }
 
@@ -153,49 +297,98 @@ public class MemberDAO {
                     "JOIN skills s ON ms.skill_id = s.id WHERE ms.member_id = ?";
         List<MemberSkill> skills = new ArrayList<>();
         
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, memberId);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    MemberSkill skill = new MemberSkill();
-                    
-                    // Initialiser l'objet Member
-                    Member member = new Member();
-                    member.setId(rs.getInt("member_id"));
-                    skill.setMember(member);
-                    
-                    // Initialiser l'objet Skill
-                    Skill skillObj = new Skill();
-                    skillObj.setId(rs.getInt("skill_id"));
-                    skillObj.setName(rs.getString("skill_name"));
-                    skill.setSkill(skillObj);
-                    
-                    skill.setProficiencyLevel(rs.getInt("proficiency_level"));
-                    skills.add(skill);
+                    skills.add(extractMemberSkillFromResultSet(rs));
                 }
             }
         }
         return skills;
     }
 
+    /**
+     * Fills the skills of the members on the given connection, grouping the skill rows by
+     * member id. When the list holds every member the skills are read in one unfiltered
+     * query, otherwise with one "IN (...)" query per IN_LIST_CHUNK members.
+     */
+    private void loadSkills(Connection conn, List<Member> members, boolean allMembers) throws SQLException {
+        if (members.isEmpty()) {
+            return;
+        }
+        IntObjectMap<Member> byId = new IntObjectMap<>(members.size());
+        for (Member member : members) {
+            byId.put(member.getId(), member);
+            member.setSkills(new ArrayList<>());
+        }
+        
+        String sql = "SELECT ms.*, s.name as skill_name FROM member_skills ms " +
+                    "JOIN skills s ON ms.skill_id = s.id";
+        if (allMembers) {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                readSkills(stmt, byId);
+            }
+            return;
+        }
+        int[] ids = byId.keys();
+        for (int from = 0; from < ids.length; from += DatabaseUtil.IN_LIST_CHUNK) {
+            int to = Math.min(ids.length, from + DatabaseUtil.IN_LIST_CHUNK);
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    sql + " WHERE ms.member_id IN (" + DatabaseUtil.placeholders(to - from) + ")")) {
+                DatabaseUtil.setInts(stmt, ids, from, to);
+                readSkills(stmt, byId);
+            }
+        }
+    }
+
+    private void readSkills(PreparedStatement stmt, IntObjectMap<Member> byId) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                MemberSkill skill = extractMemberSkillFromResultSet(rs);
+                Member member = byId.get(skill.getMember().getId());
+                if (member != null) {
+                    member.getSkills().add(skill);
+                }
+            }
+        }
+    }
+
+    private MemberSkill extractMemberSkillFromResultSet(ResultSet rs) throws SQLException {
+        MemberSkill skill = new MemberSkill();
+        
+        // Initialiser l'objet Member
+        Member member = new Member();
+        member.setId(rs.getInt("member_id"));
+        skill.setMember(member);
+        
+        // Initialiser l'objet Skill
+        Skill skillObj = new Skill();
+        skillObj.setId(rs.getInt("skill_id"));
+        skillObj.setName(rs.getString("skill_name"));
+        skill.setSkill(skillObj);
+        
+        skill.setProficiencyLevel(rs.getInt("proficiency_level"));
+        return skill;
+    }
+
     public List<Member> findAvailableMembers(double minAvailableHours) throws SQLException {
         String sql = "SELECT * FROM members WHERE (weekly_availability - current_workload) >= ? " +
                     "ORDER BY current_workload ASC";
         List<Member> members = new ArrayList<>();
         
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setDouble(1, minAvailableHours);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Member member = extractMemberFromResultSet(rs);
-                    member.setSkills(findMemberSkills(member.getId()));
-                    members.add(member);
+                    members.add(extractMemberFromResultSet(rs));
                 }
             }
+            loadSkills(conn, members, false);
         }
         return members;
     }
@@ -207,29 +400,32 @@ public class MemberDAO {
                     "ORDER BY ms.proficiency_level DESC, m.current_workload ASC";
         List<Member> members = new ArrayList<>();
         
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, skillId);
             stmt.setInt(2, minProficiency);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Member member = extractMemberFromResultSet(rs);
-                    member.setSkills(findMemberSkills(member.getId()));
-                    members.add(member);
+                    members.add(extractMemberFromResultSet(rs));
                 }
             }
+            loadSkills(conn, members, false);
         }
         return members;
     }
 
     private Member extractMemberFromResultSet(ResultSet rs) throws SQLException {
+        return extractMemberFromResultSet(rs, FieldSet.ALL);
+    }
+
+    private Member extractMemberFromResultSet(ResultSet rs, FieldSet fields) throws SQLException {
         Member member = new Member();
         member.setId(rs.getInt("id"));
-        member.setName(rs.getString("name"));
-        member.setEmail(rs.getString("email"));
-        member.setWeeklyAvailability(rs.getInt("weekly_availability"));
-        member.setCurrentWorkload(rs.getDouble("current_workload"));
+        if (fields.includes("name")) member.setName(rs.getString("name"));
+        if (fields.includes("email")) member.setEmail(rs.getString("email"));
+        if (fields.includes("weeklyAvailability")) member.setWeeklyAvailability(rs.getInt("weekly_availability"));
+        if (fields.includes("currentWorkload")) member.setCurrentWorkload(rs.getDouble("current_workload"));
         // member.setCreatedAt(rs.getTimestamp("created_at"));
         // member.setUpdatedAt(rs.getTimestamp("updated_at"));
         return member;
@@ -0,0 +1,60 @@
+package com.projectmanagement.dao;
+
+import com.projectmanagement.model.Member;
+import com.projectmanagement.model.MemberSkill;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage of members and their skills. {@link MemberDAO} is the JDBC implementation.
+ */
+public interface MemberRepository {
+
+    int create(Member member) throws SQLException;
+
+    /**
+     * @return the generated ids, in list order (also set on the members)
+     */
+    int[] createAll(List<Member> members) throws SQLException;
+
+    Member findById(int id) throws SQLException;
+
+    default List<Member> findAll() throws SQLException {
+        return findAll(FieldSet.ALL);
+    }
+
+    /**
+     * Members ordered by name; an implementation may leave out the fields not requested.
+     */
+    List<Member> findAll(FieldSet fields) throws SQLException;
+
+    void update(Member member) throws SQLException;
+
+    void updateWorkload(int memberId, double workload) throws SQLException;
+
+    /**
+     * Adds hours (member id to delta, possibly negative) to each member's workload in one
+     * batch. Relative, so assignments written meanwhile by someone else are kept.
+     */
+    void addWorkloads(Map<Integer, Double> deltas) throws SQLException;
+
+    void delete(int id) throws SQLException;
+
+    void addSkill(int memberId, int skillId, int proficiencyLevel) throws SQLException;
+
+    void removeSkill(int memberId, int skillId) throws SQLException;
+
+    List<MemberSkill> findMemberSkills(int memberId) throws SQLException;
+
+    /**
+     * Members with at least minAvailableHours free, least loaded first.
+     */
+    List<Member> findAvailableMembers(double minAvailableHours) throws SQLException;
+
+    /**
+     * Members having the skill at minProficiency or more, most proficient then least loaded first.
+     */
+    List<Member> findBySkill(int skillId, int minProficiency) throws SQLException;
+}
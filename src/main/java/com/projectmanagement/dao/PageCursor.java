@@ -0,0 +1,77 @@
+package com.projectmanagement.dao;
+
+import com.projectmanagement.model.Alert;
+import com.projectmanagement.model.Task;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a page, for keyset pagination.
+ *
+ * Both paged lists are ordered by an enum rank first (alert severity, task priority),
+ * then by a date and the id: alerts by (severity DESC, created_at DESC, id DESC),
+ * tasks by (priority DESC, deadline ASC, id ASC). The cursor keeps these three values
+ * and travels to the client as an opaque base64url string.
+ */
+public final class PageCursor {
+    private final String rank;
+    private final Long time;    // null : deadline absente
+    private final int id;
+
+    PageCursor(String rank, Long time, int id) {
+        this.rank = rank;
+        this.time = time;
+        this.id = id;
+    }
+
+    public static PageCursor after(Alert alert) {
+        return new PageCursor(alert.getSeverity().name(),
+                alert.getCreatedAt() != null ? alert.getCreatedAt().getTime() : null, alert.getId());
+    }
+
+    public static PageCursor after(Task task) {
+        return new PageCursor(task.getPriority().name(),
+                task.getDeadline() != null ? task.getDeadline().getTime() : null, task.getId());
+    }
+
+    String getRank() {
+        return rank;
+    }
+
+    Long getTime() {
+        return time;
+    }
+
+    int getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = rank + "|" + (time != null ? time : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param rankType enum the rank must belong to (Alert.Severity, Task.Priority)
+     * @throws IllegalArgumentException if the string is not a cursor produced by {@link #encode()},
+     *         or is an alert cursor without a time (created_at is never null)
+     */
+    public static <E extends Enum<E>> PageCursor decode(String encoded, Class<E> rankType) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            Enum.valueOf(rankType, parts[0]);
+            Long time = parts[1].isEmpty() ? null : Long.parseLong(parts[1]);
+            if (time == null && rankType == Alert.Severity.class) {
+                throw new IllegalArgumentException("Alert cursor without a time");
+            }
+            return new PageCursor(parts[0], time, Integer.parseInt(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + encoded, e);
+        }
+    }
+}
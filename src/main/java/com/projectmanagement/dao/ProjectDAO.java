@@ -7,22 +7,35 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
-public class ProjectDAO {
+public class ProjectDAO implements ProjectRepository {
     private static final Logger logger = LoggerFactory.getLogger(ProjectDAO.class);
 
+    // Colonnes de chaque champ pour ?fields=
+    private static final Map<String, String> COLUMNS = new LinkedHashMap<>();
+    static {
+        COLUMNS.put("id", "id");
+        COLUMNS.put("name", "name");
+        COLUMNS.put("description", "description");
+        COLUMNS.put("startDate", "start_date");
+        COLUMNS.put("deadline", "deadline");
+        COLUMNS.put("status", "status");
+    }
+    public static final Set<String> FIELDS = Collections.unmodifiableSet(COLUMNS.keySet());
+
+    private static final String INSERT_SQL =
+            "INSERT INTO projects (name, description, start_date, deadline) VALUES (?, ?, ?, ?)";
+
     public int create(Project project) throws SQLException {
-        String sql = "INSERT INTO projects (name, description, start_date, deadline) VALUES (?, ?, ?, ?)";
-        
         try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
             
-            stmt.setString(1, project.getName());
-            stmt.setString(2, project.getDescription());
-            stmt.setDate(3, project.getStartDate());
-            stmt.setDate(4, project.getDeadline());
-            // stmt.setString(5, project.getStatus().name());
+            bindInsert(stmt, project);
             
             int affectedRows = stmt.executeUpdate();
             if (affectedRows == 0) {
@@ -33,6 +46,7 @@ public class ProjectDAO {
                 if (generatedKeys.next()) {
                     int id = generatedKeys.getInt(1);
                     project.setId(id);
+                    EntityVersions.bump(EntityVersions.Collection.PROJECTS, id);
                     logger.info("Created project: {} with ID: {}", project.getName(), id);
                     return id;
                 } else {
@@ -45,7 +59,7 @@ public class ProjectDAO {
     public Project findById(int id) throws SQLException {
         String sql = "SELECT * FROM projects WHERE id = ?";
         
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, id);
@@ -59,15 +73,19 @@ public class ProjectDAO {
     }
 
     public List<Project> findAll() throws SQLException {
-        String sql = "SELECT * FROM projects ORDER BY created_at DESC";
+        return findAll(FieldSet.ALL);
+    }
+
+    public List<Project> findAll(FieldSet fields) throws SQLException {
+        String sql = "SELECT " + fields.columns(COLUMNS, "id") + " FROM projects ORDER BY created_at DESC";
         List<Project> projects = new ArrayList<>();
         
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
-                projects.add(extractProjectFromResultSet(rs));
+                projects.add(extractProjectFromResultSet(rs, fields));
             }
         }
         return projects;
@@ -90,22 +108,59 @@ public class ProjectDAO {
     //     return projects;
     // }
 
+    /**
+     * Inserts the projects with one JDBC batch on the caller's connection and sets their ids.
+     * The caller owns the transaction and records the version bumps once it commits.
+     */
+    public void createAll(Connection conn, List<Project> projects) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (Project project : projects) {
+                bindInsert(stmt, project);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                for (Project project : projects) {
+                    if (!generatedKeys.next()) {
+                        throw new SQLException("Creating projects failed, missing generated ID.");
+                    }
+                    project.setId(generatedKeys.getInt(1));
+                }
+            }
+        }
+    }
+
+    private void bindInsert(PreparedStatement stmt, Project project) throws SQLException {
+        stmt.setString(1, project.getName());
+        stmt.setString(2, project.getDescription());
+        stmt.setDate(3, project.getStartDate());
+        stmt.setDate(4, project.getDeadline());
+        // stmt.setString(5, project.getStatus().name());
+    }
+
     public void update(Project project) throws SQLException {
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            update(conn, project);
+            EntityVersions.bump(EntityVersions.Collection.PROJECTS, project.getId());
+            logger.info("Updated project: {}", project.getName());
+        }
+    }
+
+    /**
+     * @return false if no project has this id
+     */
+    public boolean update(Connection conn, Project project) throws SQLException {
         String sql = "UPDATE projects SET name = ?, description = ?, start_date = ?, " +
                     "deadline = ?, status = ? WHERE id = ?";
         
-        try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, project.getName());
             stmt.setString(2, project.getDescription());
             stmt.setDate(3, project.getStartDate());
             stmt.setDate(4, project.getDeadline());
             stmt.setString(5, project.getStatus().name());
             stmt.setInt(6, project.getId());
-            
-            stmt.executeUpdate();
-            logger.info("Updated project: {}", project.getName());
+            return stmt.executeUpdate() > 0;
         }
     }
 
@@ -122,25 +177,37 @@ public class ProjectDAO {
     // }
 
     public void delete(int id) throws SQLException {
-        String sql = "DELETE FROM projects WHERE id = ?";
-        
-        try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, id);
-            stmt.executeUpdate();
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            delete(conn, id);
+            // ON DELETE CASCADE sur les tâches et alertes du projet
+            EntityVersions.bump(EntityVersions.Collection.PROJECTS, id);
+            EntityVersions.bump(EntityVersions.Collection.TASKS, EntityVersions.Collection.ALERTS);
             logger.info("Deleted project with ID: {}", id);
         }
     }
 
+    /**
+     * @return false if no project has this id
+     */
+    public boolean delete(Connection conn, int id) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM projects WHERE id = ?")) {
+            stmt.setInt(1, id);
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
     private Project extractProjectFromResultSet(ResultSet rs) throws SQLException {
+        return extractProjectFromResultSet(rs, FieldSet.ALL);
+    }
+
+    private Project extractProjectFromResultSet(ResultSet rs, FieldSet fields) throws SQLException {
         Project project = new Project();
         project.setId(rs.getInt("id"));
-        project.setName(rs.getString("name"));
-        project.setDescription(rs.getString("description"));
-        project.setStartDate(rs.getDate("start_date"));
-        project.setDeadline(rs.getDate("deadline"));
-        project.setStatus(Project.ProjectStatus.valueOf(rs.getString("status")));
+        if (fields.includes("name")) project.setName(rs.getString("name"));
+        if (fields.includes("description")) project.setDescription(rs.getString("description"));
+        if (fields.includes("startDate")) project.setStartDate(rs.getDate("start_date"));
+        if (fields.includes("deadline")) project.setDeadline(rs.getDate("deadline"));
+        if (fields.includes("status")) project.setStatus(Project.ProjectStatus.valueOf(rs.getString("status")));
         // project.setCreatedAt(rs.getTimestamp("created_at"));
         // project.setUpdatedAt(rs.getTimestamp("updated_at"));
         return project;
@@ -0,0 +1,32 @@
+package com.projectmanagement.dao;
+
+import com.projectmanagement.model.Project;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Storage of projects. {@link ProjectDAO} is the JDBC implementation.
+ */
+public interface ProjectRepository {
+
+    int create(Project project) throws SQLException;
+
+    Project findById(int id) throws SQLException;
+
+    default List<Project> findAll() throws SQLException {
+        return findAll(FieldSet.ALL);
+    }
+
+    /**
+     * Projects, most recently created first.
+     */
+    List<Project> findAll(FieldSet fields) throws SQLException;
+
+    void update(Project project) throws SQLException;
+
+    /**
+     * Deletes the project with its tasks and alerts.
+     */
+    void delete(int id) throws SQLException;
+}
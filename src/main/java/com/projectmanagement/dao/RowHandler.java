@@ -0,0 +1,14 @@
+package com.projectmanagement.dao;
+
+import java.io.IOException;
+
+/**
+ * Receives rows one by one from the streaming DAO methods. Depending on the method, rows are
+ * handed over as the ResultSet is read (alerts) or chunk by chunk, once a chunk and its child
+ * rows are loaded (tasks, see {@link TaskDAO#streamByProject(int, FieldSet, RowHandler)}):
+ * a handler must not assume a cursor is still open.
+ */
+@FunctionalInterface
+public interface RowHandler<T> {
+    void handle(T row) throws IOException;
+}
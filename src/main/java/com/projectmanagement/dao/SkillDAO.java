@@ -9,7 +9,7 @@ import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 
-public class SkillDAO {
+public class SkillDAO implements SkillRepository {
     private static final Logger logger = LoggerFactory.getLogger(SkillDAO.class);
 
     public int create(Skill skill) throws SQLException {
@@ -30,6 +30,7 @@ public class SkillDAO {
                 if (generatedKeys.next()) {
                     int id = generatedKeys.getInt(1);
                     skill.setId(id);
+                    EntityVersions.bump(EntityVersions.Collection.SKILLS, id);
                     logger.info("Created skill: {} with ID: {}", skill.getName(), id);
                     return id;
                 } else {
@@ -42,7 +43,7 @@ public class SkillDAO {
     public Skill findById(int id) throws SQLException {
         String sql = "SELECT * FROM skills WHERE id = ?";
         
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, id);
@@ -58,7 +59,7 @@ public class SkillDAO {
     public Skill findByName(String name) throws SQLException {
         String sql = "SELECT * FROM skills WHERE name = ?";
         
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setString(1, name);
@@ -75,7 +76,7 @@ public class SkillDAO {
         String sql = "SELECT * FROM skills ORDER BY name";
         List<Skill> skills = new ArrayList<>();
         
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             
@@ -97,6 +98,7 @@ public class SkillDAO {
             stmt.setInt(3, skill.getId());
             
             stmt.executeUpdate();
+            EntityVersions.bump(EntityVersions.Collection.SKILLS, skill.getId());
             logger.info("Updated skill: {}", skill.getName());
         }
     }
@@ -109,6 +111,9 @@ public class SkillDAO {
             
             stmt.setInt(1, id);
             stmt.executeUpdate();
+            // ON DELETE CASCADE sur member_skills et task_skills
+            EntityVersions.bump(EntityVersions.Collection.SKILLS, id);
+            EntityVersions.bump(EntityVersions.Collection.MEMBERS, EntityVersions.Collection.TASKS);
             logger.info("Deleted skill with ID: {}", id);
         }
     }
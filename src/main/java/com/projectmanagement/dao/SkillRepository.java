@@ -0,0 +1,27 @@
+package com.projectmanagement.dao;
+
+import com.projectmanagement.model.Skill;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Storage of the skill catalogue. {@link SkillDAO} is the JDBC implementation.
+ */
+public interface SkillRepository {
+
+    int create(Skill skill) throws SQLException;
+
+    Skill findById(int id) throws SQLException;
+
+    Skill findByName(String name) throws SQLException;
+
+    /**
+     * Skills ordered by name.
+     */
+    List<Skill> findAll() throws SQLException;
+
+    void update(Skill skill) throws SQLException;
+
+    void delete(int id) throws SQLException;
+}
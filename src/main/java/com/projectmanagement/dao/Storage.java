@@ -0,0 +1,42 @@
+package com.projectmanagement.dao;
+
+import com.projectmanagement.util.UnitOfWork;
+
+import java.sql.SQLException;
+
+/**
+ * A storage backend: one repository per entity, plus a way to run several calls as one unit.
+ *
+ * Chosen with -Dstorage=jdbc (default, MySQL through DatabaseUtil) or -Dstorage=memory
+ * (everything in the JVM, lost on restart; for benchmarks, simulations and tests).
+ */
+public interface Storage {
+
+    MemberRepository members();
+
+    ProjectRepository projects();
+
+    TaskRepository tasks();
+
+    SkillRepository skills();
+
+    AlertRepository alerts();
+
+    /**
+     * Runs the work as one unit: a {@link UnitOfWork} for JDBC, exclusive access for the
+     * in-memory backend.
+     */
+    <T> T inTransaction(UnitOfWork.Work<T> work) throws SQLException;
+
+    static Storage fromSystemProperties() {
+        String name = System.getProperty("storage", "jdbc");
+        switch (name) {
+            case "jdbc":
+                return new JdbcStorage();
+            case "memory":
+                return new InMemoryStorage();
+            default:
+                throw new IllegalArgumentException("Unknown storage '" + name + "', expected jdbc or memory");
+        }
+    }
+}
@@ -5,36 +5,59 @@ import com.projectmanagement.model.TaskSkill;
 import com.projectmanagement.model.Skill;
 import com.projectmanagement.model.Member;
 import com.projectmanagement.util.DatabaseUtil;
+import com.projectmanagement.util.IntObjectMap;
+import com.projectmanagement.util.UnitOfWork;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
-public class TaskDAO {
+public class TaskDAO implements TaskRepository {
     private static final Logger logger = LoggerFactory.getLogger(TaskDAO.class);
 
+    // null tant que la présence des procédures d'affectation n'a pas été vérifiée
+    private volatile Boolean storedProcedures;
+
+    // Colonnes de chaque champ pour ?fields= (null : liste enfant chargée à part)
+    private static final Map<String, String> COLUMNS = new LinkedHashMap<>();
+    static {
+        COLUMNS.put("id", "t.id");
+        COLUMNS.put("projectId", "t.project_id");
+        COLUMNS.put("title", "t.title");
+        COLUMNS.put("description", "t.description");
+        COLUMNS.put("estimatedHours", "t.estimated_hours");
+        COLUMNS.put("priority", "t.priority");
+        COLUMNS.put("status", "t.status");
+        COLUMNS.put("startDate", "t.start_date");
+        COLUMNS.put("deadline", "t.deadline");
+        COLUMNS.put("assignedMember", "t.assigned_member_id, m.name as member_name");
+        COLUMNS.put("requiredSkills", null);
+        COLUMNS.put("dependencies", null);
+    }
+    public static final Set<String> FIELDS = Collections.unmodifiableSet(COLUMNS.keySet());
+
+    private static final String INSERT_SQL =
+            "INSERT INTO tasks (project_id, title, description, estimated_hours, priority, " +
+            "status, start_date, deadline, assigned_member_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String ADD_SKILL_SQL =
+            "INSERT INTO task_skills (task_id, skill_id, required_level) " +
+            "VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE required_level = ?";
+    private static final String ADD_DEPENDENCY_SQL =
+            "INSERT INTO task_dependencies (task_id, depends_on_task_id) VALUES (?, ?)";
+
     public int create(Task task) throws SQLException {
-        String sql = "INSERT INTO tasks (project_id, title, description, estimated_hours, priority, " +
-                    "status, start_date, deadline, assigned_member_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        
         try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
             
-            stmt.setInt(1, task.getProjectId());
-            stmt.setString(2, task.getTitle());
-            stmt.setString(3, task.getDescription());
-            stmt.setDouble(4, task.getEstimatedHours());
-            stmt.setString(5, task.getPriority().name());
-            stmt.setString(6, task.getStatus().name());
-            stmt.setDate(7, task.getStartDate());
-            stmt.setDate(8, task.getDeadline());
-            if (task.getAssignedMember() != null) {
-                stmt.setInt(9, task.getAssignedMember().getId());
-            } else {
-                stmt.setNull(9, Types.INTEGER);
-            }
+            bindInsert(stmt, task);
             
             int affectedRows = stmt.executeUpdate();
             if (affectedRows == 0) {
@@ -45,6 +68,7 @@ public class TaskDAO {
                 if (generatedKeys.next()) {
                     int id = generatedKeys.getInt(1);
                     task.setId(id);
+                    EntityVersions.bump(EntityVersions.Collection.TASKS, id);
                     logger.info("Created task: {} with ID: {}", task.getTitle(), id);
                     return id;
                 } else {
@@ -54,11 +78,82 @@ public class TaskDAO {
         }
     }
 
+    /**
+     * Inserts the tasks, and the required skills listed on them, with JDBC batches in a
+     * single transaction.
+     *
+     * @return the generated ids, in list order (also set on the tasks)
+     */
+    public int[] createAll(List<Task> tasks) throws SQLException {
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            Connection conn = DatabaseUtil.getConnection();
+            createAll(conn, tasks);
+            
+            int[] ids = new int[tasks.size()];
+            List<TaskSkill> requirements = new ArrayList<>();
+            for (int i = 0; i < ids.length; i++) {
+                Task task = tasks.get(i);
+                ids[i] = task.getId();
+                if (task.getRequiredSkills() != null) {
+                    for (TaskSkill requirement : task.getRequiredSkills()) {
+                        requirement.setTask(task);
+                        requirements.add(requirement);
+                    }
+                }
+                EntityVersions.bump(EntityVersions.Collection.TASKS, ids[i]);
+            }
+            if (!requirements.isEmpty()) {
+                addSkillRequirements(conn, requirements);
+            }
+            uow.commit();
+            logger.info("Created {} tasks with {} skill requirements", ids.length, requirements.size());
+            return ids;
+        }
+    }
+
+    /**
+     * Inserts the tasks with one JDBC batch on the caller's connection and sets their ids.
+     * The caller owns the transaction and records the version bumps once it commits.
+     */
+    public void createAll(Connection conn, List<Task> tasks) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (Task task : tasks) {
+                bindInsert(stmt, task);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                for (Task task : tasks) {
+                    if (!generatedKeys.next()) {
+                        throw new SQLException("Creating tasks failed, missing generated ID.");
+                    }
+                    task.setId(generatedKeys.getInt(1));
+                }
+            }
+        }
+    }
+
+    private void bindInsert(PreparedStatement stmt, Task task) throws SQLException {
+        stmt.setInt(1, task.getProjectId());
+        stmt.setString(2, task.getTitle());
+        stmt.setString(3, task.getDescription());
+        stmt.setDouble(4, task.getEstimatedHours());
+        stmt.setString(5, task.getPriority().name());
+        stmt.setString(6, task.getStatus().name());
+        stmt.setDate(7, task.getStartDate());
+        stmt.setDate(8, task.getDeadline());
+        if (task.getAssignedMember() != null) {
+            stmt.setInt(9, task.getAssignedMember().getId());
+        } else {
+            stmt.setNull(9, Types.INTEGER);
+        }
+    }
+
     public Task findById(int id) throws SQLException {
         String sql = "SELECT t.*, m.name as member_name FROM tasks t " +
                     "LEFT JOIN members m ON t.assigned_member_id = m.id WHERE t.id = ?";
         
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, id);
@@ -80,22 +175,125 @@ public class TaskDAO {
                     "WHERE t.project_id = ? ORDER BY t.priority DESC, t.deadline ASC";
         List<Task> tasks = new ArrayList<>();
         
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, projectId);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Task task = extractTaskFromResultSet(rs);
-                    task.setRequiredSkills(findTaskSkills(task.getId()));
-                    task.setDependencies(findTaskDependencies(task.getId()));
-                    tasks.add(task);
+                    tasks.add(extractTaskFromResultSet(rs));
                 }
             }
+            loadChildren(conn, tasks, FieldSet.ALL);
         }
         return tasks;
     }
 
+    /**
+     * Same rows as {@link #findByProject(int)}, handed to the handler as they are read
+     * instead of being collected into a list.
+     */
+    public void streamByProject(int projectId, RowHandler<Task> handler) throws SQLException, IOException {
+        streamByProject(projectId, FieldSet.ALL, handler);
+    }
+
+    /**
+     * Same, reading only the columns, joins and child rows of the requested fields.
+     * Fields left out keep their default value in the handed tasks.
+     *
+     * Rows are read in keyset chunks of IN_LIST_CHUNK tasks (see {@link #streamPageByProject}),
+     * each followed by its child rows, all on one connection: a streaming ResultSet would keep
+     * that connection busy, and borrowing a second one for the children while holding the
+     * first can exhaust the pool.
+     */
+    public void streamByProject(int projectId, FieldSet fields, RowHandler<Task> handler) throws SQLException, IOException {
+        try (Connection conn = DatabaseUtil.getReadConnection()) {
+            List<Task> chunk = new ArrayList<>();
+            PageCursor cursor = null;
+            do {
+                cursor = readPageByProject(conn, projectId, fields, cursor, DatabaseUtil.IN_LIST_CHUNK, chunk);
+                loadChildren(conn, chunk, fields);
+                for (Task task : chunk) {
+                    handler.handle(task);
+                }
+                chunk.clear();
+            } while (cursor != null);
+        }
+    }
+
+    /**
+     * One page of {@link #findByProject(int)}, in the same order (id ASC breaks ties), starting
+     * after the cursor, or at the top if it is null.
+     *
+     * Like {@link AlertDAO#streamPage}, priorities are walked one at a time so that each query
+     * is a range on the (project_id, priority, deadline, id) index. Tasks without a deadline
+     * come first within a priority, as in MySQL's ascending order.
+     *
+     * @return cursor of the next page, null on the last page
+     */
+    public PageCursor streamPageByProject(int projectId, FieldSet fields, PageCursor after, int limit,
+                                          RowHandler<Task> handler) throws SQLException, IOException {
+        List<Task> page = new ArrayList<>();
+        PageCursor next;
+        try (Connection conn = DatabaseUtil.getReadConnection()) {
+            next = readPageByProject(conn, projectId, fields, after, limit, page);
+            loadChildren(conn, page, fields);
+        }
+        for (Task task : page) {
+            handler.handle(task);
+        }
+        return next;
+    }
+
+    /**
+     * Reads the task rows of one page into the list, without their child rows.
+     */
+    private PageCursor readPageByProject(Connection conn, int projectId, FieldSet fields, PageCursor after, int limit,
+                                         List<Task> page) throws SQLException {
+        Task.Priority[] priorities = Task.Priority.values();
+        int start = after != null ? Task.Priority.valueOf(after.getRank()).ordinal() : priorities.length - 1;
+        boolean more = false;
+
+        for (int pr = start; pr >= 0 && !more; pr--) {
+            boolean resume = after != null && pr == start;
+            String range = "";
+            if (resume) {
+                range = after.getTime() != null
+                        ? "AND (t.deadline > ? OR (t.deadline = ? AND t.id > ?)) "
+                        : "AND (t.deadline IS NOT NULL OR t.id > ?) ";
+            }
+            String sql = selectFrom(fields) +
+                        "WHERE t.project_id = ? AND t.priority = ? " + range +
+                        "ORDER BY t.deadline ASC, t.id ASC LIMIT ?";
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                int i = 1;
+                stmt.setInt(i++, projectId);
+                stmt.setString(i++, priorities[pr].name());
+                if (resume) {
+                    if (after.getTime() != null) {
+                        Date deadline = new Date(after.getTime());
+                        stmt.setDate(i++, deadline);
+                        stmt.setDate(i++, deadline);
+                    }
+                    stmt.setInt(i++, after.getId());
+                }
+                stmt.setInt(i, limit + 1 - page.size());
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        if (page.size() == limit) {
+                            more = true;
+                            break;
+                        }
+                        page.add(extractTaskFromResultSet(rs, fields));
+                    }
+                }
+            }
+        }
+        return more ? PageCursor.after(page.get(page.size() - 1)) : null;
+    }
+
     public List<Task> findUnassignedByProject(int projectId) throws SQLException {
         String sql = "SELECT t.*, m.name as member_name FROM tasks t " +
                     "LEFT JOIN members m ON t.assigned_member_id = m.id " +
@@ -103,18 +301,16 @@ public class TaskDAO {
                     "ORDER BY t.priority DESC, t.deadline ASC";
         List<Task> tasks = new ArrayList<>();
         
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, projectId);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Task task = extractTaskFromResultSet(rs);
-                    task.setRequiredSkills(findTaskSkills(task.getId()));
-                    task.setDependencies(findTaskDependencies(task.getId()));
-                    tasks.add(task);
+                    tasks.add(extractTaskFromResultSet(rs));
                 }
             }
+            loadChildren(conn, tasks, FieldSet.ALL);
         }
         return tasks;
     }
@@ -126,19 +322,17 @@ public class TaskDAO {
                     "ORDER BY t.priority DESC, t.deadline ASC";
         List<Task> tasks = new ArrayList<>();
         
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, projectId);
             stmt.setString(2, status.name());
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Task task = extractTaskFromResultSet(rs);
-                    task.setRequiredSkills(findTaskSkills(task.getId()));
-                    task.setDependencies(findTaskDependencies(task.getId()));
-                    tasks.add(task);
+                    tasks.add(extractTaskFromResultSet(rs));
                 }
             }
+            loadChildren(conn, tasks, FieldSet.ALL);
         }
         return tasks;
     }
@@ -149,30 +343,37 @@ public class TaskDAO {
                     "WHERE t.assigned_member_id = ? ORDER BY t.deadline ASC";
         List<Task> tasks = new ArrayList<>();
         
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, memberId);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Task task = extractTaskFromResultSet(rs);
-                    task.setRequiredSkills(findTaskSkills(task.getId()));
-                    task.setDependencies(findTaskDependencies(task.getId()));
-                    tasks.add(task);
+                    tasks.add(extractTaskFromResultSet(rs));
                 }
             }
+            loadChildren(conn, tasks, FieldSet.ALL);
         }
         return tasks;
     }
 
     public void update(Task task) throws SQLException {
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            update(conn, task);
+            EntityVersions.bump(EntityVersions.Collection.TASKS, task.getId());
+            logger.info("Updated task: {}", task.getTitle());
+        }
+    }
+
+    /**
+     * @return false if no task has this id
+     */
+    public boolean update(Connection conn, Task task) throws SQLException {
         String sql = "UPDATE tasks SET title = ?, description = ?, estimated_hours = ?, " +
                     "priority = ?, status = ?, start_date = ?, deadline = ?, assigned_member_id = ? " +
                     "WHERE id = ?";
         
-        try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, task.getTitle());
             stmt.setString(2, task.getDescription());
             stmt.setDouble(3, task.getEstimatedHours());
@@ -186,9 +387,7 @@ public class TaskDAO {
                 stmt.setNull(8, Types.INTEGER);
             }
             stmt.setInt(9, task.getId());
-            
-            stmt.executeUpdate();
-            logger.info("Updated task: {}", task.getTitle());
+            return stmt.executeUpdate() > 0;
         }
     }
 
@@ -201,136 +400,52 @@ public class TaskDAO {
             stmt.setInt(1, memberId);
             stmt.setInt(2, taskId);
             stmt.executeUpdate();
+            EntityVersions.bump(EntityVersions.Collection.TASKS, taskId);
             logger.info("Assigned task {} to member {}", taskId, memberId);
         }
     }
     
+    /**
+     * One UPDATE batch in a single transaction (joins the current unit of work if any).
+     */
+    public void assignAll(Map<Integer, Integer> assignees) throws SQLException {
+        if (assignees.isEmpty()) {
+            return;
+        }
+        String sql = "UPDATE tasks SET assigned_member_id = ? WHERE id = ?";
+        
+        try (UnitOfWork uow = UnitOfWork.begin();
+             PreparedStatement stmt = DatabaseUtil.getConnection().prepareStatement(sql)) {
+            
+            for (Map.Entry<Integer, Integer> e : assignees.entrySet()) {
+                stmt.setInt(1, e.getValue());
+                stmt.setInt(2, e.getKey());
+                stmt.addBatch();
+                EntityVersions.bump(EntityVersions.Collection.TASKS, e.getKey());
+            }
+            stmt.executeBatch();
+            uow.commit();
+            logger.info("Assigned {} tasks", assignees.size());
+        }
+    }
+    
     /**
      * Assign a task to a member manually (with competence check, workload update and alerts)
      */
-    public void assignTaskToMember(int taskId, int memberId) throws SQLException {
+    public AssignmentResult assignTaskToMember(int taskId, int memberId) throws SQLException {
         Connection conn = null;
         try {
             conn = DatabaseUtil.getConnection();
             conn.setAutoCommit(false);
             
-            // 1. Get task details and member name
-            String getTaskSql = "SELECT t.estimated_hours, m.name as member_name " +
-                               "FROM tasks t, members m WHERE t.id = ? AND m.id = ?";
-            double taskHours = 0;
-            String memberName = "";
-            
-            try (PreparedStatement stmt = conn.prepareStatement(getTaskSql)) {
-                stmt.setInt(1, taskId);
-                stmt.setInt(2, memberId);
-                try (ResultSet rs = stmt.executeQuery()) {
-                    if (rs.next()) {
-                        taskHours = rs.getDouble("estimated_hours");
-                        memberName = rs.getString("member_name");
-                    } else {
-                        throw new SQLException("Task or member not found");
-                    }
-                }
-            }
-            
-            // 2. Check member competence for required skills
-            String checkSkillsSql = 
-                "SELECT ts.skill_id, ts.required_level, " +
-                "COALESCE(ms.proficiency_level, 0) as member_level " +
-                "FROM task_skills ts " +
-                "LEFT JOIN member_skills ms ON ts.skill_id = ms.skill_id AND ms.member_id = ? " +
-                "WHERE ts.task_id = ?";
-            
-            int totalSkills = 0;
-            int matchedSkills = 0;
-            StringBuilder missingSkills = new StringBuilder();
-            
-            try (PreparedStatement stmt = conn.prepareStatement(checkSkillsSql)) {
-                stmt.setInt(1, memberId);
-                stmt.setInt(2, taskId);
-                try (ResultSet rs = stmt.executeQuery()) {
-                    while (rs.next()) {
-                        totalSkills++;
-                        int requiredLevel = rs.getInt("required_level");
-                        int memberLevel = rs.getInt("member_level");
-                        
-                        if (memberLevel >= requiredLevel) {
-                            matchedSkills++;
-                        } else {
-                            if (missingSkills.length() > 0) missingSkills.append(", ");
-                            missingSkills.append("Skill #").append(rs.getInt("skill_id"));
-                        }
-                    }
-                }
-            }
-            
-            // Calculate competence score
-            double competenceScore = totalSkills > 0 ? (double) matchedSkills / totalSkills : 1.0;
-            
-            // Refuse assignment if competence < 0.6
-            if (competenceScore < 0.6) {
-                throw new SQLException(
-                    String.format("INCOMPETENT: %s n'est pas assez compétent pour cette tâche (score: %.0f%%).",
-                                memberName, competenceScore * 100)
-                );
-            }
-            
-            // 3. Update task assignment
-            String updateTaskSql = "UPDATE tasks SET assigned_member_id = ?, updated_at = NOW() WHERE id = ?";
-            try (PreparedStatement stmt = conn.prepareStatement(updateTaskSql)) {
-                stmt.setInt(1, memberId);
-                stmt.setInt(2, taskId);
-                int affectedRows = stmt.executeUpdate();
-                if (affectedRows == 0) {
-                    throw new SQLException("Assigning task failed, task not found.");
-                }
-            }
-            
-            // 4. Update member workload
-            String updateWorkloadSql = "UPDATE members SET current_workload = current_workload + ? WHERE id = ?";
-            try (PreparedStatement stmt = conn.prepareStatement(updateWorkloadSql)) {
-                stmt.setDouble(1, taskHours);
-                stmt.setInt(2, memberId);
-                stmt.executeUpdate();
-            }
-            
-            // 5. Check if member is overloaded and create alert
-            String checkOverloadSql = "SELECT name, current_workload, weekly_availability FROM members WHERE id = ?";
-            try (PreparedStatement stmt = conn.prepareStatement(checkOverloadSql)) {
-                stmt.setInt(1, memberId);
-                try (ResultSet rs = stmt.executeQuery()) {
-                    if (rs.next()) {
-                        String name = rs.getString("name");
-                        double currentWorkload = rs.getDouble("current_workload");
-                        int weeklyAvailability = rs.getInt("weekly_availability");
-                        
-                        if (currentWorkload > weeklyAvailability) {
-                            double overloadPct = (currentWorkload / weeklyAvailability) * 100;
-                            
-                            // Create overload alert
-                            String alertSql = "INSERT INTO alerts (type, severity, title, message, member_id, is_read) " +
-                                            "VALUES ('OVERLOAD', ?, ?, ?, ?, false)";
-                            try (PreparedStatement alertStmt = conn.prepareStatement(alertSql)) {
-                                String severity = overloadPct > 150 ? "CRITICAL" : "HIGH";
-                                String title = "Member Overloaded: " + name;
-                                String message = String.format("%s is overloaded at %.1f%% capacity (%.1f/%.1f hours)",
-                                    name, overloadPct, currentWorkload, (double)weeklyAvailability);
-                                
-                                alertStmt.setString(1, severity);
-                                alertStmt.setString(2, title);
-                                alertStmt.setString(3, message);
-                                alertStmt.setInt(4, memberId);
-                                alertStmt.executeUpdate();
-                                
-                                logger.info("Created overload alert for member {}", name);
-                            }
-                        }
-                    }
-                }
-            }
+            AssignmentResult result = assignTaskToMember(conn, taskId, memberId);
             
             conn.commit();
+            EntityVersions.bump(EntityVersions.Collection.TASKS, taskId);
+            EntityVersions.bump(EntityVersions.Collection.MEMBERS, memberId);
+            EntityVersions.bump(EntityVersions.Collection.ALERTS);
             logger.info("Manually assigned task {} to member {} with workload update", taskId, memberId);
+            return result;
             
         } catch (SQLException e) {
             if (conn != null) {
@@ -354,58 +469,139 @@ public class TaskDAO {
     }
 
     /**
-     * Unassign a task from its member (only if status is TODO) with workload update
+     * Steps of {@link #assignTaskToMember(int, int)} on the caller's connection and transaction.
+     *
+     * With the assign_task procedure installed (database/migrations/005) this is a single
+     * CALL, so the task and member row locks are held for one round trip instead of five.
      */
-    public void unassignTask(int taskId) throws SQLException {
-        Connection conn = null;
-        try {
-            conn = DatabaseUtil.getConnection();
-            conn.setAutoCommit(false);
-            
-            // 1. Get task details and current assignment
-            String getTaskSql = "SELECT estimated_hours, assigned_member_id FROM tasks WHERE id = ? AND status = 'TODO'";
-            double taskHours = 0;
-            Integer memberId = null;
-            
-            try (PreparedStatement stmt = conn.prepareStatement(getTaskSql)) {
+    public AssignmentResult assignTaskToMember(Connection conn, int taskId, int memberId) throws SQLException {
+        if (hasStoredProcedures(conn)) {
+            try (CallableStatement stmt = conn.prepareCall("{call assign_task(?, ?)}")) {
                 stmt.setInt(1, taskId);
-                try (ResultSet rs = stmt.executeQuery()) {
-                    if (rs.next()) {
-                        taskHours = rs.getDouble("estimated_hours");
-                        memberId = rs.getInt("assigned_member_id");
-                        if (rs.wasNull()) {
-                            memberId = null;
-                        }
-                    } else {
-                        throw new SQLException("Cannot unassign task: either task not found or status is not TODO");
-                    }
+                stmt.setInt(2, memberId);
+                return readAssignmentResult(stmt);
+            }
+        }
+
+        // 1. Task hours, member name and competence, in one query
+        String getTaskSql = "SELECT t.estimated_hours, m.name as member_name, " +
+                           "(SELECT COUNT(*) FROM task_skills ts WHERE ts.task_id = t.id) as total_skills, " +
+                           "(SELECT COUNT(*) FROM task_skills ts " +
+                           " JOIN member_skills ms ON ms.skill_id = ts.skill_id AND ms.member_id = m.id " +
+                           " WHERE ts.task_id = t.id AND ms.proficiency_level >= ts.required_level) as matched_skills " +
+                           "FROM tasks t, members m WHERE t.id = ? AND m.id = ?";
+        double taskHours;
+        String memberName;
+        int totalSkills;
+        int matchedSkills;
+        
+        try (PreparedStatement stmt = conn.prepareStatement(getTaskSql)) {
+            stmt.setInt(1, taskId);
+            stmt.setInt(2, memberId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    taskHours = rs.getDouble("estimated_hours");
+                    memberName = rs.getString("member_name");
+                    totalSkills = rs.getInt("total_skills");
+                    matchedSkills = rs.getInt("matched_skills");
+                } else {
+                    throw new SQLException("Task or member not found");
                 }
             }
-            
-            if (memberId == null) {
-                throw new SQLException("Task is not assigned to anyone");
+        }
+        
+        // Calculate competence score
+        double competenceScore = totalSkills > 0 ? (double) matchedSkills / totalSkills : 1.0;
+        
+        // Refuse assignment if competence < 0.6
+        if (competenceScore < 0.6) {
+            throw new SQLException(
+                String.format("INCOMPETENT: %s n'est pas assez compétent pour cette tâche (score: %.0f%%).",
+                            memberName, competenceScore * 100)
+            );
+        }
+        
+        // 2. Update task assignment
+        String updateTaskSql = "UPDATE tasks SET assigned_member_id = ?, updated_at = NOW() WHERE id = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(updateTaskSql)) {
+            stmt.setInt(1, memberId);
+            stmt.setInt(2, taskId);
+            int affectedRows = stmt.executeUpdate();
+            if (affectedRows == 0) {
+                throw new SQLException("Assigning task failed, task not found.");
             }
-            
-            // 2. Update task to remove assignment
-            String updateTaskSql = "UPDATE tasks SET assigned_member_id = NULL, updated_at = NOW() WHERE id = ?";
-            try (PreparedStatement stmt = conn.prepareStatement(updateTaskSql)) {
-                stmt.setInt(1, taskId);
-                int affectedRows = stmt.executeUpdate();
-                if (affectedRows == 0) {
-                    throw new SQLException("Cannot unassign task");
+        }
+        
+        // 3. Update member workload
+        String updateWorkloadSql = "UPDATE members SET current_workload = current_workload + ? WHERE id = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(updateWorkloadSql)) {
+            stmt.setDouble(1, taskHours);
+            stmt.setInt(2, memberId);
+            stmt.executeUpdate();
+        }
+        
+        // 4. Check if member is overloaded and create alert
+        String checkOverloadSql = "SELECT name, current_workload, weekly_availability FROM members WHERE id = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(checkOverloadSql)) {
+            stmt.setInt(1, memberId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("Task or member not found");
                 }
+                String name = rs.getString("name");
+                double currentWorkload = rs.getDouble("current_workload");
+                int weeklyAvailability = rs.getInt("weekly_availability");
+                
+                if (currentWorkload > weeklyAvailability) {
+                    double overloadPct = (currentWorkload / weeklyAvailability) * 100;
+                    
+                    // Create overload alert
+                    String alertSql = "INSERT INTO alerts (type, severity, title, message, member_id, is_read) " +
+                                    "VALUES ('OVERLOAD', ?, ?, ?, ?, false)";
+                    try (PreparedStatement alertStmt = conn.prepareStatement(alertSql)) {
+                        String severity = overloadPct > 150 ? "CRITICAL" : "HIGH";
+                        String title = "Member Overloaded: " + name;
+                        String message = String.format("%s is overloaded at %.1f%% capacity (%.1f/%.1f hours)",
+                            name, overloadPct, currentWorkload, (double)weeklyAvailability);
+                        
+                        alertStmt.setString(1, severity);
+                        alertStmt.setString(2, title);
+                        alertStmt.setString(3, message);
+                        alertStmt.setInt(4, memberId);
+                        alertStmt.executeUpdate();
+                        
+                        logger.info("Created overload alert for member {}", name);
+                    }
+                }
+                return new AssignmentResult(memberId, competenceScore, currentWorkload, weeklyAvailability);
             }
+        }
+    }
+
+    /**
+     * Unassign a task from its member (only if status is TODO) with workload update
+     */
+    public AssignmentResult unassignTask(int taskId) throws SQLException {
+        Connection conn = null;
+        try {
+            conn = DatabaseUtil.getConnection();
+            conn.setAutoCommit(false);
             
-            // 3. Update member workload (subtract hours)
-            String updateWorkloadSql = "UPDATE members SET current_workload = GREATEST(0, current_workload - ?) WHERE id = ?";
-            try (PreparedStatement stmt = conn.prepareStatement(updateWorkloadSql)) {
-                stmt.setDouble(1, taskHours);
-                stmt.setInt(2, memberId);
-                stmt.executeUpdate();
+            AssignmentResult result;
+            if (hasStoredProcedures(conn)) {
+                try (CallableStatement stmt = conn.prepareCall("{call unassign_task(?)}")) {
+                    stmt.setInt(1, taskId);
+                    result = readAssignmentResult(stmt);
+                }
+            } else {
+                result = unassignTask(conn, taskId);
             }
             
             conn.commit();
-            logger.info("Unassigned task {} and updated workload for member {}", taskId, memberId);
+            EntityVersions.bump(EntityVersions.Collection.TASKS, taskId);
+            EntityVersions.bump(EntityVersions.Collection.MEMBERS, result.getMemberId());
+            logger.info("Unassigned task {} and updated workload for member {}", taskId, result.getMemberId());
+            return result;
             
         } catch (SQLException e) {
             if (conn != null) {
@@ -428,6 +624,92 @@ public class TaskDAO {
         }
     }
 
+    private AssignmentResult unassignTask(Connection conn, int taskId) throws SQLException {
+        // 1. Get task details and current assignment
+        String getTaskSql = "SELECT estimated_hours, assigned_member_id FROM tasks WHERE id = ? AND status = 'TODO'";
+        double taskHours = 0;
+        Integer memberId = null;
+        
+        try (PreparedStatement stmt = conn.prepareStatement(getTaskSql)) {
+            stmt.setInt(1, taskId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    taskHours = rs.getDouble("estimated_hours");
+                    memberId = rs.getInt("assigned_member_id");
+                    if (rs.wasNull()) {
+                        memberId = null;
+                    }
+                } else {
+                    throw new SQLException("Cannot unassign task: either task not found or status is not TODO");
+                }
+            }
+        }
+        
+        if (memberId == null) {
+            throw new SQLException("Task is not assigned to anyone");
+        }
+        
+        // 2. Update task to remove assignment
+        String updateTaskSql = "UPDATE tasks SET assigned_member_id = NULL, updated_at = NOW() WHERE id = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(updateTaskSql)) {
+            stmt.setInt(1, taskId);
+            int affectedRows = stmt.executeUpdate();
+            if (affectedRows == 0) {
+                throw new SQLException("Cannot unassign task");
+            }
+        }
+        
+        // 3. Update member workload (subtract hours)
+        String updateWorkloadSql = "UPDATE members SET current_workload = GREATEST(0, current_workload - ?) WHERE id = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(updateWorkloadSql)) {
+            stmt.setDouble(1, taskHours);
+            stmt.setInt(2, memberId);
+            stmt.executeUpdate();
+        }
+        
+        // 4. New workload, for the response
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT current_workload, weekly_availability FROM members WHERE id = ?")) {
+            stmt.setInt(1, memberId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return new AssignmentResult(memberId, null, rs.getDouble("current_workload"), rs.getInt("weekly_availability"));
+            }
+        }
+    }
+
+    /**
+     * True when assign_task and unassign_task are installed; checked once per DAO.
+     */
+    private boolean hasStoredProcedures(Connection conn) throws SQLException {
+        Boolean available = storedProcedures;
+        if (available == null) {
+            Set<String> names = new HashSet<>();
+            try (ResultSet rs = conn.getMetaData().getProcedures(conn.getCatalog(), null, "%assign_task")) {
+                while (rs.next()) {
+                    names.add(rs.getString("PROCEDURE_NAME").toLowerCase());
+                }
+            }
+            available = names.contains("assign_task") && names.contains("unassign_task");
+            storedProcedures = available;
+            logger.info("Manual assignment uses {}", available
+                    ? "the assign_task/unassign_task procedures" : "one statement per step (procedures not installed)");
+        }
+        return available;
+    }
+
+    // Une ligne : member_id, competence_score (NULL pour unassign), current_workload, weekly_availability
+    private static AssignmentResult readAssignmentResult(CallableStatement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery()) {
+            if (!rs.next()) {
+                throw new SQLException("Procedure returned no result");
+            }
+            double score = rs.getDouble("competence_score");
+            return new AssignmentResult(rs.getInt("member_id"), rs.wasNull() ? null : score,
+                    rs.getDouble("current_workload"), rs.getInt("weekly_availability"));
+        }
+    }
+
     public void updateStatus(int taskId, Task.TaskStatus status) throws SQLException {
         String sql = "UPDATE tasks SET status = ? WHERE id = ?";
         
@@ -437,45 +719,93 @@ public class TaskDAO {
             stmt.setString(1, status.name());
             stmt.setInt(2, taskId);
             stmt.executeUpdate();
+            EntityVersions.bump(EntityVersions.Collection.TASKS, taskId);
         }
     }
 
     public void delete(int id) throws SQLException {
-        String sql = "DELETE FROM tasks WHERE id = ?";
-        
-        try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, id);
-            stmt.executeUpdate();
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            delete(conn, id);
+            EntityVersions.bump(EntityVersions.Collection.TASKS, id);
+            EntityVersions.bump(EntityVersions.Collection.ALERTS);
             logger.info("Deleted task with ID: {}", id);
         }
     }
 
+    /**
+     * @return false if no task has this id
+     */
+    public boolean delete(Connection conn, int id) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM tasks WHERE id = ?")) {
+            stmt.setInt(1, id);
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
     public void addSkillRequirement(int taskId, int skillId, int requiredLevel) throws SQLException {
-        String sql = "INSERT INTO task_skills (task_id, skill_id, required_level) " +
-                    "VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE required_level = ?";
-        
         try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(ADD_SKILL_SQL)) {
             
             stmt.setInt(1, taskId);
             stmt.setInt(2, skillId);
             stmt.setInt(3, requiredLevel);
             stmt.setInt(4, requiredLevel);
             stmt.executeUpdate();
+            EntityVersions.bump(EntityVersions.Collection.TASKS, taskId);
         }
     }
 
     public void addDependency(int taskId, int dependsOnTaskId) throws SQLException {
-        String sql = "INSERT INTO task_dependencies (task_id, depends_on_task_id) VALUES (?, ?)";
-        
         try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(ADD_DEPENDENCY_SQL)) {
             
             stmt.setInt(1, taskId);
             stmt.setInt(2, dependsOnTaskId);
             stmt.executeUpdate();
+            EntityVersions.bump(EntityVersions.Collection.TASKS, taskId);
+        }
+    }
+
+    /**
+     * Adds or updates several skill requirements with one JDBC batch, in a single transaction.
+     */
+    public void addSkillRequirements(List<TaskSkill> requirements) throws SQLException {
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            addSkillRequirements(DatabaseUtil.getConnection(), requirements);
+            for (TaskSkill requirement : requirements) {
+                EntityVersions.bump(EntityVersions.Collection.TASKS, requirement.getTask().getId());
+            }
+            uow.commit();
+        }
+    }
+
+    /**
+     * Adds or updates several skill requirements with one JDBC batch on the caller's connection.
+     */
+    public void addSkillRequirements(Connection conn, List<TaskSkill> requirements) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(ADD_SKILL_SQL)) {
+            for (TaskSkill requirement : requirements) {
+                stmt.setInt(1, requirement.getTask().getId());
+                stmt.setInt(2, requirement.getSkill().getId());
+                stmt.setInt(3, requirement.getRequiredLevel());
+                stmt.setInt(4, requirement.getRequiredLevel());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * Adds several dependencies, given as {taskId, dependsOnTaskId} pairs, with one JDBC batch.
+     */
+    public void addDependencies(Connection conn, List<int[]> dependencies) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(ADD_DEPENDENCY_SQL)) {
+            for (int[] dependency : dependencies) {
+                stmt.setInt(1, dependency[0]);
+                stmt.setInt(2, dependency[1]);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
         }
     }
 
@@ -484,38 +814,42 @@ public class TaskDAO {
                     "JOIN skills s ON ts.skill_id = s.id WHERE ts.task_id = ?";
         List<TaskSkill> skills = new ArrayList<>();
         
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, taskId);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    TaskSkill skill = new TaskSkill();
-                    
-                    // Initialiser l'objet Task
-                    Task task = new Task();
-                    task.setId(rs.getInt("task_id"));
-                    skill.setTask(task);
-                    
-                    // Initialiser l'objet Skill
-                    Skill skillObj = new Skill();
-                    skillObj.setId(rs.getInt("skill_id"));
-                    skillObj.setName(rs.getString("skill_name"));
-                    skill.setSkill(skillObj);
-                    
-                    skill.setRequiredLevel(rs.getInt("required_level"));
-                    skills.add(skill);
+                    skills.add(extractTaskSkillFromResultSet(rs));
                 }
             }
         }
         return skills;
     }
 
+    private TaskSkill extractTaskSkillFromResultSet(ResultSet rs) throws SQLException {
+        TaskSkill skill = new TaskSkill();
+        
+        // Initialiser l'objet Task
+        Task task = new Task();
+        task.setId(rs.getInt("task_id"));
+        skill.setTask(task);
+        
+        // Initialiser l'objet Skill
+        Skill skillObj = new Skill();
+        skillObj.setId(rs.getInt("skill_id"));
+        skillObj.setName(rs.getString("skill_name"));
+        skill.setSkill(skillObj);
+        
+        skill.setRequiredLevel(rs.getInt("required_level"));
+        return skill;
+    }
+
     public List<Integer> findTaskDependencies(int taskId) throws SQLException {
         String sql = "SELECT depends_on_task_id FROM task_dependencies WHERE task_id = ?";
         List<Integer> dependencies = new ArrayList<>();
         
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, taskId);
@@ -528,25 +862,87 @@ public class TaskDAO {
         return dependencies;
     }
 
+    // priority et deadline sont toujours lues : ce sont les clés de tri et du curseur de page
+    private String selectFrom(FieldSet fields) {
+        return "SELECT " + fields.columns(COLUMNS, "t.id", "t.priority", "t.deadline") + " FROM tasks t " +
+               (fields.includes("assignedMember") ? "LEFT JOIN members m ON t.assigned_member_id = m.id " : "");
+    }
+
+    /**
+     * Fills the skills and dependencies of the tasks (those requested) with set-based queries
+     * on the given connection: one query per child table and per IN_LIST_CHUNK tasks,
+     * instead of two queries and two pooled connections per task.
+     */
+    private void loadChildren(Connection conn, List<Task> tasks, FieldSet fields) throws SQLException {
+        boolean skills = fields.includes("requiredSkills");
+        boolean dependencies = fields.includes("dependencies");
+        if (tasks.isEmpty() || (!skills && !dependencies)) {
+            return;
+        }
+        IntObjectMap<Task> byId = new IntObjectMap<>(tasks.size());
+        for (Task task : tasks) {
+            byId.put(task.getId(), task);
+            if (skills) task.setRequiredSkills(new ArrayList<>());
+            if (dependencies) task.setDependencies(new ArrayList<>());
+        }
+        
+        int[] ids = byId.keys();
+        for (int from = 0; from < ids.length; from += DatabaseUtil.IN_LIST_CHUNK) {
+            int to = Math.min(ids.length, from + DatabaseUtil.IN_LIST_CHUNK);
+            String in = DatabaseUtil.placeholders(to - from);
+            
+            if (skills) {
+                String sql = "SELECT ts.*, s.name as skill_name FROM task_skills ts " +
+                            "JOIN skills s ON ts.skill_id = s.id WHERE ts.task_id IN (" + in + ")";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    DatabaseUtil.setInts(stmt, ids, from, to);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            TaskSkill skill = extractTaskSkillFromResultSet(rs);
+                            byId.get(skill.getTask().getId()).getRequiredSkills().add(skill);
+                        }
+                    }
+                }
+            }
+            if (dependencies) {
+                String sql = "SELECT task_id, depends_on_task_id FROM task_dependencies WHERE task_id IN (" + in + ")";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    DatabaseUtil.setInts(stmt, ids, from, to);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            byId.get(rs.getInt("task_id")).getDependencies().add(rs.getInt("depends_on_task_id"));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     private Task extractTaskFromResultSet(ResultSet rs) throws SQLException {
+        return extractTaskFromResultSet(rs, FieldSet.ALL);
+    }
+
+    private Task extractTaskFromResultSet(ResultSet rs, FieldSet fields) throws SQLException {
         Task task = new Task();
         task.setId(rs.getInt("id"));
-        task.setProjectId(rs.getInt("project_id"));
-        task.setTitle(rs.getString("title"));
-        task.setDescription(rs.getString("description"));
-        task.setEstimatedHours(rs.getDouble("estimated_hours"));
         task.setPriority(Task.Priority.valueOf(rs.getString("priority")));
-        task.setStatus(Task.TaskStatus.valueOf(rs.getString("status")));
-        task.setStartDate(rs.getDate("start_date"));
         task.setDeadline(rs.getDate("deadline"));
+        if (fields.includes("projectId")) task.setProjectId(rs.getInt("project_id"));
+        if (fields.includes("title")) task.setTitle(rs.getString("title"));
+        if (fields.includes("description")) task.setDescription(rs.getString("description"));
+        if (fields.includes("estimatedHours")) task.setEstimatedHours(rs.getDouble("estimated_hours"));
+        if (fields.includes("status")) task.setStatus(Task.TaskStatus.valueOf(rs.getString("status")));
+        if (fields.includes("startDate")) task.setStartDate(rs.getDate("start_date"));
         
-        int assignedMemberId = rs.getInt("assigned_member_id");
-        if (!rs.wasNull()) {
-            // Initialiser l'objet Member
-            Member assignedMember = new Member();
-            assignedMember.setId(assignedMemberId);
-            assignedMember.setName(rs.getString("member_name"));
-            task.setAssignedMember(assignedMember);
+        if (fields.includes("assignedMember")) {
+            int assignedMemberId = rs.getInt("assigned_member_id");
+            if (!rs.wasNull()) {
+                // Initialiser l'objet Member
+                Member assignedMember = new Member();
+                assignedMember.setId(assignedMemberId);
+                assignedMember.setName(rs.getString("member_name"));
+                task.setAssignedMember(assignedMember);
+            }
         }
         
         // task.setCreatedAt(rs.getTimestamp("created_at"));
@@ -0,0 +1,135 @@
+package com.projectmanagement.dao;
+
+import com.projectmanagement.model.Task;
+import com.projectmanagement.model.TaskSkill;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage of tasks, their skill requirements and dependencies. {@link TaskDAO} is the JDBC
+ * implementation.
+ *
+ * Project lists are ordered by priority (most urgent first), then deadline.
+ */
+public interface TaskRepository {
+
+    int create(Task task) throws SQLException;
+
+    /**
+     * Creates the tasks and the required skills listed on them.
+     *
+     * @return the generated ids, in list order (also set on the tasks)
+     */
+    int[] createAll(List<Task> tasks) throws SQLException;
+
+    Task findById(int id) throws SQLException;
+
+    List<Task> findByProject(int projectId) throws SQLException;
+
+    default void streamByProject(int projectId, RowHandler<Task> handler) throws SQLException, IOException {
+        streamByProject(projectId, FieldSet.ALL, handler);
+    }
+
+    void streamByProject(int projectId, FieldSet fields, RowHandler<Task> handler) throws SQLException, IOException;
+
+    /**
+     * Emits at most limit tasks of the project following the cursor (null for the first page).
+     *
+     * @return the cursor of the next page, or null if this page is the last one
+     */
+    PageCursor streamPageByProject(int projectId, FieldSet fields, PageCursor after, int limit,
+                                   RowHandler<Task> handler) throws SQLException, IOException;
+
+    List<Task> findUnassignedByProject(int projectId) throws SQLException;
+
+    List<Task> findByProjectAndStatus(int projectId, Task.TaskStatus status) throws SQLException;
+
+    /**
+     * Tasks assigned to the member, earliest deadline first.
+     */
+    List<Task> findByMember(int memberId) throws SQLException;
+
+    void update(Task task) throws SQLException;
+
+    /**
+     * Sets the assignee only; workloads are the caller's business.
+     */
+    void assignTask(int taskId, int memberId) throws SQLException;
+
+    /**
+     * Sets the assignee of each task (task id to member id) in one batch; workloads are the
+     * caller's business.
+     */
+    void assignAll(Map<Integer, Integer> assignees) throws SQLException;
+
+    /**
+     * Manual assignment: refuses a member matching less than 60% of the required skills,
+     * adds the task's hours to the member's workload and raises an overload alert if needed.
+     *
+     * @return the competence score and the member's new workload
+     */
+    AssignmentResult assignTaskToMember(int taskId, int memberId) throws SQLException;
+
+    /**
+     * Removes the assignee of a TODO task and gives the hours back to the member.
+     *
+     * @return the former assignee's new workload (no competence score)
+     */
+    AssignmentResult unassignTask(int taskId) throws SQLException;
+
+    void updateStatus(int taskId, Task.TaskStatus status) throws SQLException;
+
+    void delete(int id) throws SQLException;
+
+    void addSkillRequirement(int taskId, int skillId, int requiredLevel) throws SQLException;
+
+    void addSkillRequirements(List<TaskSkill> requirements) throws SQLException;
+
+    void addDependency(int taskId, int dependsOnTaskId) throws SQLException;
+
+    List<TaskSkill> findTaskSkills(int taskId) throws SQLException;
+
+    List<Integer> findTaskDependencies(int taskId) throws SQLException;
+
+    /**
+     * Outcome of a manual assignment or unassignment, as sent back by the API.
+     */
+    class AssignmentResult {
+        private final int memberId;
+        private final Double competenceScore;
+        private final double currentWorkload;
+        private final int weeklyAvailability;
+        private final boolean overloaded;
+
+        public AssignmentResult(int memberId, Double competenceScore, double currentWorkload, int weeklyAvailability) {
+            this.memberId = memberId;
+            this.competenceScore = competenceScore;
+            this.currentWorkload = currentWorkload;
+            this.weeklyAvailability = weeklyAvailability;
+            this.overloaded = currentWorkload > weeklyAvailability;
+        }
+
+        public int getMemberId() {
+            return memberId;
+        }
+
+        public Double getCompetenceScore() {
+            return competenceScore;
+        }
+
+        public double getCurrentWorkload() {
+            return currentWorkload;
+        }
+
+        public int getWeeklyAvailability() {
+            return weeklyAvailability;
+        }
+
+        public boolean isOverloaded() {
+            return overloaded;
+        }
+    }
+}
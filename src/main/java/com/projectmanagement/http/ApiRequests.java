@@ -0,0 +1,64 @@
+package com.projectmanagement.http;
+
+/**
+ * Typed bodies of the small API requests that used to be decoded into a Map.
+ * Missing fields are reported as 400 when read.
+ */
+public final class ApiRequests {
+
+    private ApiRequests() {
+    }
+
+    /** POST /api/members/{id}/skills */
+    public static class MemberSkillRequest {
+        private Integer skillId;
+        private Integer proficiencyLevel;
+
+        public int getSkillId() {
+            return required(skillId, "skillId");
+        }
+
+        public int getProficiencyLevel() {
+            return required(proficiencyLevel, "proficiencyLevel");
+        }
+    }
+
+    /** POST /api/tasks/{id}/skills */
+    public static class SkillRequirementRequest {
+        private Integer skillId;
+        private Integer requiredLevel;
+
+        public int getSkillId() {
+            return required(skillId, "skillId");
+        }
+
+        public int getRequiredLevel() {
+            return required(requiredLevel, "requiredLevel");
+        }
+    }
+
+    /** POST /api/tasks/{id}/dependencies */
+    public static class DependencyRequest {
+        private Integer dependsOnTaskId;
+
+        public int getDependsOnTaskId() {
+            return required(dependsOnTaskId, "dependsOnTaskId");
+        }
+    }
+
+    /** POST /api/tasks/{id}/assign */
+    public static class AssignRequest {
+        private Integer memberId;
+
+        public int getMemberId() {
+            return required(memberId, "memberId");
+        }
+    }
+
+    static int required(Integer value, String field) {
+        if (value == null) {
+            throw new HttpStatusException(400, "Missing field: " + field);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,64 @@
+package com.projectmanagement.http;
+
+import java.util.Locale;
+
+/**
+ * Content codings supported by the server, with Accept-Encoding negotiation.
+ */
+public enum ContentEncoding {
+    GZIP("gzip"),
+    DEFLATE("deflate"),
+    IDENTITY("identity");
+
+    private final String token;
+
+    ContentEncoding(String token) {
+        this.token = token;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Picks the first of the given codings the client accepts with a non-zero quality,
+     * in the server's order of preference. Returns IDENTITY when none match.
+     */
+    public static ContentEncoding negotiate(String acceptEncoding, ContentEncoding... preferred) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return IDENTITY;
+        }
+        for (ContentEncoding candidate : preferred) {
+            if (candidate != IDENTITY && accepts(acceptEncoding, candidate.token)) {
+                return candidate;
+            }
+        }
+        return IDENTITY;
+    }
+
+    private static boolean accepts(String acceptEncoding, String token) {
+        boolean wildcard = false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1.0;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (coding.equals(token)) {
+                return q > 0;
+            }
+            if (coding.equals("*")) {
+                wildcard = q > 0;
+            }
+        }
+        return wildcard;
+    }
+}
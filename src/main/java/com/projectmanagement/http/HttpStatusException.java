@@ -0,0 +1,19 @@
+package com.projectmanagement.http;
+
+/**
+ * Error that maps to a specific HTTP status instead of the generic 500.
+ */
+public class HttpStatusException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    public HttpStatusException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
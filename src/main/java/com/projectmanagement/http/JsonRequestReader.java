@@ -0,0 +1,105 @@
+package com.projectmanagement.http;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodes JSON request bodies straight from the exchange stream into typed objects.
+ *
+ * Bodies larger than server.maxBodyBytes (default 1 MiB) are refused with 413: up front
+ * when Content-Length announces it, otherwise as soon as the limit is crossed while reading,
+ * so an oversized or endless upload never gets buffered.
+ */
+public class JsonRequestReader {
+    private final Gson gson;
+    private final long maxBodyBytes;
+
+    public JsonRequestReader(Gson gson, long maxBodyBytes) {
+        this.gson = gson;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    public static JsonRequestReader fromSystemProperties(Gson gson) {
+        return new JsonRequestReader(gson, Long.getLong("server.maxBodyBytes", 1024 * 1024));
+    }
+
+    public long getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    public <T> T read(HttpExchange exchange, Type type) throws IOException {
+        return read(exchange, type, maxBodyBytes);
+    }
+
+    /**
+     * Same as {@link #read(HttpExchange, Type)} with an endpoint-specific limit.
+     */
+    public <T> T read(HttpExchange exchange, Type type, long limit) throws IOException {
+        String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (contentLength != null) {
+            try {
+                if (Long.parseLong(contentLength.trim()) > limit) {
+                    throw tooLarge(limit);
+                }
+            } catch (NumberFormatException e) {
+                throw new HttpStatusException(400, "Invalid Content-Length");
+            }
+        }
+
+        JsonReader reader = new JsonReader(new InputStreamReader(
+                new BoundedInputStream(exchange.getRequestBody(), limit), StandardCharsets.UTF_8));
+        try {
+            T value = gson.fromJson(reader, type);
+            if (value == null) {
+                throw new HttpStatusException(400, "Request body is empty");
+            }
+            return value;
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new HttpStatusException(400, "Malformed JSON body: " + e.getMessage());
+        }
+    }
+
+    private static HttpStatusException tooLarge(long limit) {
+        return new HttpStatusException(413, "Request body exceeds " + limit + " bytes");
+    }
+
+    private static final class BoundedInputStream extends FilterInputStream {
+        private final long limit;
+        private long count;
+
+        BoundedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count(n);
+            return n;
+        }
+
+        private void count(int n) {
+            count += n;
+            if (count > limit) {
+                throw tooLarge(limit);
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.projectmanagement.http;
+
+import com.google.gson.stream.JsonWriter;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes a JSON response straight to the exchange body with chunked transfer encoding.
+ *
+ * Response headers are only sent when the first buffered bytes reach the socket, so an
+ * error raised before that (typically the SQL query failing) can still become a 500.
+ * Once data has been sent, a failure can only abort the connection.
+ */
+public class JsonStreamResponse {
+
+    @FunctionalInterface
+    public interface Body {
+        void writeTo(JsonWriter writer) throws Exception;
+    }
+
+    private final HttpExchange exchange;
+    private final ResponseCompression compression;
+    private final ContentEncoding encoding;
+    private final CommitOnWriteStream body = new CommitOnWriteStream();
+
+    public JsonStreamResponse(HttpExchange exchange, ResponseCompression compression) {
+        this.exchange = exchange;
+        this.compression = compression;
+        this.encoding = ContentEncoding.negotiate(exchange.getRequestHeaders().getFirst("Accept-Encoding"),
+                ContentEncoding.GZIP, ContentEncoding.DEFLATE);
+    }
+
+    /**
+     * Streams the body. Returns normally once the response is complete.
+     *
+     * @throws Exception the body's failure; {@link #isCommitted()} tells whether headers already left
+     */
+    public void send(Body content) throws Exception {
+        JsonWriter writer = new JsonWriter(new BufferedWriter(
+                new OutputStreamWriter(body, StandardCharsets.UTF_8), 8192));
+        content.writeTo(writer);
+        writer.close();
+        compression.record(body.rawCount, body.sent.count, encoding != ContentEncoding.IDENTITY);
+    }
+
+    public boolean isCommitted() {
+        return body.target != null;
+    }
+
+    /**
+     * Sends the headers and opens the (compressed) body on the first write.
+     */
+    private final class CommitOnWriteStream extends OutputStream {
+        OutputStream target;
+        CountingStream sent;
+        long rawCount;
+
+        private OutputStream target() throws IOException {
+            if (target == null) {
+                exchange.getResponseHeaders().set("Vary", "Accept-Encoding");
+                if (encoding != ContentEncoding.IDENTITY) {
+                    exchange.getResponseHeaders().set("Content-Encoding", encoding.getToken());
+                }
+                exchange.sendResponseHeaders(200, 0);
+                sent = new CountingStream(exchange.getResponseBody());
+                target = ResponseCompression.wrap(sent, encoding);
+            }
+            return target;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            target().write(b);
+            rawCount++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            target().write(b, off, len);
+            rawCount += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (target != null) target.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            target().close();
+        }
+    }
+
+    private static final class CountingStream extends java.io.FilterOutputStream {
+        long count;
+
+        CountingStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
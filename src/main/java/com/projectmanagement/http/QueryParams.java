@@ -0,0 +1,92 @@
+package com.projectmanagement.http;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decoded query string of a request. The first value wins when a name is repeated.
+ */
+public final class QueryParams {
+    private final Map<String, String> values;
+
+    private QueryParams(Map<String, String> values) {
+        this.values = values;
+    }
+
+    public static QueryParams of(HttpExchange exchange) {
+        return parse(exchange.getRequestURI().getRawQuery());
+    }
+
+    public static QueryParams parse(String rawQuery) {
+        Map<String, String> values = new HashMap<>();
+        if (rawQuery != null && !rawQuery.isEmpty()) {
+            for (String pair : rawQuery.split("&")) {
+                if (pair.isEmpty()) continue;
+                int eq = pair.indexOf('=');
+                String name = decode(eq < 0 ? pair : pair.substring(0, eq));
+                String value = eq < 0 ? "" : decode(pair.substring(eq + 1));
+                values.putIfAbsent(name, value);
+            }
+        }
+        return new QueryParams(values);
+    }
+
+    public String get(String name) {
+        return values.get(name);
+    }
+
+    public boolean getBoolean(String name) {
+        return "true".equalsIgnoreCase(values.get(name));
+    }
+
+    /**
+     * Integer parameter within [min, max]; null if absent.
+     *
+     * @throws HttpStatusException 400 if present but not an integer in range
+     */
+    public Integer getInt(String name, int min, int max) {
+        String value = values.get(name);
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed >= min && parsed <= max) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // même réponse que hors bornes
+        }
+        throw new HttpStatusException(400, "Parameter '" + name + "' must be an integer between " + min + " and " + max);
+    }
+
+    /**
+     * A yyyy-MM-dd date, as the timestamp of its midnight, or null if absent.
+     */
+    public Timestamp getDate(String name) {
+        String value = values.get(name);
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Timestamp.valueOf(LocalDate.parse(value).atStartOfDay());
+        } catch (DateTimeParseException e) {
+            throw new HttpStatusException(400, "Parameter '" + name + "' must be a date (yyyy-MM-dd)");
+        }
+    }
+
+    private static String decode(String s) {
+        try {
+            return URLDecoder.decode(s, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return s;
+        }
+    }
+}
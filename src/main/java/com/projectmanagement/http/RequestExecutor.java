@@ -0,0 +1,155 @@
+package com.projectmanagement.http;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executor used by the HttpServer to run exchanges off the dispatcher thread.
+ *
+ * Two modes, selected with -Dserver.executor:
+ * - pool    : bounded platform-thread pool (server.threads workers, server.queue pending exchanges)
+ * - virtual : one virtual thread per request (requires Java 21+, falls back to pool otherwise)
+ *
+ * When the pool queue is full the dispatcher thread runs the exchange itself, which slows
+ * down accepting new connections instead of dropping requests.
+ */
+public class RequestExecutor implements Executor {
+    private static final Logger logger = LoggerFactory.getLogger(RequestExecutor.class);
+
+    public enum Mode {
+        POOL, VIRTUAL
+    }
+
+    private final Mode mode;
+    private final int maxThreads;
+    private final int queueCapacity;
+    private final ExecutorService delegate;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger peakActive = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public RequestExecutor(Mode requestedMode, int maxThreads, int queueCapacity) {
+        this.maxThreads = maxThreads;
+        this.queueCapacity = queueCapacity;
+
+        ExecutorService virtual = requestedMode == Mode.VIRTUAL ? newVirtualThreadExecutor() : null;
+        if (virtual != null) {
+            this.mode = Mode.VIRTUAL;
+            this.delegate = virtual;
+        } else {
+            this.mode = Mode.POOL;
+            this.delegate = newBoundedPool(maxThreads, queueCapacity);
+        }
+        logger.info("Request executor started in {} mode (threads={}, queue={})",
+                mode, mode == Mode.POOL ? maxThreads : "unbounded", mode == Mode.POOL ? queueCapacity : "n/a");
+    }
+
+    /**
+     * Builds the executor from system properties (server.executor, server.threads, server.queue).
+     */
+    public static RequestExecutor fromSystemProperties() {
+        Mode mode = "virtual".equalsIgnoreCase(System.getProperty("server.executor", "pool"))
+                ? Mode.VIRTUAL : Mode.POOL;
+        int threads = Integer.getInteger("server.threads", 32);
+        int queue = Integer.getInteger("server.queue", 256);
+        return new RequestExecutor(mode, threads, queue);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        queued.incrementAndGet();
+        delegate.execute(() -> {
+            queued.decrementAndGet();
+            int running = active.incrementAndGet();
+            peakActive.accumulateAndGet(running, Math::max);
+            try {
+                command.run();
+                completed.incrementAndGet();
+            } catch (RuntimeException | Error e) {
+                failed.incrementAndGet();
+                throw e;
+            } finally {
+                active.decrementAndGet();
+            }
+        });
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("mode", mode.name().toLowerCase());
+        stats.put("maxThreads", mode == Mode.POOL ? maxThreads : null);
+        stats.put("queueCapacity", mode == Mode.POOL ? queueCapacity : null);
+        stats.put("queueDepth", queued.get());
+        stats.put("activeThreads", active.get());
+        stats.put("peakActiveThreads", peakActive.get());
+        stats.put("completedRequests", completed.get());
+        stats.put("failedRequests", failed.get());
+        return stats;
+    }
+
+    public void shutdown(long timeoutSeconds) {
+        delegate.shutdown();
+        try {
+            if (!delegate.awaitTermination(timeoutSeconds, TimeUnit.SECONDS)) {
+                delegate.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            delegate.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ExecutorService newBoundedPool(int threads, int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = r -> {
+            Thread t = new Thread(r, "http-worker-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), factory, new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() n'existe qu'à partir de Java 21 :
+    // on passe par la réflexion tant que le build cible Java 11.
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            logger.warn("Virtual threads are not available on Java {}, falling back to the bounded pool",
+                    System.getProperty("java.specification.version"));
+            return null;
+        }
+    }
+}
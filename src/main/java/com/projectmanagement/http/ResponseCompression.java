@@ -0,0 +1,92 @@
+package com.projectmanagement.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compression of API responses (gzip or deflate, negotiated from Accept-Encoding).
+ *
+ * Bodies smaller than server.compression.minSize bytes (default 1024) are sent as is:
+ * below that the header overhead and CPU cost outweigh the savings.
+ * Raw vs. sent byte counters are exposed through {@link #getStats()}.
+ */
+public class ResponseCompression {
+    private final int minSize;
+
+    private final AtomicLong compressedResponses = new AtomicLong();
+    private final AtomicLong uncompressedResponses = new AtomicLong();
+    private final AtomicLong rawBytes = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+
+    public ResponseCompression(int minSize) {
+        this.minSize = minSize;
+    }
+
+    public static ResponseCompression fromSystemProperties() {
+        return new ResponseCompression(Integer.getInteger("server.compression.minSize", 1024));
+    }
+
+    /**
+     * Chooses the coding for a body of the given size; IDENTITY below the threshold.
+     */
+    public ContentEncoding negotiate(String acceptEncoding, int bodySize) {
+        if (bodySize < minSize) {
+            return ContentEncoding.IDENTITY;
+        }
+        return ContentEncoding.negotiate(acceptEncoding, ContentEncoding.GZIP, ContentEncoding.DEFLATE);
+    }
+
+    /**
+     * Encodes the body with the given coding and records the raw/sent sizes.
+     */
+    public byte[] encode(byte[] body, ContentEncoding encoding) throws IOException {
+        if (encoding == ContentEncoding.IDENTITY) {
+            record(body.length, body.length, false);
+            return body;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (OutputStream os = wrap(out, encoding)) {
+            os.write(body);
+        }
+        byte[] encoded = out.toByteArray();
+        record(body.length, encoded.length, true);
+        return encoded;
+    }
+
+    /**
+     * Wraps an output stream with the compressor matching the coding.
+     */
+    public static OutputStream wrap(OutputStream out, ContentEncoding encoding) throws IOException {
+        switch (encoding) {
+            case GZIP: return new GZIPOutputStream(out, 8192);
+            case DEFLATE: return new DeflaterOutputStream(out);
+            default: return out;
+        }
+    }
+
+    public void record(long raw, long sent, boolean compressed) {
+        rawBytes.addAndGet(raw);
+        compressedBytes.addAndGet(sent);
+        (compressed ? compressedResponses : uncompressedResponses).incrementAndGet();
+    }
+
+    public Map<String, Object> getStats() {
+        long raw = rawBytes.get();
+        long sent = compressedBytes.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("minSize", minSize);
+        stats.put("compressedResponses", compressedResponses.get());
+        stats.put("uncompressedResponses", uncompressedResponses.get());
+        stats.put("rawBytes", raw);
+        stats.put("sentBytes", sent);
+        stats.put("savedBytes", raw - sent);
+        stats.put("ratio", raw > 0 ? (double) sent / raw : 1.0);
+        return stats;
+    }
+}
@@ -0,0 +1,225 @@
+package com.projectmanagement.http;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Method + path dispatch over a trie of path templates, built once at startup.
+ *
+ * Templates look like "/api/projects/{id:int}/tasks": literal segments, "{name}" for any
+ * segment, "{name:int}" for a non-negative integer. Literal segments win over parameters,
+ * and a trailing slash is ignored. Matching walks the path once without splitting it,
+ * compiling regexes or throwing on non-numeric segments.
+ */
+public class Router {
+
+    @FunctionalInterface
+    public interface Handler {
+        void handle(HttpExchange exchange, PathParams params) throws Exception;
+    }
+
+    private final Node root = new Node();
+
+    public Router get(String template, Handler handler) {
+        return add("GET", template, handler);
+    }
+
+    public Router post(String template, Handler handler) {
+        return add("POST", template, handler);
+    }
+
+    public Router put(String template, Handler handler) {
+        return add("PUT", template, handler);
+    }
+
+    public Router delete(String template, Handler handler) {
+        return add("DELETE", template, handler);
+    }
+
+    public Router add(String method, String template, Handler handler) {
+        Node node = root;
+        List<String> names = new ArrayList<>();
+        for (String segment : template.split("/")) {
+            if (segment.isEmpty()) continue;
+            if (segment.startsWith("{") && segment.endsWith("}")) {
+                String spec = segment.substring(1, segment.length() - 1);
+                int colon = spec.indexOf(':');
+                String name = colon < 0 ? spec : spec.substring(0, colon);
+                boolean integer = colon >= 0 && spec.substring(colon + 1).equals("int");
+                Node child = integer ? node.intChild : node.anyChild;
+                if (child == null) {
+                    child = new Node();
+                    if (integer) node.intChild = child; else node.anyChild = child;
+                }
+                names.add(name);
+                node = child;
+            } else {
+                node = node.literals.computeIfAbsent(segment, k -> new Node());
+            }
+        }
+        if (node.routes.containsKey(method)) {
+            throw new IllegalStateException("Duplicate route: " + method + " " + template);
+        }
+        node.routes.put(method, new Route(handler, names.toArray(new String[0])));
+        return this;
+    }
+
+    /**
+     * Looks up the route for a request. Never returns null: check {@link Match#isFound()}
+     * and {@link Match#getAllowedMethods()} to tell a 404 from a 405.
+     */
+    public Match match(String method, String path) {
+        Object[] values = new Object[8];
+        Node node = find(root, path, skipSlashes(path, 0), values, 0);
+        if (node == null || node.routes.isEmpty()) {
+            return Match.NOT_FOUND;
+        }
+        Route route = node.routes.get(method);
+        if (route == null) {
+            return new Match(null, null, new TreeSet<>(node.routes.keySet()));
+        }
+        return new Match(route.handler, new PathParams(route.names, values), null);
+    }
+
+    // Parcours récursif : un segment littéral est essayé avant {int}, puis {any}
+    private Node find(Node node, String path, int start, Object[] values, int depth) {
+        if (start >= path.length()) {
+            return node;
+        }
+        int end = path.indexOf('/', start);
+        if (end < 0) end = path.length();
+        int next = skipSlashes(path, end);
+
+        Node literal = node.literals.isEmpty() ? null : node.literals.get(path.substring(start, end));
+        if (literal != null) {
+            Node found = find(literal, path, next, values, depth);
+            if (found != null && !found.routes.isEmpty()) return found;
+        }
+        if (depth >= values.length) {
+            return null;
+        }
+        if (node.intChild != null) {
+            int value = parseInt(path, start, end);
+            if (value >= 0) {
+                values[depth] = value;
+                Node found = find(node.intChild, path, next, values, depth + 1);
+                if (found != null && !found.routes.isEmpty()) return found;
+            }
+        }
+        if (node.anyChild != null && end > start) {
+            values[depth] = path.substring(start, end);
+            Node found = find(node.anyChild, path, next, values, depth + 1);
+            if (found != null && !found.routes.isEmpty()) return found;
+        }
+        return null;
+    }
+
+    private static int skipSlashes(String path, int index) {
+        while (index < path.length() && path.charAt(index) == '/') index++;
+        return index;
+    }
+
+    /**
+     * Parses path[start, end) as a non-negative int; -1 if it isn't one (no exception).
+     */
+    static int parseInt(String path, int start, int end) {
+        int length = end - start;
+        if (length == 0 || length > 10) return -1;
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            char c = path.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value > Integer.MAX_VALUE ? -1 : (int) value;
+    }
+
+    private static final class Node {
+        final Map<String, Node> literals = new HashMap<>();
+        Node intChild;
+        Node anyChild;
+        final Map<String, Route> routes = new LinkedHashMap<>();
+    }
+
+    private static final class Route {
+        final Handler handler;
+        final String[] names;
+
+        Route(Handler handler, String[] names) {
+            this.handler = handler;
+            this.names = names;
+        }
+    }
+
+    public static final class Match {
+        static final Match NOT_FOUND = new Match(null, null, null);
+
+        private final Handler handler;
+        private final PathParams params;
+        private final TreeSet<String> allowedMethods;
+
+        Match(Handler handler, PathParams params, TreeSet<String> allowedMethods) {
+            this.handler = handler;
+            this.params = params;
+            this.allowedMethods = allowedMethods;
+        }
+
+        public boolean isFound() {
+            return handler != null;
+        }
+
+        public Handler getHandler() {
+            return handler;
+        }
+
+        public PathParams getParams() {
+            return params;
+        }
+
+        /**
+         * Methods registered for the path when the request method isn't one of them, else null.
+         */
+        public TreeSet<String> getAllowedMethods() {
+            return allowedMethods;
+        }
+    }
+
+    /**
+     * Values captured from the "{...}" segments of the matched template.
+     */
+    public static final class PathParams {
+        private final String[] names;
+        private final Object[] values;
+
+        PathParams(String[] names, Object[] values) {
+            this.names = names;
+            this.values = values;
+        }
+
+        public int getInt(String name) {
+            Object value = get(name);
+            if (!(value instanceof Integer)) {
+                throw new IllegalArgumentException("Path parameter '" + name + "' is not an int");
+            }
+            return (Integer) value;
+        }
+
+        public String getString(String name) {
+            Object value = get(name);
+            return value == null ? null : value.toString();
+        }
+
+        private Object get(String name) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) return values[i];
+            }
+            throw new IllegalArgumentException("Unknown path parameter: " + name);
+        }
+    }
+}
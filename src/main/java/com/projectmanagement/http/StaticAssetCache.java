@@ -0,0 +1,332 @@
+package com.projectmanagement.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-memory cache of the files under the web root (index.html, css, js).
+ *
+ * Every file is read once at startup and kept as raw and gzip bytes with a strong ETag.
+ * HTML pages reference css/js with a "?v=<hash>" suffix so those can be cached for a year;
+ * the pages themselves are revalidated on each load (If-None-Match / If-Modified-Since -> 304).
+ * A WatchService thread reloads entries when files change on disk.
+ */
+public class StaticAssetCache {
+    private static final Logger logger = LoggerFactory.getLogger(StaticAssetCache.class);
+
+    private static final String IMMUTABLE_CACHE = "public, max-age=31536000, immutable";
+    private static final String DEFAULT_CACHE = "public, max-age=3600";
+    private static final String HTML_CACHE = "no-cache";
+
+    // Références locales vers css/ et js/ dans les pages HTML
+    private static final Pattern ASSET_REF = Pattern.compile("(src|href)=\"((?:css|js)/[^\"?#]+)\"");
+
+    private final Path root;
+    private final Map<String, Asset> assets = new ConcurrentHashMap<>();
+
+    public StaticAssetCache(Path root) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        loadAll();
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    /**
+     * Serves the requested path from the cache; answers 404 for unknown paths.
+     */
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            if (path.equals("/")) path = "/index.html";
+            Asset asset = assets.get(path);
+            if (asset == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            String query = exchange.getRequestURI().getQuery();
+            boolean versioned = query != null && query.startsWith("v=");
+            ContentEncoding encoding = asset.gzip != null
+                    ? ContentEncoding.negotiate(exchange.getRequestHeaders().getFirst("Accept-Encoding"), ContentEncoding.GZIP)
+                    : ContentEncoding.IDENTITY;
+
+            com.sun.net.httpserver.Headers headers = exchange.getResponseHeaders();
+            headers.set("ETag", encoding == ContentEncoding.GZIP ? asset.gzipEtag : asset.etag);
+            headers.set("Last-Modified", asset.lastModifiedHeader);
+            headers.set("Cache-Control", asset.html ? HTML_CACHE : versioned ? IMMUTABLE_CACHE : DEFAULT_CACHE);
+            headers.set("Vary", "Accept-Encoding");
+
+            if (isNotModified(exchange, asset)) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+
+            byte[] body = encoding == ContentEncoding.GZIP ? asset.gzip : asset.raw;
+            headers.set("Content-Type", asset.contentType);
+            if (encoding == ContentEncoding.GZIP) {
+                headers.set("Content-Encoding", "gzip");
+            }
+            if ("HEAD".equals(method)) {
+                headers.set("Content-Length", String.valueOf(body.length));
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private boolean isNotModified(HttpExchange exchange, Asset asset) {
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        if (ifNoneMatch != null) {
+            for (String tag : ifNoneMatch.split(",")) {
+                tag = tag.trim();
+                if (tag.startsWith("W/")) tag = tag.substring(2);
+                if (tag.equals("*") || tag.equals(asset.etag) || tag.equals(asset.gzipEtag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        String ifModifiedSince = exchange.getRequestHeaders().getFirst("If-Modified-Since");
+        if (ifModifiedSince != null) {
+            try {
+                long since = httpDateFormat().parse(ifModifiedSince).getTime();
+                return asset.lastModified / 1000 <= since / 1000;
+            } catch (java.text.ParseException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Starts a daemon thread that reloads assets when files under the root change.
+     */
+    public void startWatching() throws IOException {
+        WatchService watcher = root.getFileSystem().newWatchService();
+        registerTree(watcher, root);
+
+        Thread thread = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key;
+                try {
+                    key = watcher.take();
+                } catch (InterruptedException | ClosedWatchServiceException e) {
+                    return;
+                }
+                Path dir = (Path) key.watchable();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        changed |= reloadQuietly(null);
+                        continue;
+                    }
+                    Path file = dir.resolve((Path) event.context());
+                    try {
+                        if (Files.isDirectory(file)) {
+                            registerTree(watcher, file);
+                        }
+                    } catch (IOException e) {
+                        logger.warn("Cannot watch directory {}", file, e);
+                    }
+                    changed |= reloadQuietly(file);
+                }
+                if (changed) {
+                    renderPages();
+                }
+                key.reset();
+            }
+        }, "static-asset-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Watching {} for static asset changes", root);
+    }
+
+    private void registerTree(WatchService watcher, Path start) throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private boolean reloadQuietly(Path file) {
+        try {
+            if (file == null) {
+                loadAll();
+            } else if (Files.isDirectory(file)) {
+                loadTree(file);
+            } else if (Files.isRegularFile(file)) {
+                load(file);
+            } else {
+                assets.remove(key(file));
+                logger.info("Removed static asset {}", key(file));
+            }
+            return true;
+        } catch (IOException e) {
+            logger.warn("Failed to reload static asset {}", file, e);
+            return false;
+        }
+    }
+
+    private void loadAll() throws IOException {
+        java.util.Set<String> stale = new java.util.HashSet<>(assets.keySet());
+        loadTree(root);
+        stale.removeIf(k -> Files.isRegularFile(root.resolve(k.substring(1))));
+        assets.keySet().removeAll(stale);
+        renderPages();
+        long total = assets.values().stream().mapToLong(a -> a.raw.length).sum();
+        logger.info("Loaded {} static assets ({} bytes) from {}", assets.size(), total, root);
+    }
+
+    private void loadTree(Path dir) throws IOException {
+        try (java.util.stream.Stream<Path> files = Files.walk(dir)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                load(file);
+            }
+        }
+    }
+
+    private void load(Path file) throws IOException {
+        String key = key(file);
+        byte[] bytes = Files.readAllBytes(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        assets.put(key, new Asset(key, bytes, bytes, lastModified, lastModified));
+    }
+
+    /**
+     * Rewrites css/js references of every HTML page with the current content hash,
+     * so that a changed asset gets a new URL.
+     */
+    private void renderPages() {
+        for (Asset page : assets.values()) {
+            if (!page.html) continue;
+            String html = new String(page.source, StandardCharsets.UTF_8);
+            String dir = page.path.substring(0, page.path.lastIndexOf('/') + 1);
+            Matcher m = ASSET_REF.matcher(html);
+            StringBuffer sb = new StringBuffer();
+            long lastModified = page.sourceLastModified;
+            while (m.find()) {
+                Asset ref = assets.get(dir + m.group(2));
+                if (ref != null) lastModified = Math.max(lastModified, ref.lastModified);
+                String replacement = ref == null ? m.group(0)
+                        : m.group(1) + "=\"" + m.group(2) + "?v=" + ref.hash.substring(0, 12) + "\"";
+                m.appendReplacement(sb, Matcher.quoteReplacement(replacement));
+            }
+            m.appendTail(sb);
+            assets.put(page.path, new Asset(page.path, page.source,
+                    sb.toString().getBytes(StandardCharsets.UTF_8), page.sourceLastModified, lastModified));
+        }
+    }
+
+    private String key(Path file) {
+        return "/" + root.relativize(file.toAbsolutePath().normalize()).toString().replace('\\', '/');
+    }
+
+    private static String contentType(String path) {
+        if (path.endsWith(".html")) return "text/html; charset=UTF-8";
+        if (path.endsWith(".css")) return "text/css; charset=UTF-8";
+        if (path.endsWith(".js")) return "application/javascript; charset=UTF-8";
+        if (path.endsWith(".json")) return "application/json; charset=UTF-8";
+        if (path.endsWith(".svg")) return "image/svg+xml";
+        if (path.endsWith(".png")) return "image/png";
+        if (path.endsWith(".ico")) return "image/x-icon";
+        return "text/plain";
+    }
+
+    private static SimpleDateFormat httpDateFormat() {
+        SimpleDateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("GMT"));
+        return format;
+    }
+
+    private static final class Asset {
+        final String path;
+        final byte[] source;    // contenu du fichier sur disque
+        final byte[] raw;       // contenu servi (pages HTML réécrites)
+        final byte[] gzip;      // null si la compression n'apporte rien
+        final String hash;
+        final String etag;
+        final String gzipEtag;
+        final long sourceLastModified;
+        final long lastModified;   // pour une page HTML : max avec les assets référencés
+        final String lastModifiedHeader;
+        final String contentType;
+        final boolean html;
+
+        Asset(String path, byte[] source, byte[] raw, long sourceLastModified, long lastModified) {
+            this.path = path;
+            this.source = source;
+            this.raw = raw;
+            this.contentType = contentType(path);
+            this.html = path.endsWith(".html");
+            this.hash = sha256(raw);
+            this.etag = "\"" + hash + "\"";
+            this.gzipEtag = "\"" + hash + "-gz\"";
+            this.sourceLastModified = sourceLastModified;
+            this.lastModified = lastModified;
+            this.lastModifiedHeader = httpDateFormat().format(new Date(lastModified));
+            byte[] compressed = contentType.startsWith("image/") && !path.endsWith(".svg") ? null : gzip(raw);
+            this.gzip = compressed != null && compressed.length < raw.length ? compressed : null;
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 3 + 64);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(bytes);
+        } catch (IOException e) {
+            return null;
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (int i = 0; i < 16; i++) {
+                sb.append(String.format("%02x", digest[i]));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
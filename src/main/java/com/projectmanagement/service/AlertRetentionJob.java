@@ -0,0 +1,119 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dao.AlertRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the alerts table small by moving read alerts older than the retention period to
+ * alerts_archive.
+ *
+ * Each run archives chunks of batchSize alerts, each in its own short transaction, and
+ * pauses between chunks, so that a large backlog never holds many row locks at once or
+ * keeps the pool busy. Options (system properties):
+ * alerts.retention.days (default 0: off), alerts.retention.batchSize (500),
+ * alerts.retention.pauseMillis (100), alerts.retention.intervalMinutes (60).
+ *
+ * The job is opt-in: it needs the alerts_archive table (database/migrations/003 on an
+ * existing database), then e.g. -Dalerts.retention.days=30.
+ */
+public class AlertRetentionJob {
+    private static final Logger logger = LoggerFactory.getLogger(AlertRetentionJob.class);
+
+    private final AlertRepository alertDAO;
+    private final int retentionDays;
+    private final int batchSize;
+    private final long pauseMillis;
+    private ScheduledExecutorService scheduler;
+
+    public AlertRetentionJob(AlertRepository alertDAO, int retentionDays, int batchSize, long pauseMillis) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+        this.alertDAO = alertDAO;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    public static AlertRetentionJob fromSystemProperties(AlertRepository alertDAO) {
+        return new AlertRetentionJob(alertDAO,
+                Integer.getInteger("alerts.retention.days", 0),
+                Integer.getInteger("alerts.retention.batchSize", 500),
+                Long.getLong("alerts.retention.pauseMillis", 100));
+    }
+
+    public boolean isEnabled() {
+        return retentionDays > 0;
+    }
+
+    /**
+     * Runs the job every alerts.retention.intervalMinutes on a daemon thread, the first time
+     * one minute after startup. Does nothing if the job is off.
+     */
+    public synchronized void start() {
+        if (!isEnabled() || scheduler != null) {
+            return;
+        }
+        long interval = Long.getLong("alerts.retention.intervalMinutes", 60);
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "alert-retention");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                runOnce();
+            } catch (SQLException | RuntimeException e) {
+                logger.error("Alert retention run failed", e);
+            }
+        }, 1, interval, TimeUnit.MINUTES);
+        logger.info("Alert retention: read alerts older than {} days archived every {} min", retentionDays, interval);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Archives every read alert older than the retention period, chunk by chunk.
+     *
+     * @return the number of alerts archived
+     */
+    public int runOnce() throws SQLException {
+        Timestamp cutoff = new Timestamp(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(retentionDays));
+        int total = 0;
+        int archived;
+        do {
+            archived = alertDAO.archiveRead(cutoff, batchSize);
+            total += archived;
+        } while (archived == batchSize && pause());
+        if (total > 0) {
+            logger.info("Archived {} read alerts created before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    // false si le thread est interrompu (arrêt du serveur) : le reste attendra le prochain passage
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
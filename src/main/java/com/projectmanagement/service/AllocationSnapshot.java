@@ -0,0 +1,190 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.model.Member;
+import com.projectmanagement.model.MemberSkill;
+import com.projectmanagement.model.Task;
+import com.projectmanagement.model.TaskSkill;
+import com.projectmanagement.util.IntObjectMap;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Skills of the members taking part in one allocation run, laid out for scoring.
+ *
+ * Skill ids are mapped to dense ordinals; each member's proficiencies are a byte[] indexed
+ * by ordinal (0: skill not held) and a task's requirements are parallel int[] of ordinals
+ * and levels, so scoring a (task, member) pair is a few array reads, without streams,
+ * boxing or scans of the member's skill list. Members are identified by their position in
+ * the list the snapshot was built from. Skills are read once: later changes to the
+ * Member objects are not seen.
+ *
+ * An inverted index gives, for each (skill, minimum level), the set of members holding
+ * the skill at that level or above, so that {@link #candidates} can narrow a task to its
+ * qualified members before anything is scored.
+ */
+final class AllocationSnapshot {
+    // Compétence requise qu'aucun membre ne possède
+    private static final int UNKNOWN_SKILL = -1;
+
+    private final IntObjectMap<Integer> ordinals;
+    private final byte[][] proficiencies;
+    // holders[ordinal][level] : positions des membres ayant la compétence à ce niveau ou plus
+    private final BitSet[][] holders;
+
+    private AllocationSnapshot(IntObjectMap<Integer> ordinals, byte[][] proficiencies, BitSet[][] holders) {
+        this.ordinals = ordinals;
+        this.proficiencies = proficiencies;
+        this.holders = holders;
+    }
+
+    static AllocationSnapshot of(List<Member> members) {
+        IntObjectMap<Integer> ordinals = new IntObjectMap<>();
+        for (Member member : members) {
+            for (MemberSkill skill : skillsOf(member)) {
+                int id = skill.getSkill().getId();
+                if (ordinals.get(id) == null) {
+                    ordinals.put(id, ordinals.size());
+                }
+            }
+        }
+
+        byte[][] proficiencies = new byte[members.size()][];
+        for (int i = 0; i < proficiencies.length; i++) {
+            byte[] levels = new byte[ordinals.size()];
+            for (MemberSkill skill : skillsOf(members.get(i))) {
+                levels[ordinals.get(skill.getSkill().getId())] =
+                        (byte) Math.min(skill.getProficiencyLevel(), Byte.MAX_VALUE);
+            }
+            proficiencies[i] = levels;
+        }
+        return new AllocationSnapshot(ordinals, proficiencies, invertedIndex(proficiencies, ordinals.size()));
+    }
+
+    private static BitSet[][] invertedIndex(byte[][] proficiencies, int skillCount) {
+        int[] maxLevels = new int[skillCount];
+        for (byte[] levels : proficiencies) {
+            for (int o = 0; o < skillCount; o++) {
+                maxLevels[o] = Math.max(maxLevels[o], levels[o]);
+            }
+        }
+        BitSet[][] holders = new BitSet[skillCount][];
+        for (int o = 0; o < skillCount; o++) {
+            holders[o] = new BitSet[maxLevels[o] + 1];
+            for (int level = 1; level <= maxLevels[o]; level++) {
+                holders[o][level] = new BitSet(proficiencies.length);
+            }
+        }
+        for (int i = 0; i < proficiencies.length; i++) {
+            byte[] levels = proficiencies[i];
+            for (int o = 0; o < skillCount; o++) {
+                for (int level = 1; level <= levels[o]; level++) {
+                    holders[o][level].set(i);
+                }
+            }
+        }
+        return holders;
+    }
+
+    private static List<MemberSkill> skillsOf(Member member) {
+        return member.getSkills() != null ? member.getSkills() : List.of();
+    }
+
+    int memberCount() {
+        return proficiencies.length;
+    }
+
+    Requirements requirements(Task task) {
+        List<TaskSkill> required = task.getRequiredSkills();
+        int n = required != null ? required.size() : 0;
+        int[] skills = new int[n];
+        int[] levels = new int[n];
+        int totalLevel = 0;
+        for (int i = 0; i < n; i++) {
+            TaskSkill skill = required.get(i);
+            Integer ordinal = ordinals.get(skill.getSkill().getId());
+            skills[i] = ordinal != null ? ordinal : UNKNOWN_SKILL;
+            levels[i] = skill.getRequiredLevel();
+            totalLevel += levels[i];
+        }
+        return new Requirements(skills, levels, totalLevel);
+    }
+
+    /**
+     * Positions of the members holding every required skill at its level, intersected from
+     * the inverted index: the only members whose skill score can be above 0. Every member
+     * for a task without requirements. The returned set is the caller's.
+     */
+    BitSet candidates(Requirements task) {
+        BitSet result = new BitSet(proficiencies.length);
+        if (task.skills.length == 0) {
+            result.set(0, proficiencies.length);
+            return result;
+        }
+        for (int i = 0; i < task.skills.length; i++) {
+            BitSet holding = holding(task.skills[i], task.levels[i]);
+            if (holding == null) {
+                return new BitSet();
+            }
+            if (i == 0) {
+                result.or(holding);
+            } else {
+                result.and(holding);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private BitSet holding(int ordinal, int level) {
+        if (ordinal == UNKNOWN_SKILL) {
+            return null;
+        }
+        BitSet[] byLevel = holders[ordinal];
+        int min = Math.max(1, level);   // niveau 0 requis : il faut quand même avoir la compétence
+        return min < byLevel.length ? byLevel[min] : null;
+    }
+
+    /**
+     * 0.5 for a task without requirements; 0 if the member lacks a required skill or holds
+     * it below the required level; otherwise held levels over required levels, capped at 1.
+     */
+    double skillScore(Requirements task, int member) {
+        int[] skills = task.skills;
+        if (skills.length == 0) {
+            return 0.5;
+        }
+        byte[] held = proficiencies[member];
+        int[] levels = task.levels;
+        int totalHeld = 0;
+        for (int i = 0; i < skills.length; i++) {
+            int ordinal = skills[i];
+            if (ordinal == UNKNOWN_SKILL) {
+                return 0;
+            }
+            int level = held[ordinal];
+            if (level == 0 || level < levels[i]) {
+                return 0;
+            }
+            totalHeld += level;
+        }
+        return Math.min(1.0, (double) totalHeld / task.totalLevel);
+    }
+
+    /**
+     * Requirements of one task: skill ordinals and required levels, as parallel arrays.
+     */
+    static final class Requirements {
+        final int[] skills;
+        final int[] levels;
+        final int totalLevel;
+
+        Requirements(int[] skills, int[] levels, int totalLevel) {
+            this.skills = skills;
+            this.levels = levels;
+            this.totalLevel = totalLevel;
+        }
+    }
+}
@@ -0,0 +1,546 @@
+package com.projectmanagement.service;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonPrimitive;
+import com.projectmanagement.dao.EntityVersions;
+import com.projectmanagement.dao.MemberDAO;
+import com.projectmanagement.dao.ProjectDAO;
+import com.projectmanagement.dao.TaskDAO;
+import com.projectmanagement.model.*;
+import com.projectmanagement.util.DatabaseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.regex.Pattern;
+
+import static com.projectmanagement.dao.EntityVersions.Collection.*;
+
+/**
+ * Runs an ordered list of write operations in one transaction on one connection.
+ *
+ * Each operation is {"op": "create|update|delete|assign", "type": "...", "ref": "...", "data": {...}}.
+ * Types: member, project, task (create/update/delete, "id" for delete), memberSkill
+ * {memberId, skillId, proficiencyLevel}, taskSkill {taskId, skillId, requiredLevel},
+ * dependency {taskId, dependsOnTaskId} (create only); assign takes {taskId, memberId}.
+ *
+ * A create may name its result with "ref"; a later operation refers to the new id with the
+ * string "$name" anywhere in its data or id. Consecutive operations of the same kind are
+ * sent as one JDBC batch, flushed before anything that reads back their ids or rows.
+ * Any failure rolls the whole batch back.
+ */
+public class BatchService {
+    private static final Logger logger = LoggerFactory.getLogger(BatchService.class);
+
+    public static final int MAX_OPERATIONS = 1000;
+    private static final Pattern REF = Pattern.compile("\\$[A-Za-z_][A-Za-z0-9_.-]*");
+    private static final Set<String> CREATES_WITH_ID =
+            new HashSet<>(Arrays.asList("create:member", "create:project", "create:task"));
+
+    private final Gson gson;
+    private final MemberDAO memberDAO;
+    private final ProjectDAO projectDAO;
+    private final TaskDAO taskDAO;
+
+    public BatchService(Gson gson) {
+        this.gson = gson;
+        this.memberDAO = new MemberDAO();
+        this.projectDAO = new ProjectDAO();
+        this.taskDAO = new TaskDAO();
+    }
+
+    public BatchResult execute(JsonArray operations) throws BatchException {
+        if (operations.size() > MAX_OPERATIONS) {
+            throw new BatchException(BatchException.Reason.INVALID, -1,
+                    "Too many operations (" + operations.size() + " > " + MAX_OPERATIONS + ")", null);
+        }
+        Connection conn = null;
+        Execution execution = null;
+        try {
+            conn = DatabaseUtil.getConnection();
+            conn.setAutoCommit(false);
+
+            execution = new Execution(conn);
+            for (int i = 0; i < operations.size(); i++) {
+                execution.apply(i, operations.get(i));
+            }
+            execution.flush();
+
+            conn.commit();
+            execution.bumps.forEach(Runnable::run);
+            logger.info("Batch of {} operations committed", operations.size());
+            return new BatchResult(execution.results, execution.refs);
+
+        } catch (SQLException | RuntimeException e) {
+            rollback(conn);
+            int index = execution != null ? execution.current : -1;
+            throw BatchException.of(index, e);
+        } catch (BatchException e) {
+            rollback(conn);
+            throw e;
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                } catch (SQLException e) {
+                    logger.error("Error closing connection", e);
+                }
+            }
+        }
+    }
+
+    private void rollback(Connection conn) {
+        if (conn != null) {
+            try {
+                conn.rollback();
+            } catch (SQLException ex) {
+                logger.error("Error rolling back transaction", ex);
+            }
+        }
+    }
+
+    /**
+     * State of one batch: resolved refs, results and the run of operations not yet sent.
+     */
+    private final class Execution {
+        final Connection conn;
+        final Map<String, Integer> refs = new LinkedHashMap<>();
+        final List<Map<String, Object>> results = new ArrayList<>();
+        final List<Runnable> bumps = new ArrayList<>();
+        int current = -1;
+
+        // Opérations consécutives de même nature, envoyées en un seul batch JDBC
+        String runKind;
+        final List<Object> runItems = new ArrayList<>();
+        final List<Map<String, Object>> runResults = new ArrayList<>();
+        final Map<String, Integer> runRefs = new HashMap<>();   // ref -> position dans le run
+        final List<Integer> runIndexes = new ArrayList<>();
+
+        Execution(Connection conn) {
+            this.conn = conn;
+        }
+
+        void apply(int index, JsonElement element) throws SQLException, BatchException {
+            current = index;
+            if (!element.isJsonObject()) {
+                throw invalid("operation must be an object");
+            }
+            JsonObject op = element.getAsJsonObject();
+            String action = string(op, "op");
+            String type = op.has("type") ? string(op, "type") : null;
+            String ref = op.has("ref") ? string(op, "ref") : null;
+            if (action == null) {
+                throw invalid("missing 'op'");
+            }
+            String kind = type != null ? action + ":" + type : action;
+            if (ref != null && !CREATES_WITH_ID.contains(kind)) {
+                throw invalid("'ref' is only allowed when creating a member, project or task");
+            }
+            if (ref != null && (refs.containsKey(ref) || runRefs.containsKey(ref))) {
+                throw invalid("duplicate ref '" + ref + "'");
+            }
+
+            // Une référence vers un élément encore en attente impose d'envoyer le batch d'abord
+            if (referencesPending(op)) {
+                flush();
+            }
+            JsonObject resolved = resolve(op).getAsJsonObject();
+            JsonObject data = resolved.has("data") && resolved.get("data").isJsonObject()
+                    ? resolved.getAsJsonObject("data") : new JsonObject();
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("op", action);
+            if (type != null) result.put("type", type);
+            if (ref != null) result.put("ref", ref);
+            results.add(result);
+
+            switch (kind) {
+                case "create:member":
+                    queue(kind, gson.fromJson(data, Member.class), ref, result);
+                    break;
+                case "create:project":
+                    queue(kind, gson.fromJson(data, Project.class), ref, result);
+                    break;
+                case "create:task":
+                    queue(kind, gson.fromJson(data, Task.class), ref, result);
+                    break;
+                case "create:memberSkill": {
+                    MemberSkill skill = new MemberSkill();
+                    skill.setMember(memberRef(requiredInt(data, "memberId")));
+                    skill.setSkill(skillRef(requiredInt(data, "skillId")));
+                    skill.setProficiencyLevel(requiredInt(data, "proficiencyLevel"));
+                    queue(kind, skill, null, result);
+                    break;
+                }
+                case "create:taskSkill": {
+                    TaskSkill skill = new TaskSkill();
+                    Task task = new Task();
+                    task.setId(requiredInt(data, "taskId"));
+                    skill.setTask(task);
+                    skill.setSkill(skillRef(requiredInt(data, "skillId")));
+                    skill.setRequiredLevel(requiredInt(data, "requiredLevel"));
+                    queue(kind, skill, null, result);
+                    break;
+                }
+                case "create:dependency":
+                    queue(kind, new int[] {requiredInt(data, "taskId"), requiredInt(data, "dependsOnTaskId")}, null, result);
+                    break;
+                case "update:member":
+                case "update:project":
+                case "update:task":
+                    flush();
+                    update(type, data);
+                    break;
+                case "delete:member":
+                case "delete:project":
+                case "delete:task":
+                    flush();
+                    delete(type, requiredInt(resolved, "id"));
+                    break;
+                case "assign": {
+                    flush();
+                    int taskId = requiredInt(data, "taskId");
+                    int memberId = requiredInt(data, "memberId");
+                    taskDAO.assignTaskToMember(conn, taskId, memberId);
+                    bumps.add(() -> {
+                        EntityVersions.bump(TASKS, taskId);
+                        EntityVersions.bump(MEMBERS, memberId);
+                        EntityVersions.bump(ALERTS);
+                    });
+                    break;
+                }
+                default:
+                    throw invalid("unsupported operation '" + kind + "'");
+            }
+        }
+
+        private void queue(String kind, Object item, String ref, Map<String, Object> result) throws SQLException {
+            if (!kind.equals(runKind)) {
+                flush();
+                runKind = kind;
+            }
+            if (ref != null) {
+                runRefs.put(ref, runItems.size());
+            }
+            runItems.add(item);
+            runResults.add(result);
+            runIndexes.add(current);
+        }
+
+        /**
+         * Sends the pending run as one JDBC batch and records the generated ids.
+         */
+        @SuppressWarnings("unchecked")
+        void flush() throws SQLException {
+            if (runKind == null) {
+                return;
+            }
+            int[] ids = null;
+            try {
+                switch (runKind) {
+                    case "create:member": {
+                        List<Member> members = (List<Member>) (List<?>) runItems;
+                        memberDAO.createAll(conn, members);
+                        ids = members.stream().mapToInt(Member::getId).toArray();
+                        bumpEach(MEMBERS, ids);
+                        break;
+                    }
+                    case "create:project": {
+                        List<Project> projects = (List<Project>) (List<?>) runItems;
+                        projectDAO.createAll(conn, projects);
+                        ids = projects.stream().mapToInt(Project::getId).toArray();
+                        bumpEach(PROJECTS, ids);
+                        break;
+                    }
+                    case "create:task": {
+                        List<Task> tasks = (List<Task>) (List<?>) runItems;
+                        taskDAO.createAll(conn, tasks);
+                        ids = tasks.stream().mapToInt(Task::getId).toArray();
+                        bumpEach(TASKS, ids);
+                        break;
+                    }
+                    case "create:memberSkill": {
+                        List<MemberSkill> skills = (List<MemberSkill>) (List<?>) runItems;
+                        memberDAO.addSkills(conn, skills);
+                        bumpEach(MEMBERS, skills.stream().mapToInt(s -> s.getMember().getId()).toArray());
+                        break;
+                    }
+                    case "create:taskSkill": {
+                        List<TaskSkill> skills = (List<TaskSkill>) (List<?>) runItems;
+                        taskDAO.addSkillRequirements(conn, skills);
+                        bumpEach(TASKS, skills.stream().mapToInt(s -> s.getTask().getId()).toArray());
+                        break;
+                    }
+                    case "create:dependency": {
+                        List<int[]> dependencies = (List<int[]>) (List<?>) runItems;
+                        taskDAO.addDependencies(conn, dependencies);
+                        bumpEach(TASKS, dependencies.stream().mapToInt(d -> d[0]).toArray());
+                        break;
+                    }
+                    default:
+                        throw new IllegalStateException(runKind);
+                }
+            } catch (SQLException e) {
+                current = failedIndex(e);
+                throw e;
+            }
+            if (ids != null) {
+                for (int i = 0; i < ids.length; i++) {
+                    runResults.get(i).put("id", ids[i]);
+                }
+                for (Map.Entry<String, Integer> e : runRefs.entrySet()) {
+                    refs.put(e.getKey(), ids[e.getValue()]);
+                }
+            }
+            runKind = null;
+            runItems.clear();
+            runResults.clear();
+            runRefs.clear();
+            runIndexes.clear();
+        }
+
+        /**
+         * Operation of the run that made the batch fail, from the driver's update counts
+         * when it reports them, else the first one of the run.
+         */
+        private int failedIndex(SQLException e) {
+            if (e instanceof BatchUpdateException) {
+                int[] counts = ((BatchUpdateException) e).getUpdateCounts();
+                int failed = counts.length;
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == Statement.EXECUTE_FAILED) {
+                        failed = i;
+                        break;
+                    }
+                }
+                if (failed < runIndexes.size()) {
+                    return runIndexes.get(failed);
+                }
+            }
+            return runIndexes.get(0);
+        }
+
+        private void update(String type, JsonObject data) throws SQLException, BatchException {
+            boolean found;
+            int id;
+            switch (type) {
+                case "member": {
+                    Member member = gson.fromJson(data, Member.class);
+                    id = member.getId();
+                    found = memberDAO.update(conn, member);
+                    bumps.add(() -> EntityVersions.bump(MEMBERS, id));
+                    break;
+                }
+                case "project": {
+                    Project project = gson.fromJson(data, Project.class);
+                    id = project.getId();
+                    found = projectDAO.update(conn, project);
+                    bumps.add(() -> EntityVersions.bump(PROJECTS, id));
+                    break;
+                }
+                default: {
+                    Task task = gson.fromJson(data, Task.class);
+                    id = task.getId();
+                    found = taskDAO.update(conn, task);
+                    bumps.add(() -> EntityVersions.bump(TASKS, id));
+                }
+            }
+            if (!found) {
+                throw new BatchException(BatchException.Reason.NOT_FOUND, current, type + " " + id + " not found", null);
+            }
+        }
+
+        private void delete(String type, int id) throws SQLException, BatchException {
+            boolean found;
+            switch (type) {
+                case "member":
+                    found = memberDAO.delete(conn, id);
+                    bumps.add(() -> {
+                        EntityVersions.bump(MEMBERS, id);
+                        EntityVersions.bump(TASKS, ALERTS);
+                    });
+                    break;
+                case "project":
+                    found = projectDAO.delete(conn, id);
+                    bumps.add(() -> {
+                        EntityVersions.bump(PROJECTS, id);
+                        EntityVersions.bump(TASKS, ALERTS);
+                    });
+                    break;
+                default:
+                    found = taskDAO.delete(conn, id);
+                    bumps.add(() -> {
+                        EntityVersions.bump(TASKS, id);
+                        EntityVersions.bump(ALERTS);
+                    });
+            }
+            if (!found) {
+                throw new BatchException(BatchException.Reason.NOT_FOUND, current, type + " " + id + " not found", null);
+            }
+        }
+
+        private void bumpEach(EntityVersions.Collection collection, int[] ids) {
+            bumps.add(() -> {
+                for (int id : ids) {
+                    EntityVersions.bump(collection, id);
+                }
+            });
+        }
+
+        private boolean referencesPending(JsonElement element) {
+            if (runRefs.isEmpty()) {
+                return false;
+            }
+            if (element.isJsonObject()) {
+                for (Map.Entry<String, JsonElement> e : element.getAsJsonObject().entrySet()) {
+                    if (!e.getKey().equals("ref") && referencesPending(e.getValue())) return true;
+                }
+            } else if (element.isJsonArray()) {
+                for (JsonElement child : element.getAsJsonArray()) {
+                    if (referencesPending(child)) return true;
+                }
+            } else if (isRef(element)) {
+                return runRefs.containsKey(element.getAsString().substring(1));
+            }
+            return false;
+        }
+
+        /**
+         * Copy of the element with every "$name" of a known ref replaced by its id.
+         */
+        private JsonElement resolve(JsonElement element) {
+            if (element.isJsonObject()) {
+                JsonObject copy = new JsonObject();
+                for (Map.Entry<String, JsonElement> e : element.getAsJsonObject().entrySet()) {
+                    copy.add(e.getKey(), e.getKey().equals("ref") ? e.getValue() : resolve(e.getValue()));
+                }
+                return copy;
+            }
+            if (element.isJsonArray()) {
+                JsonArray copy = new JsonArray();
+                for (JsonElement child : element.getAsJsonArray()) {
+                    copy.add(resolve(child));
+                }
+                return copy;
+            }
+            if (isRef(element)) {
+                Integer id = refs.get(element.getAsString().substring(1));
+                if (id != null) {
+                    return new JsonPrimitive(id);
+                }
+            }
+            return element;
+        }
+
+        private BatchException invalid(String message) {
+            return new BatchException(BatchException.Reason.INVALID, current, message, null);
+        }
+
+        private int requiredInt(JsonObject object, String field) throws BatchException {
+            JsonElement value = object.get(field);
+            if (value == null || !value.isJsonPrimitive() || !value.getAsJsonPrimitive().isNumber()) {
+                String detail = value != null && isRef(value) ? " (unknown ref " + value.getAsString() + ")" : "";
+                throw invalid("'" + field + "' must be an integer" + detail);
+            }
+            return value.getAsInt();
+        }
+
+        private String string(JsonObject object, String field) throws BatchException {
+            JsonElement value = object.get(field);
+            if (value == null || value.isJsonNull()) {
+                return null;
+            }
+            if (!value.isJsonPrimitive() || !value.getAsJsonPrimitive().isString()) {
+                throw invalid("'" + field + "' must be a string");
+            }
+            return value.getAsString();
+        }
+    }
+
+    private static boolean isRef(JsonElement element) {
+        return element.isJsonPrimitive() && element.getAsJsonPrimitive().isString()
+                && REF.matcher(element.getAsString()).matches();
+    }
+
+    private static Member memberRef(int id) {
+        Member member = new Member();
+        member.setId(id);
+        return member;
+    }
+
+    private static Skill skillRef(int id) {
+        Skill skill = new Skill();
+        skill.setId(id);
+        return skill;
+    }
+
+    public static class BatchResult {
+        private final List<Map<String, Object>> results;
+        private final Map<String, Integer> refs;
+
+        BatchResult(List<Map<String, Object>> results, Map<String, Integer> refs) {
+            this.results = results;
+            this.refs = refs;
+        }
+
+        /** One entry per operation, in order; creates of entities carry the new "id". */
+        public List<Map<String, Object>> getResults() {
+            return results;
+        }
+
+        public Map<String, Integer> getRefs() {
+            return refs;
+        }
+    }
+
+    /**
+     * Failure of one operation; nothing from the batch was kept.
+     */
+    public static class BatchException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        public enum Reason { INVALID, NOT_FOUND, CONFLICT, FAILED }
+
+        private final Reason reason;
+        private final int index;
+
+        BatchException(Reason reason, int index, String message, Throwable cause) {
+            super(index >= 0 ? "Operation " + index + ": " + message : message, cause);
+            this.reason = reason;
+            this.index = index;
+        }
+
+        static BatchException of(int index, Exception e) {
+            // Un BatchUpdateException enveloppe l'erreur de la ligne fautive
+            if (e instanceof BatchUpdateException && e.getCause() instanceof SQLException) {
+                e = (SQLException) e.getCause();
+            }
+            if (e instanceof SQLIntegrityConstraintViolationException) {
+                return new BatchException(Reason.CONFLICT, index, e.getMessage(), e);
+            }
+            if (e instanceof JsonParseException || e instanceof NumberFormatException) {
+                return new BatchException(Reason.INVALID, index, String.valueOf(e.getMessage()), e);
+            }
+            return new BatchException(Reason.FAILED, index, String.valueOf(e.getMessage()), e);
+        }
+
+        public Reason getReason() {
+            return reason;
+        }
+
+        /** Index of the failing operation, -1 if the batch as a whole was rejected. */
+        public int getIndex() {
+            return index;
+        }
+    }
+}
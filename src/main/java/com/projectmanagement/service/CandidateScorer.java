@@ -0,0 +1,201 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.model.Member;
+import com.projectmanagement.model.Task;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Scores the qualified members of one task at their current workloads and reduces them to
+ * the candidate(s) the allocation needs.
+ *
+ * From parallelThreshold qualified members on, their positions are split across a
+ * ForkJoinPool: each leaf keeps the best candidate of its range and the results are merged
+ * pairwise. Ties on score are broken by the lowest member id, sequential or not, so the
+ * choice doesn't depend on how the range was split. Only the scoring is parallel: the
+ * caller waits for the result and takes decisions, and updates workloads, on its own thread.
+ * Option (system property): allocation.parallel.minMembers (default 4096).
+ */
+final class CandidateScorer {
+    private static final int LEAF_SIZE = 1024;
+
+    private final int parallelThreshold;
+    private final int leafSize;
+    private final ForkJoinPool pool;
+
+    CandidateScorer(int parallelThreshold, int leafSize, ForkJoinPool pool) {
+        this.parallelThreshold = parallelThreshold;
+        this.leafSize = Math.max(1, leafSize);
+        this.pool = pool;
+    }
+
+    static CandidateScorer fromSystemProperties() {
+        return new CandidateScorer(Integer.getInteger("allocation.parallel.minMembers", 4096),
+                LEAF_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Qualified member with the best score, if at least minScore; null otherwise.
+     */
+    Pick best(Task task, List<Member> members, AllocationSnapshot snapshot, double minScore) {
+        AllocationSnapshot.Requirements required = snapshot.requirements(task);
+        return reduce(snapshot.candidates(required).stream().toArray(), new Reduction<Pick>() {
+            @Override
+            public Pick scan(int[] positions, int from, int to) {
+                Pick best = null;
+                for (int i = from; i < to; i++) {
+                    int position = positions[i];
+                    Member member = members.get(position);
+                    double score = TaskAllocationService.calculateMemberScore(task, member,
+                            snapshot.skillScore(required, position));
+                    if (score >= minScore && (best == null || Pick.higherScore(score, member.getId(), best))) {
+                        best = new Pick(position, member.getId(), score, finalWorkloadPct(member, task));
+                    }
+                }
+                return best;
+            }
+
+            @Override
+            public Pick merge(Pick left, Pick right) {
+                return Pick.byScore(left, right);
+            }
+        });
+    }
+
+    /**
+     * Qualified members other than excludedMemberId scoring at least minScore: the best
+     * score among those the task leaves under 100 %, and the lowest load after the task.
+     */
+    Rebalancing rebalancing(Task task, List<Member> members, AllocationSnapshot snapshot, int excludedMemberId,
+                            double minScore) {
+        AllocationSnapshot.Requirements required = snapshot.requirements(task);
+        return reduce(snapshot.candidates(required).stream().toArray(), new Reduction<Rebalancing>() {
+            @Override
+            public Rebalancing scan(int[] positions, int from, int to) {
+                Pick underLoad = null;
+                Pick lightest = null;
+                for (int i = from; i < to; i++) {
+                    int position = positions[i];
+                    Member member = members.get(position);
+                    if (member.getId() == excludedMemberId) {
+                        continue;
+                    }
+                    double score = TaskAllocationService.calculateMemberScore(task, member,
+                            snapshot.skillScore(required, position));
+                    if (!(score >= minScore)) {
+                        continue;
+                    }
+                    Pick candidate = new Pick(position, member.getId(), score, finalWorkloadPct(member, task));
+                    if (candidate.finalWorkloadPct < 100.0) {
+                        underLoad = Pick.byScore(underLoad, candidate);
+                    }
+                    lightest = Pick.byLoad(lightest, candidate);
+                }
+                return new Rebalancing(underLoad, lightest);
+            }
+
+            @Override
+            public Rebalancing merge(Rebalancing left, Rebalancing right) {
+                return new Rebalancing(Pick.byScore(left.underLoad, right.underLoad),
+                        Pick.byLoad(left.lightest, right.lightest));
+            }
+        });
+    }
+
+    private static double finalWorkloadPct(Member member, Task task) {
+        return (member.getCurrentWorkload() + task.getEstimatedHours()) / member.getWeeklyAvailability() * 100;
+    }
+
+    private <R> R reduce(int[] positions, Reduction<R> reduction) {
+        if (positions.length < parallelThreshold || positions.length <= leafSize) {
+            return reduction.scan(positions, 0, positions.length);
+        }
+        return pool.invoke(new Split<>(positions, 0, positions.length, reduction, leafSize));
+    }
+
+    private interface Reduction<R> {
+        R scan(int[] positions, int from, int to);
+
+        R merge(R left, R right);
+    }
+
+    private static final class Split<R> extends RecursiveTask<R> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] positions;
+        private final int from;
+        private final int to;
+        private final Reduction<R> reduction;
+        private final int leafSize;
+
+        Split(int[] positions, int from, int to, Reduction<R> reduction, int leafSize) {
+            this.positions = positions;
+            this.from = from;
+            this.to = to;
+            this.reduction = reduction;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from <= leafSize) {
+                return reduction.scan(positions, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            Split<R> left = new Split<>(positions, from, middle, reduction, leafSize);
+            left.fork();
+            R right = new Split<>(positions, middle, to, reduction, leafSize).compute();
+            return reduction.merge(left.join(), right);
+        }
+    }
+
+    /**
+     * One scored candidate: position in the members list, member id, score, and load after
+     * the task in percent.
+     */
+    static final class Pick {
+        final int position;
+        final int memberId;
+        final double score;
+        final double finalWorkloadPct;
+
+        Pick(int position, int memberId, double score, double finalWorkloadPct) {
+            this.position = position;
+            this.memberId = memberId;
+            this.score = score;
+            this.finalWorkloadPct = finalWorkloadPct;
+        }
+
+        private static boolean higherScore(double score, int memberId, Pick than) {
+            return score > than.score || (score == than.score && memberId < than.memberId);
+        }
+
+        static Pick byScore(Pick a, Pick b) {
+            if (a == null || b == null) {
+                return a != null ? a : b;
+            }
+            return higherScore(b.score, b.memberId, a) ? b : a;
+        }
+
+        static Pick byLoad(Pick a, Pick b) {
+            if (a == null || b == null) {
+                return a != null ? a : b;
+            }
+            boolean lighter = b.finalWorkloadPct < a.finalWorkloadPct
+                    || (b.finalWorkloadPct == a.finalWorkloadPct && b.memberId < a.memberId);
+            return lighter ? b : a;
+        }
+    }
+
+    static final class Rebalancing {
+        final Pick underLoad;
+        final Pick lightest;
+
+        Rebalancing(Pick underLoad, Pick lightest) {
+            this.underLoad = underLoad;
+            this.lightest = lightest;
+        }
+    }
+}
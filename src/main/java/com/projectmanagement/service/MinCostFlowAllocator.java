@@ -0,0 +1,386 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.model.Member;
+import com.projectmanagement.model.Task;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Allocation of a whole batch of tasks at once, as a min-cost flow in tenths of an hour:
+ * source → task (its hours) → qualified member → sink (the member's remaining hours).
+ *
+ * A task/member arc exists when the member holds the required skills, scores at least the
+ * competence threshold at their current load, and has the task's hours left; each hour
+ * placed there costs 1 - score. Each hour placed earns a reward that doubles with the
+ * task's priority level and exceeds any cost: the flow fills the members' hours with the
+ * most urgent work first, then picks the best-scoring members for it. Unlike the greedy
+ * pass, an early task can't take the only member a later one could get.
+ *
+ * Solved by successive shortest paths (primal-dual): Dijkstra on reduced costs, then as many
+ * augmentations as the zero reduced-cost arcs allow before the next Dijkstra. Costs are
+ * integers so that "zero" is exact. The flow may split a task between members or place only
+ * part of it (a few tasks, where members' hours run out): those are rounded afterwards, in
+ * priority order, to the member carrying most of them if the hours fit, else to the
+ * cheapest candidate with room, else to no one.
+ */
+final class MinCostFlowAllocator {
+    // Une unité de flot = 1/10 h
+    private static final int UNITS_PER_HOUR = 10;
+    // Scores au centième : peu de longueurs de chemin distinctes, donc peu de Dijkstra
+    private static final long SCALE = 100;
+    private static final long INF = Long.MAX_VALUE / 4;
+
+    private final int source;
+    private final int sink;
+    private final int[] head;
+    private int[] next = new int[1024];
+    private int[] to = new int[1024];
+    private int[] capacity = new int[1024];
+    private long[] cost = new long[1024];
+    private int edgeCount;
+    private final long[] potential;
+
+    private MinCostFlowAllocator(int nodeCount) {
+        source = 0;
+        sink = nodeCount - 1;
+        head = new int[nodeCount];
+        Arrays.fill(head, -1);
+        potential = new long[nodeCount];
+    }
+
+    /**
+     * Position in members of the member given each task of tasks (in the caller's priority
+     * order), -1 if none. Workloads of the Member objects are read, not changed.
+     */
+    static int[] solve(List<Task> tasks, List<Member> members, AllocationSnapshot snapshot) {
+        int taskCount = tasks.size();
+        int memberCount = members.size();
+        double[] room = new double[memberCount];
+        for (int m = 0; m < memberCount; m++) {
+            room[m] = members.get(m).getAvailableHours();
+        }
+
+        // Arcs tâche → membre, regroupés par tâche : pairStart[t] .. pairStart[t + 1]
+        int[] pairStart = new int[taskCount + 1];
+        int[] pairMember = new int[Math.max(16, taskCount)];
+        long[] pairCost = new long[pairMember.length];
+        int pairs = 0;
+        for (int t = 0; t < taskCount; t++) {
+            pairStart[t] = pairs;
+            Task task = tasks.get(t);
+            AllocationSnapshot.Requirements required = snapshot.requirements(task);
+            BitSet qualified = snapshot.candidates(required);
+            for (int m = qualified.nextSetBit(0); m >= 0; m = qualified.nextSetBit(m + 1)) {
+                if (task.getEstimatedHours() > room[m]) {
+                    continue;
+                }
+                double score = TaskAllocationService.calculateMemberScore(task, members.get(m),
+                        snapshot.skillScore(required, m));
+                if (!(score >= TaskAllocationService.MINIMUM_COMPETENCE_THRESHOLD)) {
+                    continue;   // NaN compris (disponibilité nulle)
+                }
+                if (pairs == pairMember.length) {
+                    pairMember = Arrays.copyOf(pairMember, pairs * 2);
+                    pairCost = Arrays.copyOf(pairCost, pairs * 2);
+                }
+                pairMember[pairs] = m;
+                pairCost[pairs] = Math.max(0, Math.round((1 - score) * SCALE));
+                pairs++;
+            }
+        }
+        pairStart[taskCount] = pairs;
+
+        // Noeuds : 0 source, 1..T tâches, T+1..T+M membres, puits
+        MinCostFlowAllocator flow = new MinCostFlowAllocator(taskCount + memberCount + 2);
+        int firstMember = taskCount + 1;
+        int[] units = new int[taskCount];
+        for (int t = 0; t < taskCount; t++) {
+            if (pairStart[t] == pairStart[t + 1]) {
+                continue;
+            }
+            Task task = tasks.get(t);
+            units[t] = Math.max(1, (int) Math.round(task.getEstimatedHours() * UNITS_PER_HOUR));
+            // Coûts par unité (1/10 h) ; une heure pèse deux heures du niveau de priorité en dessous
+            flow.addEdge(flow.source, 1 + t, units[t], -(SCALE << task.getPriorityScore()));
+            for (int p = pairStart[t]; p < pairStart[t + 1]; p++) {
+                flow.addEdge(1 + t, firstMember + pairMember[p], units[t], pairCost[p]);
+            }
+        }
+        for (int m = 0; m < memberCount; m++) {
+            int roomUnits = (int) Math.floor(room[m] * UNITS_PER_HOUR);
+            if (roomUnits > 0) {
+                flow.addEdge(firstMember + m, flow.sink, roomUnits, 0);
+            }
+        }
+
+        flow.initialPotentials(taskCount, memberCount);
+        flow.run();
+
+        // Tâches entièrement placées sur un membre : elles tiennent dans ses heures par construction
+        int[] assigned = new int[taskCount];
+        int[] preferred = new int[taskCount];
+        Arrays.fill(assigned, -1);
+        Arrays.fill(preferred, -1);
+        double[] left = room.clone();
+        for (int t = 0; t < taskCount; t++) {
+            int most = 0;
+            for (int e = flow.head[1 + t]; e >= 0; e = flow.next[e]) {
+                int carried = flow.capacity[e ^ 1];
+                if ((e & 1) == 0 && flow.to[e] >= firstMember && carried > most) {
+                    most = carried;
+                    preferred[t] = flow.to[e] - firstMember;
+                }
+            }
+            if (most == units[t] && most > 0) {
+                assigned[t] = preferred[t];
+                left[assigned[t]] -= tasks.get(t).getEstimatedHours();
+            }
+        }
+        for (int t = 0; t < taskCount; t++) {
+            if (assigned[t] < 0 && pairStart[t] < pairStart[t + 1]) {
+                assigned[t] = round(tasks.get(t).getEstimatedHours(), preferred[t], left,
+                        pairStart[t], pairStart[t + 1], pairMember, pairCost);
+            }
+        }
+        return assigned;
+    }
+
+    /**
+     * Member for a task the flow split or placed in part: the one carrying most of it if
+     * the hours fit, else the cheapest candidate with room, else -1.
+     */
+    private static int round(double hours, int preferred, double[] left,
+                             int from, int until, int[] pairMember, long[] pairCost) {
+        int chosen = preferred >= 0 && hours <= left[preferred] ? preferred : -1;
+        if (chosen < 0) {
+            long best = Long.MAX_VALUE;
+            for (int p = from; p < until; p++) {
+                if (hours <= left[pairMember[p]] && pairCost[p] < best) {
+                    best = pairCost[p];
+                    chosen = pairMember[p];
+                }
+            }
+        }
+        if (chosen >= 0) {
+            left[chosen] -= hours;
+        }
+        return chosen;
+    }
+
+    private void addEdge(int from, int target, int units, long edgeCost) {
+        if (edgeCount + 2 > to.length) {
+            int size = to.length * 2;
+            next = Arrays.copyOf(next, size);
+            to = Arrays.copyOf(to, size);
+            capacity = Arrays.copyOf(capacity, size);
+            cost = Arrays.copyOf(cost, size);
+        }
+        // Arc e et son arc résiduel e ^ 1
+        link(from, target, units, edgeCost);
+        link(target, from, 0, -edgeCost);
+    }
+
+    private void link(int from, int target, int units, long edgeCost) {
+        to[edgeCount] = target;
+        capacity[edgeCount] = units;
+        cost[edgeCount] = edgeCost;
+        next[edgeCount] = head[from];
+        head[from] = edgeCount++;
+    }
+
+    /**
+     * Shortest distances from the source in the initial graph, which has no cycle (source,
+     * tasks, members, sink): reduced costs are then non-negative despite the rewards.
+     */
+    private void initialPotentials(int taskCount, int memberCount) {
+        Arrays.fill(potential, INF);
+        potential[source] = 0;
+        for (int node = 0; node <= taskCount + memberCount; node++) {
+            if (potential[node] == INF) {
+                continue;
+            }
+            for (int e = head[node]; e >= 0; e = next[e]) {
+                if (capacity[e] > 0 && potential[node] + cost[e] < potential[to[e]]) {
+                    potential[to[e]] = potential[node] + cost[e];
+                }
+            }
+        }
+    }
+
+    private void run() {
+        int nodeCount = head.length;
+        long[] dist = new long[nodeCount];
+        int[] arc = new int[nodeCount];
+        int[] path = new int[nodeCount];
+        boolean[] onPath = new boolean[nodeCount];
+        boolean[] dead = new boolean[nodeCount];
+        Heap heap = new Heap(nodeCount);
+
+        while (shortestPaths(dist, heap) && potential[sink] - potential[source] < 0) {
+            // Toutes les augmentations possibles sur les arcs de coût réduit nul
+            System.arraycopy(head, 0, arc, 0, nodeCount);
+            Arrays.fill(dead, false);
+            while (augment(arc, path, onPath, dead)) {
+                // chemin suivant
+            }
+        }
+    }
+
+    /**
+     * Dijkstra on reduced costs from the source, stopped once the sink is settled, then
+     * potentials += min(distance, distance to the sink): reduced costs stay non-negative and
+     * are zero along the shortest paths. False if the sink can't be reached.
+     */
+    private boolean shortestPaths(long[] dist, Heap heap) {
+        Arrays.fill(dist, INF);
+        dist[source] = 0;
+        heap.push(0, source);
+        while (!heap.isEmpty()) {
+            long d = heap.topKey();
+            int node = heap.pop();
+            if (d > dist[node]) {
+                continue;
+            }
+            if (node == sink) {
+                break;
+            }
+            for (int e = head[node]; e >= 0; e = next[e]) {
+                if (capacity[e] == 0) {
+                    continue;
+                }
+                int target = to[e];
+                long candidate = d + cost[e] + potential[node] - potential[target];
+                if (candidate < dist[target]) {
+                    dist[target] = candidate;
+                    heap.push(candidate, target);
+                }
+            }
+        }
+        heap.clear();
+        if (dist[sink] == INF) {
+            return false;
+        }
+        long limit = dist[sink];
+        for (int node = 0; node < dist.length; node++) {
+            potential[node] += Math.min(dist[node], limit);
+        }
+        return true;
+    }
+
+    /**
+     * Pushes the bottleneck of one path of zero reduced-cost arcs, found by an iterative
+     * depth-first search that resumes each node at its current arc; nodes with no way out
+     * are skipped until the next Dijkstra.
+     */
+    private boolean augment(int[] arc, int[] path, boolean[] onPath, boolean[] dead) {
+        int depth = 0;
+        int node = source;
+        onPath[source] = true;
+        while (node != sink) {
+            int e = arc[node];
+            while (e >= 0 && (capacity[e] == 0 || onPath[to[e]] || dead[to[e]]
+                    || cost[e] + potential[node] - potential[to[e]] != 0)) {
+                e = next[e];
+            }
+            arc[node] = e;
+            if (e >= 0) {
+                path[depth++] = e;
+                node = to[e];
+                onPath[node] = true;
+            } else {
+                dead[node] = true;
+                onPath[node] = false;
+                if (node == source) {
+                    return false;
+                }
+                int back = path[--depth];
+                node = to[back ^ 1];
+                arc[node] = next[arc[node]];
+            }
+        }
+        int pushed = Integer.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            pushed = Math.min(pushed, capacity[path[i]]);
+        }
+        onPath[source] = false;
+        for (int i = 0; i < depth; i++) {
+            int e = path[i];
+            capacity[e] -= pushed;
+            capacity[e ^ 1] += pushed;
+            onPath[to[e]] = false;
+        }
+        return true;
+    }
+
+    /**
+     * Binary min-heap of (distance, node), without boxing; a node may be in it several times.
+     */
+    private static final class Heap {
+        private long[] keys;
+        private int[] nodes;
+        private int size;
+
+        Heap(int capacity) {
+            keys = new long[Math.max(16, capacity)];
+            nodes = new int[keys.length];
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long topKey() {
+            return keys[0];
+        }
+
+        void push(long key, int node) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                nodes = Arrays.copyOf(nodes, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (keys[parent] <= key) {
+                    break;
+                }
+                keys[i] = keys[parent];
+                nodes[i] = nodes[parent];
+                i = parent;
+            }
+            keys[i] = key;
+            nodes[i] = node;
+        }
+
+        int pop() {
+            int top = nodes[0];
+            long key = keys[--size];
+            int node = nodes[size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+                if (keys[child] >= key) {
+                    break;
+                }
+                keys[i] = keys[child];
+                nodes[i] = nodes[child];
+                i = child;
+            }
+            keys[i] = key;
+            nodes[i] = node;
+            return top;
+        }
+    }
+}
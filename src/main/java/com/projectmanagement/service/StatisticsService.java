@@ -1,8 +1,10 @@
 package com.projectmanagement.service;
 
-import com.projectmanagement.dao.MemberDAO;
-import com.projectmanagement.dao.ProjectDAO;
-import com.projectmanagement.dao.TaskDAO;
+import com.projectmanagement.dao.JdbcStorage;
+import com.projectmanagement.dao.MemberRepository;
+import com.projectmanagement.dao.ProjectRepository;
+import com.projectmanagement.dao.Storage;
+import com.projectmanagement.dao.TaskRepository;
 import com.projectmanagement.model.Member;
 import com.projectmanagement.model.Project;
 import com.projectmanagement.model.Task;
@@ -14,14 +16,18 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 public class StatisticsService {
-    private final MemberDAO memberDAO;
-    private final ProjectDAO projectDAO;
-    private final TaskDAO taskDAO;
+    private final MemberRepository memberDAO;
+    private final ProjectRepository projectDAO;
+    private final TaskRepository taskDAO;
 
     public StatisticsService() {
-        this.memberDAO = new MemberDAO();
-        this.projectDAO = new ProjectDAO();
-        this.taskDAO = new TaskDAO(); 
+        this(new JdbcStorage());
+    }
+
+    public StatisticsService(Storage storage) {
+        this.memberDAO = storage.members();
+        this.projectDAO = storage.projects();
+        this.taskDAO = storage.tasks();
     }
 
     public Map<String, Object> getProjectStatistics(int projectId) throws SQLException {
@@ -1,8 +1,10 @@
 package com.projectmanagement.service;
 
-import com.projectmanagement.dao.AlertDAO;
-import com.projectmanagement.dao.MemberDAO;
-import com.projectmanagement.dao.TaskDAO;
+import com.projectmanagement.dao.AlertRepository;
+import com.projectmanagement.dao.JdbcStorage;
+import com.projectmanagement.dao.MemberRepository;
+import com.projectmanagement.dao.Storage;
+import com.projectmanagement.dao.TaskRepository;
 import com.projectmanagement.model.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,7 +21,7 @@ public class TaskAllocationService {
      * - 0.6 = Compétences moyennes à bonnes requises (60%)
      * Ce seuil garantit qu'on n'affecte pas de tâches à des personnes non compétentes
      */
-    private static final double MINIMUM_COMPETENCE_THRESHOLD = 0.6;
+    static final double MINIMUM_COMPETENCE_THRESHOLD = 0.6;
     
     /**
      * Seuil pour le rééquilibrage (identique au seuil d'affectation)
@@ -27,18 +29,56 @@ public class TaskAllocationService {
      */
     private static final double REBALANCING_COMPETENCE_THRESHOLD = 0.6;
     
-    private final TaskDAO taskDAO;
-    private final MemberDAO memberDAO;
-    private final AlertDAO alertDAO;
+    /**
+     * How unassigned tasks are given out: GREEDY takes them in priority order and gives each
+     * to its best-scoring member; OPTIMAL solves the whole batch as a min-cost flow
+     * ({@link MinCostFlowAllocator}) within the members' remaining hours. Rebalancing of
+     * overloaded members is the same in both modes.
+     */
+    public enum Mode {
+        GREEDY, OPTIMAL
+    }
+    
+    private final Storage storage;
+    private final TaskRepository taskDAO;
+    private final MemberRepository memberDAO;
+    private final AlertRepository alertDAO;
+    private final CandidateScorer scorer;
 
     public TaskAllocationService() {
-        this.taskDAO = new TaskDAO();
-        this.memberDAO = new MemberDAO();
-        this.alertDAO = new AlertDAO();
+        this(new JdbcStorage());
     }
 
+    public TaskAllocationService(Storage storage) {
+        this(storage, CandidateScorer.fromSystemProperties());
+    }
+
+    TaskAllocationService(Storage storage, CandidateScorer scorer) {
+        this.storage = storage;
+        this.scorer = scorer;
+        this.taskDAO = storage.tasks();
+        this.memberDAO = storage.members();
+        this.alertDAO = storage.alerts();
+    }
+
+    /**
+     * Runs the whole allocation (rebalancing, assignments, workloads, alerts) as one unit
+     * of the storage: with JDBC a single connection, committed at the end.
+     *
+     * Decisions are taken in memory on the members and tasks read at the start and collected
+     * in an {@link AllocationPlan}; the plan is then written with one batch per table, so the
+     * run applies entirely or not at all, in a fixed number of round trips.
+     */
     public AllocationResult allocateTasks(int projectId) throws SQLException {
-        logger.info("Starting task allocation for project: {}", projectId);
+        return allocateTasks(projectId, Mode.GREEDY);
+    }
+
+    public AllocationResult allocateTasks(int projectId, Mode mode) throws SQLException {
+        return storage.inTransaction(() -> allocate(projectId, mode));
+    }
+
+    private AllocationResult allocate(int projectId, Mode mode) throws SQLException {
+        logger.info("Starting task allocation for project: {} ({})", projectId, mode);
         
         List<Task> unassignedTasks = taskDAO.findUnassignedByProject(projectId);
         
@@ -51,8 +91,18 @@ public class TaskAllocationService {
             return new AllocationResult(0, unassignedTasks.size(), "No available members");
         }
         
+        // Compétences des membres en tableaux, lues une fois pour tout le calcul des scores
+        AllocationSnapshot snapshot = AllocationSnapshot.of(availableMembers);
+        
+        AllocationPlan plan = new AllocationPlan();
+        // Membres par id : les charges modifiées en phase 1 sont vues en phase 2
+        Map<Integer, Member> membersById = new HashMap<>();
+        for (Member member : availableMembers) {
+            membersById.put(member.getId(), member);
+        }
+        
         logger.info("Checking for existing overloaded members before allocation");
-        checkExistingOverloads(projectId);
+        checkExistingOverloads(projectId, availableMembers, todoTasksFromOverloadedMembers, plan);
         
         int assignedCount = 0;
         int failedCount = 0;
@@ -65,14 +115,15 @@ public class TaskAllocationService {
             if (task.getAssignedMember() == null) continue;
             
             try {
-                Member currentMember = memberDAO.findById(task.getAssignedMember().getId());
+                Member currentMember = membersById.get(task.getAssignedMember().getId());
+                if (currentMember == null) continue;
                 logger.info("Evaluating task '{}' assigned to '{}' ({}%)", 
                     task.getTitle(), currentMember.getName(), 
                     String.format("%.1f", currentMember.getWorkloadPercentage()));
                 
                 if (currentMember.getWorkloadPercentage() > 100) {
                     logger.info("Member is overloaded, searching for better member...");
-                    Member betterMember = findBetterMember(task, availableMembers, currentMember);
+                    Member betterMember = findBetterMember(task, availableMembers, currentMember, snapshot);
                     
                     if (betterMember != null && betterMember.getId() != currentMember.getId()) {
                         logger.info("Rebalancing task '{}' from '{}' ({}%) to '{}' ({}%)", 
@@ -83,11 +134,11 @@ public class TaskAllocationService {
                             String.format("%.1f", betterMember.getWorkloadPercentage()));
                         
                         currentMember.setCurrentWorkload(currentMember.getCurrentWorkload() - task.getEstimatedHours());
-                        memberDAO.updateWorkload(currentMember.getId(), currentMember.getCurrentWorkload());
+                        plan.addWorkload(currentMember, -task.getEstimatedHours());
                         
-                        assignTaskToMember(task, betterMember);
+                        assignTaskToMember(task, betterMember, plan);
                         betterMember.setCurrentWorkload(betterMember.getCurrentWorkload() + task.getEstimatedHours());
-                        memberDAO.updateWorkload(betterMember.getId(), betterMember.getCurrentWorkload());
+                        plan.addWorkload(betterMember, task.getEstimatedHours());
                         
                         rebalancedCount++;
                     }
@@ -100,29 +151,35 @@ public class TaskAllocationService {
         logger.info("Phase 2: Assigning unassigned tasks");
         if (!unassignedTasks.isEmpty()) {
             List<Task> sortedTasks = prioritizeTasks(unassignedTasks);
+            // Mode optimal : toutes les décisions d'abord, sur les charges après la phase 1
+            int[] solved = mode == Mode.OPTIMAL
+                ? MinCostFlowAllocator.solve(sortedTasks, availableMembers, snapshot)
+                : null;
             
-            for (Task task : sortedTasks) {
+            for (int i = 0; i < sortedTasks.size(); i++) {
+                Task task = sortedTasks.get(i);
                 try {
-                    Member bestMember = findBestMember(task, availableMembers);
+                    Member bestMember = solved == null ? findBestMember(task, availableMembers, snapshot)
+                        : solved[i] >= 0 ? availableMembers.get(solved[i]) : null;
                     
                     if (bestMember != null) {
-                        assignTaskToMember(task, bestMember);
+                        assignTaskToMember(task, bestMember, plan);
                         
                         bestMember.setCurrentWorkload(
                             bestMember.getCurrentWorkload() + task.getEstimatedHours()
                         );
-                        memberDAO.updateWorkload(bestMember.getId(), bestMember.getCurrentWorkload());
+                        plan.addWorkload(bestMember, task.getEstimatedHours());
                         
                         assignedCount++;
                         logger.info("Assigned task '{}' to member '{}'", task.getTitle(), bestMember.getName());
                         
                         if (bestMember.isOverloaded()) {
-                            createOverloadAlert(bestMember, task);
+                            plan.alerts.add(overloadAlert(bestMember, task));
                         }
                     } else {
                         failedCount++;
                         logger.warn("Could not find suitable member for task: {}", task.getTitle());
-                        createNoSuitableMemberAlert(task, projectId);
+                        plan.alerts.add(noSuitableMemberAlert(task, projectId));
                     }
                 } catch (Exception e) {
                     failedCount++;
@@ -131,6 +188,8 @@ public class TaskAllocationService {
             }
         }
         
+        persist(plan);
+        
         String message = String.format("Assigned %d new tasks, rebalanced %d tasks, failed %d", 
             assignedCount, rebalancedCount, failedCount);
         logger.info("Allocation complete: {}", message);
@@ -138,123 +197,66 @@ public class TaskAllocationService {
         return new AllocationResult(assignedCount + rebalancedCount, failedCount, message);
     }
     
-    private Member findBetterMember(Task task, List<Member> members, Member currentMember) {
+    private Member findBetterMember(Task task, List<Member> members, Member currentMember, AllocationSnapshot snapshot) {
         double currentFinalWorkload = (currentMember.getCurrentWorkload() / currentMember.getWeeklyAvailability()) * 100;
         
         logger.info("Searching for better member than '{}' (current: {}%)", 
             currentMember.getName(), 
             String.format("%.1f", currentMember.getWorkloadPercentage()));
         
-        List<CandidateEvaluation> candidates = new ArrayList<>();
+        CandidateScorer.Rebalancing candidates = scorer.rebalancing(task, members, snapshot,
+            currentMember.getId(), REBALANCING_COMPETENCE_THRESHOLD);
         
-        for (Member member : members) {
-            if (member.getId() == currentMember.getId()) {
-                continue;
-            }
-            
-            double score = calculateMemberScore(task, member);
-            
-            if (score < REBALANCING_COMPETENCE_THRESHOLD) {
-                logger.debug("Skipping '{}' - insufficient score ({:.3f} < {:.2f})", 
-                    member.getName(), score, REBALANCING_COMPETENCE_THRESHOLD);
-                continue;
-            }
-            
-            double newWorkload = member.getCurrentWorkload() + task.getEstimatedHours();
-            double finalWorkloadPct = (newWorkload / member.getWeeklyAvailability()) * 100;
-            
-            candidates.add(new CandidateEvaluation(member, score, finalWorkloadPct));
-            
-            logger.info("  Candidate '{}': score={:.3f}, current={}%, would be={}%", 
-                member.getName(), score,
-                String.format("%.1f", member.getWorkloadPercentage()),
-                String.format("%.1f", finalWorkloadPct));
-        }
-        
-        if (candidates.isEmpty()) {
+        if (candidates.lightest == null) {
             logger.info("No qualified candidates found");
             return null;
         }
         
-        Member bestWithoutOverload = candidates.stream()
-            .filter(c -> c.finalWorkloadPct < 100.0)
-            .sorted((c1, c2) -> Double.compare(c2.score, c1.score))
-            .map(c -> c.member)
-            .findFirst()
-            .orElse(null);
-        
-        if (bestWithoutOverload != null) {
-            CandidateEvaluation selected = candidates.stream()
-                .filter(c -> c.member.getId() == bestWithoutOverload.getId())
-                .findFirst()
-                .get();
-            
+        CandidateScorer.Pick selected = candidates.underLoad;
+        if (selected != null) {
             logger.info("PHASE 1 SUCCESS: Selected '{}' (score={:.3f}, final={}%) - NO overload!", 
-                selected.member.getName(), selected.score, String.format("%.1f", selected.finalWorkloadPct));
+                members.get(selected.position).getName(), selected.score, String.format("%.1f", selected.finalWorkloadPct));
             
             if (selected.finalWorkloadPct < currentFinalWorkload) {
-                return bestWithoutOverload;
+                return members.get(selected.position);
             }
         }
         
         // PHASE 2 : Tous seront surchargés, choisir celui avec la SURCHARGE MINIMALE
         logger.info("PHASE 2: All candidates will be overloaded, selecting minimum overload");
         
-        CandidateEvaluation bestMinimalOverload = candidates.stream()
-            .min((c1, c2) -> Double.compare(c1.finalWorkloadPct, c2.finalWorkloadPct))
-            .orElse(null);
-        
-        if (bestMinimalOverload != null && bestMinimalOverload.finalWorkloadPct < currentFinalWorkload) {
+        CandidateScorer.Pick bestMinimalOverload = candidates.lightest;
+        if (bestMinimalOverload.finalWorkloadPct < currentFinalWorkload) {
             logger.info("PHASE 2 SUCCESS: Selected '{}' (score={:.3f}, final={}%) - minimal overload", 
-                bestMinimalOverload.member.getName(), 
+                members.get(bestMinimalOverload.position).getName(), 
                 bestMinimalOverload.score, 
                 String.format("%.1f", bestMinimalOverload.finalWorkloadPct));
-            return bestMinimalOverload.member;
+            return members.get(bestMinimalOverload.position);
         }
         
         logger.info("No better member found (current {}% is already optimal)", 
             String.format("%.1f", currentFinalWorkload));
         return null;
     }
-    
-    private static class CandidateEvaluation {
-        Member member;
-        double score;
-        double finalWorkloadPct;
-        
-        CandidateEvaluation(Member member, double score, double finalWorkloadPct) {
-            this.member = member;
-            this.score = score;
-            this.finalWorkloadPct = finalWorkloadPct;
-        }
-    }
 
-    private Member findBestMember(Task task, List<Member> members) {
-        Member bestMember = null;
-        double bestScore = -1;
-        
-        for (Member member : members) {
-            double score = calculateMemberScore(task, member);
-            
-            if (score >= MINIMUM_COMPETENCE_THRESHOLD && score > bestScore) {
-                bestScore = score;
-                bestMember = member;
-            }
-        }
+    private Member findBestMember(Task task, List<Member> members, AllocationSnapshot snapshot) {
+        // Seuls les membres ayant toutes les compétences requises sont évalués ; à score égal, le plus petit id
+        CandidateScorer.Pick best = scorer.best(task, members, snapshot, MINIMUM_COMPETENCE_THRESHOLD);
         
-        if (bestMember != null) {
+        if (best != null) {
             logger.info("Selected member '{}' with score {:.3f} (threshold: {:.2f})", 
-                bestMember.getName(), bestScore, MINIMUM_COMPETENCE_THRESHOLD);
-        } else {
-            logger.warn("No member found with sufficient competence (threshold: {:.2f})", 
-                MINIMUM_COMPETENCE_THRESHOLD);
+                members.get(best.position).getName(), best.score, MINIMUM_COMPETENCE_THRESHOLD);
+            return members.get(best.position);
         }
-        
-        return bestMember;
+        logger.warn("No member found with sufficient competence (threshold: {:.2f})", 
+            MINIMUM_COMPETENCE_THRESHOLD);
+        return null;
     }
 
-    private double calculateMemberScore(Task task, Member member) {
-        double skillScore = calculateSkillScore(task, member);
+    /**
+     * @param skillScore see {@link AllocationSnapshot#skillScore}
+     */
+    static double calculateMemberScore(Task task, Member member, double skillScore) {
         double priorityBonus = task.getPriorityScore() * 0.025;
         
         if (skillScore == 0) {
@@ -276,48 +278,13 @@ public class TaskAllocationService {
                            (workloadScore * 0.4) + 
                            priorityBonus;
         
-        logger.debug("Member {} score for task {}: {:.3f} (skill={:.2f}, newWorkload={:.1f}%, workloadScore={:.2f})",
-                    member.getName(), task.getTitle(), totalScore, skillScore, newWorkloadPercentage, workloadScore);
-        
-        return totalScore;
-    }
-
-    private double calculateSkillScore(Task task, Member member) {
-        List<TaskSkill> requiredSkills = task.getRequiredSkills();
-        
-        if (requiredSkills.isEmpty()) {
-            return 0.5;
-        }
-        
-        int matchedSkills = 0;
-        int totalSkillLevel = 0;
-        int maxSkillLevel = 0;
-        
-        for (TaskSkill taskSkill : requiredSkills) {
-            maxSkillLevel += taskSkill.getRequiredLevel();
-            
-            Optional<MemberSkill> memberSkill = member.getSkills().stream()
-                .filter(ms -> ms.getSkill().equals(taskSkill.getSkill()))
-                .findFirst();
-            
-            if (memberSkill.isPresent()) {
-                int proficiency = memberSkill.get().getProficiencyLevel();
-                if (proficiency >= taskSkill.getRequiredLevel()) {
-                    matchedSkills++;
-                    totalSkillLevel += proficiency;
-                } else {
-                    return 0;
-                }
-            } else {
-                return 0;
-            }
-        }
-        
-        if (requiredSkills.size() == matchedSkills) {
-            return Math.min(1.0, (double) totalSkillLevel / maxSkillLevel);
+        // Appelé pour chaque couple (tâche, membre) : pas de tableau varargs ni de boxing si le debug est coupé
+        if (logger.isDebugEnabled()) {
+            logger.debug("Member {} score for task {}: {:.3f} (skill={:.2f}, newWorkload={:.1f}%, workloadScore={:.2f})",
+                        member.getName(), task.getTitle(), totalScore, skillScore, newWorkloadPercentage, workloadScore);
         }
         
-        return 0;
+        return totalScore;
     }
 
     private double calculateAvailabilityScore(Task task, Member member) {
@@ -364,8 +331,19 @@ public class TaskAllocationService {
             .collect(Collectors.toList());
     }
 
-    private void assignTaskToMember(Task task, Member member) throws SQLException {
-        taskDAO.assignTask(task.getId(), member.getId());
+    /**
+     * Writes the plan: one batch of assignments, one of workload deltas, one of alerts.
+     */
+    private void persist(AllocationPlan plan) throws SQLException {
+        taskDAO.assignAll(plan.assignees);
+        memberDAO.addWorkloads(plan.workloads);
+        alertDAO.createAll(plan.alerts);
+        logger.info("Persisted {} assignments, {} workloads, {} alerts",
+            plan.assignees.size(), plan.workloads.size(), plan.alerts.size());
+    }
+
+    private void assignTaskToMember(Task task, Member member, AllocationPlan plan) {
+        plan.assignees.put(task.getId(), member.getId());
         
         if (task.getAssignedMember() == null) {
             task.setAssignedMember(new Member());
@@ -374,16 +352,7 @@ public class TaskAllocationService {
         task.getAssignedMember().setName(member.getName());
     }
     
-    public void checkAndCreateOverloadAlert(int memberId, int taskId) throws SQLException {
-        Member member = memberDAO.findById(memberId);
-        Task task = taskDAO.findById(taskId);
-        
-        if (member != null && task != null && member.isOverloaded()) {
-            createOverloadAlert(member, task);
-        }
-    }
-
-    private void createOverloadAlert(Member member, Task task) throws SQLException {
+    private Alert overloadAlert(Member member, Task task) {
         Alert alert = new Alert();
         alert.setType(Alert.AlertType.OVERLOAD);
         alert.setSeverity(Alert.Severity.HIGH);
@@ -404,10 +373,10 @@ public class TaskAllocationService {
         alertTask.setTitle(task.getTitle());
         alert.setTask(alertTask);
         
-        alertDAO.create(alert);
+        return alert;
     }
 
-    private void createNoSuitableMemberAlert(Task task, int projectId) throws SQLException {
+    private Alert noSuitableMemberAlert(Task task, int projectId) {
         Alert alert = new Alert();
         alert.setType(Alert.AlertType.CONFLICT);
         alert.setSeverity(Alert.Severity.CRITICAL);
@@ -427,7 +396,23 @@ public class TaskAllocationService {
         alertTask.setTitle(task.getTitle());
         alert.setTask(alertTask);
         
-        alertDAO.create(alert);
+        return alert;
+    }
+
+    /**
+     * Writes decided by one allocation run, kept until the run is over: task assignees,
+     * hours added to (or taken from) each member whose load changed, and alerts, in decision
+     * order. Workloads are kept as deltas: an assignment made elsewhere while the run was
+     * deciding stays counted once the plan is written.
+     */
+    private static class AllocationPlan {
+        final Map<Integer, Integer> assignees = new LinkedHashMap<>();
+        final Map<Integer, Double> workloads = new LinkedHashMap<>();
+        final List<Alert> alerts = new ArrayList<>();
+        
+        void addWorkload(Member member, double hours) {
+            workloads.merge(member.getId(), hours, Double::sum);
+        }
     }
 
     public static class AllocationResult {
@@ -458,10 +443,9 @@ public class TaskAllocationService {
         }
     }
     
-    private void checkExistingOverloads(int projectId) throws SQLException {
-        List<Member> allMembers = memberDAO.findAll();
-        List<Task> projectTasks = taskDAO.findByProjectAndStatus(projectId, Task.TaskStatus.TODO);
-        
+    private void checkExistingOverloads(int projectId, List<Member> allMembers, List<Task> todoTasks,
+                                        AllocationPlan plan) throws SQLException {
+        List<Task> projectTasks = new ArrayList<>(todoTasks);
         projectTasks.addAll(taskDAO.findByProjectAndStatus(projectId, Task.TaskStatus.IN_PROGRESS));
         
         for (Member member : allMembers) {
@@ -476,7 +460,7 @@ public class TaskAllocationService {
                 if (lastTask != null) {
                     logger.info("Creating overload alert for existing overloaded member: {} ({}%)", 
                         member.getName(), String.format("%.1f", member.getWorkloadPercentage()));
-                    createOverloadAlert(member, lastTask);
+                    plan.alerts.add(overloadAlert(member, lastTask));
                 }
             }
         }
@@ -8,23 +8,85 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.Properties;
+import javax.sql.DataSource;
 
 public class DatabaseUtil {
     private static final Logger logger = LoggerFactory.getLogger(DatabaseUtil.class);
-    private static HikariDataSource dataSource;
+    private static volatile DataSource dataSource;
+    private static volatile ReadReplica replica;
+    private static volatile long readAfterWriteMillis = 1000;
+    private static volatile long lastWriteAt;
 
-    static {
-        try {
-            initializeDataSource();
-        } catch (Exception e) {
-            logger.error("Failed to initialize database connection pool", e);
-            throw new RuntimeException("Database initialization failed", e);
+    /**
+     * Largest IN (...) list used for set-based loading of child rows.
+     */
+    public static final int IN_LIST_CHUNK = 500;
+
+    // Le pool est créé à la première connexion demandée, sauf si une source a été fournie avant
+    private static DataSource dataSource() {
+        DataSource ds = dataSource;
+        if (ds == null) {
+            synchronized (DatabaseUtil.class) {
+                ds = dataSource;
+                if (ds == null) {
+                    try {
+                        ds = initializeDataSource();
+                    } catch (Exception e) {
+                        logger.error("Failed to initialize database connection pool", e);
+                        throw new RuntimeException("Database initialization failed", e);
+                    }
+                    dataSource = ds;
+                }
+            }
         }
+        return ds;
+    }
+
+    /**
+     * Replaces the pool built from db.properties, e.g. with an embedded database in tests.
+     * The previous pool, if any, is closed.
+     */
+    public static synchronized void useDataSource(DataSource replacement) {
+        close();
+        dataSource = replacement;
+    }
+
+    /**
+     * Replaces the read replica configured in db.properties (null for none).
+     *
+     * @param maxLagSeconds        replication lag above which reads go back to the primary,
+     *                             or -1 to skip the lag check
+     * @param readAfterWriteMillis how long reads stay on the primary after a committed write,
+     *                             raised to maxLagSeconds if shorter
+     */
+    public static synchronized void useReadReplica(DataSource replacement, long maxLagSeconds,
+                                                   long readAfterWriteMillis) {
+        dataSource();
+        closeReplica();
+        replica = replacement != null ? new ReadReplica(replacement, maxLagSeconds, 5000) : null;
+        DatabaseUtil.readAfterWriteMillis = readAfterWriteWindow(maxLagSeconds, readAfterWriteMillis);
     }
 
-    private static void initializeDataSource() throws IOException {
+    /**
+     * How long reads stay on the primary after a write. A replica accepted up to maxLagSeconds
+     * behind may not have the write before then, while the ETags already count it: a GET in
+     * between would tag stale rows with the new version, and later conditional GETs would
+     * keep answering 304 on them. So the window is never shorter than the allowed lag.
+     */
+    static long readAfterWriteWindow(long maxLagSeconds, long requestedMillis) {
+        long minimum = maxLagSeconds * 1000;
+        if (maxLagSeconds < 0 || requestedMillis >= minimum) {
+            return requestedMillis;
+        }
+        logger.warn("db.replica.readAfterWriteMillis={} is shorter than db.replica.maxLagSeconds, using {} ms",
+                requestedMillis, minimum);
+        return minimum;
+    }
+
+    private static HikariDataSource initializeDataSource() throws IOException, SQLException {
         Properties props = new Properties();
         
         // Essayer plusieurs chemins pour trouver db.properties
@@ -62,6 +124,11 @@ public class DatabaseUtil {
             props.load(is);
             is.close();
         }
+        
+        // -Ddb.profile=embedded (ou db.profile dans db.properties) : H2 en mémoire, sans MySQL
+        if ("embedded".equals(System.getProperty("db.profile", props.getProperty("db.profile")))) {
+            return EmbeddedDatabase.start(props);
+        }
 
         HikariConfig config = new HikariConfig();
         config.setJdbcUrl(props.getProperty("db.url"));
@@ -77,26 +144,151 @@ public class DatabaseUtil {
         config.setConnectionTimeout(Long.parseLong(
                 props.getProperty("db.pool.connectionTimeout", "30000")));
         
+        // Connector/J envoie un batch INSERT comme une seule requête multi-lignes
+        if (config.getJdbcUrl().startsWith("jdbc:mysql:")) {
+            config.addDataSourceProperty("rewriteBatchedStatements",
+                    props.getProperty("db.rewriteBatchedStatements", "true"));
+        }
+        
         // Connection test and validation
         config.setConnectionTestQuery("SELECT 1");
         config.setAutoCommit(true);
         
-        dataSource = new HikariDataSource(config);
+        HikariDataSource pool = new HikariDataSource(config);
         logger.info("Database connection pool initialized successfully");
+        
+        if (props.getProperty("db.replica.url") != null) {
+            replica = initializeReplica(props);
+        }
+        return pool;
+    }
+
+    // Pool en lecture seule ; une réplique absente au démarrage ne bloque pas le serveur
+    private static ReadReplica initializeReplica(Properties props) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("replica");
+        config.setJdbcUrl(props.getProperty("db.replica.url"));
+        config.setUsername(props.getProperty("db.replica.username", props.getProperty("db.username")));
+        config.setPassword(props.getProperty("db.replica.password", props.getProperty("db.password")));
+        config.setDriverClassName(props.getProperty("db.driver"));
+        config.setMaximumPoolSize(Integer.parseInt(
+                props.getProperty("db.replica.pool.maxPoolSize", "20")));
+        config.setMinimumIdle(Integer.parseInt(
+                props.getProperty("db.replica.pool.minIdle", "5")));
+        config.setConnectionTimeout(Long.parseLong(
+                props.getProperty("db.replica.pool.connectionTimeout", "2000")));
+        config.setInitializationFailTimeout(-1);
+        config.setReadOnly(true);
+        config.setConnectionTestQuery("SELECT 1");
+        
+        long maxLagSeconds = Long.parseLong(props.getProperty("db.replica.maxLagSeconds", "5"));
+        // Par défaut : le retard maximal accepté (1 s si le contrôle du retard est désactivé)
+        String window = props.getProperty("db.replica.readAfterWriteMillis");
+        readAfterWriteMillis = window != null
+                ? readAfterWriteWindow(maxLagSeconds, Long.parseLong(window))
+                : Math.max(1000, maxLagSeconds * 1000);
+        ReadReplica r = new ReadReplica(new HikariDataSource(config), maxLagSeconds,
+                Long.parseLong(props.getProperty("db.replica.checkIntervalMillis", "5000")));
+        logger.info("Read replica pool initialized for {}", config.getJdbcUrl());
+        return r;
     }
 
+    /**
+     * A pooled connection, or the current {@link UnitOfWork}'s connection when one is open
+     * on this thread.
+     */
     public static Connection getConnection() throws SQLException {
-        if (dataSource == null || dataSource.isClosed()) {
-            throw new SQLException("DataSource is not initialized or is closed");
+        Connection shared = UnitOfWork.currentConnection();
+        if (shared != null) {
+            return shared;
+        }
+        DataSource ds = dataSource();
+        if (ds instanceof HikariDataSource && ((HikariDataSource) ds).isClosed()) {
+            throw new SQLException("DataSource is closed");
+        }
+        return ds.getConnection();
+    }
+
+    /**
+     * A connection for a read-only query: from the read replica when one is configured and
+     * usable, otherwise from the primary. Inside a {@link UnitOfWork}, and for
+     * db.replica.readAfterWriteMillis after this process committed a write, reads stay on
+     * the primary so that they see their own writes.
+     */
+    public static Connection getReadConnection() throws SQLException {
+        Connection shared = UnitOfWork.currentConnection();
+        if (shared != null) {
+            return shared;
+        }
+        dataSource();
+        ReadReplica r = replica;
+        if (r != null && System.currentTimeMillis() - lastWriteAt >= readAfterWriteMillis) {
+            Connection conn = r.getConnection();
+            if (conn != null) {
+                return conn;
+            }
+        }
+        return getConnection();
+    }
+
+    /**
+     * Notes that a write was just committed, see {@link #getReadConnection()}.
+     */
+    public static void recordWrite() {
+        lastWriteAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Asks the driver to hand rows over as they arrive instead of buffering the whole
+     * ResultSet. With MySQL Connector/J this means a fetch size of Integer.MIN_VALUE; the
+     * connection then can't run another statement until the ResultSet is closed, so inside
+     * a {@link UnitOfWork}, whose connection the DAOs share, rows are buffered as usual.
+     */
+    public static void enableStreaming(PreparedStatement stmt) throws SQLException {
+        if (UnitOfWork.isActive()) {
+            return;
+        }
+        String product = stmt.getConnection().getMetaData().getDatabaseProductName();
+        stmt.setFetchSize("MySQL".equalsIgnoreCase(product) ? Integer.MIN_VALUE : 500);
+    }
+
+    /**
+     * "?, ?, ?" for an IN list of the given size.
+     */
+    public static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder(count * 3);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append('?');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Binds values[from..to) to parameters 1..n.
+     */
+    public static void setInts(PreparedStatement stmt, int[] values, int from, int to) throws SQLException {
+        for (int i = from; i < to; i++) {
+            stmt.setInt(i - from + 1, values[i]);
         }
-        return dataSource.getConnection();
     }
 
     public static void close() {
-        if (dataSource != null && !dataSource.isClosed()) {
-            dataSource.close();
+        DataSource ds = dataSource;
+        if (ds instanceof HikariDataSource && !((HikariDataSource) ds).isClosed()) {
+            ((HikariDataSource) ds).close();
             logger.info("Database connection pool closed");
         }
+        closeReplica();
+    }
+
+    private static void closeReplica() {
+        ReadReplica r = replica;
+        replica = null;
+        if (r != null && r.getDataSource() instanceof HikariDataSource) {
+            ((HikariDataSource) r.getDataSource()).close();
+            logger.info("Read replica pool closed");
+        }
     }
 
     // Test connection
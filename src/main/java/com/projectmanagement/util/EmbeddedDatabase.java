@@ -0,0 +1,170 @@
+package com.projectmanagement.util;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The "embedded" database profile: an in-process H2 database in MySQL mode, created empty
+ * at startup and loaded with the project's own SQL scripts, so that the server, the scenario
+ * runner and benchmarks run without a MySQL server.
+ *
+ * The scripts are written for MySQL; the few statements H2 can't run (CREATE/DROP DATABASE,
+ * USE, ENGINE=, FOREIGN_KEY_CHECKS) are skipped or translated on the fly.
+ */
+public final class EmbeddedDatabase {
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedDatabase.class);
+
+    static final String DEFAULT_URL =
+            "jdbc:h2:mem:project_management;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    static final String DEFAULT_SCRIPTS = "database/schema.sql,database/test_data.sql";
+
+    private static final Pattern SKIPPED = Pattern.compile("(?is)^(DROP\\s+DATABASE|CREATE\\s+DATABASE|USE)\\s.*");
+    private static final Pattern ENGINE = Pattern.compile("(?i)\\)\\s*ENGINE\\s*=\\s*\\w+");
+    private static final Pattern FK_CHECKS = Pattern.compile("(?i)^SET\\s+FOREIGN_KEY_CHECKS\\s*=\\s*([01])$");
+
+    private EmbeddedDatabase() {
+    }
+
+    /**
+     * Builds the pool and runs the scripts listed in db.embedded.scripts (comma-separated
+     * paths, looked up on disk then on the classpath). db.embedded.* settings can also be
+     * given as system properties, which win over db.properties.
+     */
+    static HikariDataSource start(Properties props) throws IOException, SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("embedded");
+        config.setJdbcUrl(setting(props, "db.embedded.url", DEFAULT_URL));
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setDriverClassName("org.h2.Driver");
+        config.setMaximumPoolSize(Integer.parseInt(
+                props.getProperty("db.pool.maxPoolSize", "20")));
+        config.setConnectionTestQuery("SELECT 1");
+
+        HikariDataSource pool = new HikariDataSource(config);
+        try (Connection conn = pool.getConnection()) {
+            for (String script : setting(props, "db.embedded.scripts", DEFAULT_SCRIPTS).split(",")) {
+                if (!script.trim().isEmpty()) {
+                    runScript(conn, script.trim());
+                }
+            }
+        } catch (IOException | SQLException e) {
+            pool.close();
+            throw e;
+        }
+        logger.info("Embedded database initialized at {}", config.getJdbcUrl());
+        return pool;
+    }
+
+    private static String setting(Properties props, String key, String defaultValue) {
+        return System.getProperty(key, props.getProperty(key, defaultValue));
+    }
+
+    /**
+     * Runs one of the project's SQL scripts on the connection, skipping the database-level
+     * statements (CREATE/DROP DATABASE, USE) so that it applies to the connection's own schema.
+     */
+    public static void runScript(Connection conn, String location) throws IOException, SQLException {
+        int count = 0;
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : statements(read(location))) {
+                String translated = toH2(sql);
+                if (translated != null) {
+                    try {
+                        stmt.execute(translated);
+                    } catch (SQLException e) {
+                        throw new SQLException(location + ": " + e.getMessage(), e.getSQLState(), e);
+                    }
+                    count++;
+                }
+            }
+        }
+        logger.info("Applied {} ({} statements)", location, count);
+    }
+
+    private static String read(String location) throws IOException {
+        Path path = Paths.get(location);
+        if (Files.exists(path)) {
+            return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        }
+        try (InputStream in = EmbeddedDatabase.class.getClassLoader().getResourceAsStream(location)) {
+            if (in == null) {
+                throw new IOException("SQL script not found: " + location);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * MySQL statement rewritten for H2, or null if it has no H2 equivalent and is skipped.
+     */
+    static String toH2(String sql) {
+        if (SKIPPED.matcher(sql).matches()) {
+            return null;
+        }
+        Matcher fk = FK_CHECKS.matcher(sql);
+        if (fk.matches()) {
+            return "SET REFERENTIAL_INTEGRITY " + (fk.group(1).equals("1") ? "TRUE" : "FALSE");
+        }
+        return ENGINE.matcher(sql).replaceAll(")");
+    }
+
+    /**
+     * Splits a script on the semicolons outside of string literals, dropping -- and
+     * block comments.
+     */
+    static List<String> statements(String script) {
+        List<String> result = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int n = script.length();
+        for (int i = 0; i < n; i++) {
+            char c = script.charAt(i);
+            if (c == '\'') {
+                int end = i + 1;
+                while (end < n && (script.charAt(end) != '\'' || (end + 1 < n && script.charAt(end + 1) == '\''))) {
+                    end += script.charAt(end) == '\'' ? 2 : 1;
+                }
+                current.append(script, i, Math.min(end + 1, n));
+                i = end;
+            } else if (c == '-' && i + 1 < n && script.charAt(i + 1) == '-') {
+                while (i + 1 < n && script.charAt(i + 1) != '\n') {
+                    i++;
+                }
+            } else if (c == '/' && i + 1 < n && script.charAt(i + 1) == '*') {
+                int end = script.indexOf("*/", i + 2);
+                i = end < 0 ? n : end + 1;
+            } else if (c == ';') {
+                add(result, current);
+            } else {
+                current.append(c);
+            }
+        }
+        add(result, current);
+        return result;
+    }
+
+    private static void add(List<String> result, StringBuilder current) {
+        String sql = current.toString().trim();
+        if (!sql.isEmpty()) {
+            result.add(sql);
+        }
+        current.setLength(0);
+    }
+}
@@ -0,0 +1,101 @@
+package com.projectmanagement.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+
+/**
+ * Read-only pool used by {@link DatabaseUtil#getReadConnection()}, with its health state.
+ *
+ * The replica is skipped (and the primary used) for checkIntervalMillis after a failed
+ * connection, or after a lag check found it more than maxLagSeconds behind the primary or
+ * not replicating at all. A negative maxLagSeconds turns the lag check off, e.g. when the
+ * "replica" is a second independent instance loaded with the same data.
+ */
+final class ReadReplica {
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplica.class);
+
+    private final DataSource dataSource;
+    private final long maxLagSeconds;
+    private final long checkIntervalMillis;
+
+    private volatile long lagCheckedAt;
+    private volatile long unusableUntil;
+
+    ReadReplica(DataSource dataSource, long maxLagSeconds, long checkIntervalMillis) {
+        this.dataSource = dataSource;
+        this.maxLagSeconds = maxLagSeconds;
+        this.checkIntervalMillis = checkIntervalMillis;
+    }
+
+    DataSource getDataSource() {
+        return dataSource;
+    }
+
+    /**
+     * A replica connection, or null if the replica is down or lagging.
+     */
+    Connection getConnection() {
+        long now = System.currentTimeMillis();
+        if (now < unusableUntil) {
+            return null;
+        }
+        Connection conn;
+        try {
+            conn = dataSource.getConnection();
+        } catch (SQLException e) {
+            skip(now, "unreachable: " + e.getMessage());
+            return null;
+        }
+        if (maxLagSeconds >= 0 && now - lagCheckedAt >= checkIntervalMillis) {
+            lagCheckedAt = now;
+            Long lag = lagSeconds(conn);
+            if (lag == null || lag > maxLagSeconds) {
+                closeQuietly(conn);
+                skip(now, lag == null ? "not replicating" : lag + "s behind the primary");
+                return null;
+            }
+        }
+        return conn;
+    }
+
+    private void skip(long now, String reason) {
+        if (unusableUntil == 0 || now >= unusableUntil) {
+            logger.warn("Read replica {}, reading from the primary for {} ms", reason, checkIntervalMillis);
+        }
+        unusableUntil = now + checkIntervalMillis;
+    }
+
+    // Seconds_Behind_Source (MySQL 8.0.22+) ou Seconds_Behind_Master ; null si la réplication est arrêtée
+    private static Long lagSeconds(Connection conn) {
+        try (Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("SHOW REPLICA STATUS")) {
+                return rs.next() ? toLong(rs.getObject("Seconds_Behind_Source")) : null;
+            } catch (SQLException e) {
+                try (ResultSet rs = stmt.executeQuery("SHOW SLAVE STATUS")) {
+                    return rs.next() ? toLong(rs.getObject("Seconds_Behind_Master")) : null;
+                }
+            }
+        } catch (SQLException e) {
+            logger.warn("Could not read replication lag", e);
+            return null;
+        }
+    }
+
+    private static Long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : null;
+    }
+
+    private static void closeQuietly(Connection conn) {
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            logger.debug("Error closing replica connection", e);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.projectmanagement.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One connection and one transaction shared by every DAO call made on the current thread.
+ *
+ * <pre>
+ * try (UnitOfWork uow = UnitOfWork.begin()) {
+ *     int taskId = taskDAO.create(task);
+ *     taskDAO.assignTaskToMember(taskId, memberId); // raises the overload alert itself
+ *     uow.commit();
+ * }
+ * </pre>
+ *
+ * Services go through the storage instead, which runs the work in a unit with JDBC:
+ * {@code storage.inTransaction(() -> allocate(projectId, mode))}.
+ *
+ * While a unit is open, {@link DatabaseUtil#getConnection()} returns its connection; the
+ * DAOs' close(), commit(), rollback() and setAutoCommit() calls on it are ignored, so that
+ * the unit alone decides the outcome. Closing without commit() rolls everything back.
+ * A unit begun inside another one joins it: its commit() is a no-op, and if it is closed
+ * without commit() the outer unit can only roll back.
+ */
+public final class UnitOfWork implements AutoCloseable {
+    private static final ThreadLocal<Scope> current = new ThreadLocal<>();
+
+    private final Scope scope;
+    private final boolean outermost;
+    private boolean committed;
+
+    private UnitOfWork(Scope scope, boolean outermost) {
+        this.scope = scope;
+        this.outermost = outermost;
+    }
+
+    public static UnitOfWork begin() throws SQLException {
+        Scope scope = current.get();
+        if (scope != null) {
+            return new UnitOfWork(scope, false);
+        }
+        Connection conn = DatabaseUtil.getConnection();
+        try {
+            conn.setAutoCommit(false);
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+        scope = new Scope(conn);
+        current.set(scope);
+        return new UnitOfWork(scope, true);
+    }
+
+    /**
+     * Runs the work in a unit and commits it if the work returns normally.
+     */
+    public static <T> T run(Work<T> work) throws SQLException {
+        try (UnitOfWork uow = begin()) {
+            T result = work.run();
+            uow.commit();
+            return result;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Work<T> {
+        T run() throws SQLException;
+    }
+
+    public static boolean isActive() {
+        return current.get() != null;
+    }
+
+    /**
+     * Runs the action once the current unit commits (and never if it rolls back),
+     * or right away when no unit is open. For side effects that must not be seen
+     * before the data is, like version bumps.
+     */
+    public static void afterCommit(Runnable action) {
+        Scope scope = current.get();
+        if (scope == null) {
+            action.run();
+        } else {
+            scope.afterCommit.add(action);
+        }
+    }
+
+    /**
+     * The shared connection of the current unit, or null.
+     */
+    static Connection currentConnection() {
+        Scope scope = current.get();
+        return scope != null ? scope.shared : null;
+    }
+
+    public void commit() throws SQLException {
+        if (committed) {
+            throw new IllegalStateException("Unit of work already committed");
+        }
+        committed = true;
+        if (!outermost) {
+            return;
+        }
+        if (scope.rollbackOnly) {
+            throw new SQLException("Unit of work rolled back: an inner unit did not commit");
+        }
+        scope.connection.commit();
+        scope.committed = true;
+        for (Runnable action : scope.afterCommit) {
+            action.run();
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (!outermost) {
+            if (!committed) {
+                scope.rollbackOnly = true;
+            }
+            return;
+        }
+        current.remove();
+        Connection conn = scope.connection;
+        try {
+            if (!scope.committed) {
+                conn.rollback();
+            }
+        } finally {
+            try {
+                conn.setAutoCommit(true);
+            } finally {
+                conn.close();
+            }
+        }
+    }
+
+    private static final class Scope {
+        final Connection connection;
+        final Connection shared;
+        final List<Runnable> afterCommit = new ArrayList<>();
+        boolean rollbackOnly;
+        boolean committed;
+
+        Scope(Connection connection) {
+            this.connection = connection;
+            this.shared = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "close":
+                            case "commit":
+                            case "setAutoCommit":
+                                return null;
+                            case "rollback":
+                                if (args == null) {
+                                    return null;    // rollback(Savepoint) reste possible
+                                }
+                                break;
+                            default:
+                                break;
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -81,7 +81,7 @@ const ProjectsAPI = {
         method: 'DELETE'
     }),
     
-    getTasks: (projectId) => apiRequest(`/projects/${projectId}/tasks`)
+    getTasks: (projectId, fields) => apiRequest(`/projects/${projectId}/tasks${fields ? `?fields=${fields}` : ''}`)
 };
 
 // Tasks API
@@ -156,6 +156,14 @@ const AllocationAPI = {
     })
 };
 
+// Batch API : opérations multiples en une transaction
+const BatchAPI = {
+    run: (operations) => apiRequest('/batch', {
+        method: 'POST',
+        body: JSON.stringify({ operations })
+    })
+};
+
 // Statistics API
 const StatisticsAPI = {
     getOverall: () => apiRequest('/statistics/'),
@@ -10,7 +10,8 @@ async function loadProjects() {
         const projectsWithTasks = await Promise.all(
             projects.map(async (project) => {
                 try {
-                    const tasks = await ProjectsAPI.getTasks(project.id);
+                    // La carte projet n'affiche que le nombre de tâches et leur avancement
+                    const tasks = await ProjectsAPI.getTasks(project.id, 'status');
                     return { ...project, tasks };
                 } catch (error) {
                     console.error(`Error loading tasks for project ${project.id}:`, error);
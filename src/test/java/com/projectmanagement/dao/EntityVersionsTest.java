@@ -0,0 +1,103 @@
+package com.projectmanagement.dao;
+
+import com.projectmanagement.model.Alert;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.Task;
+import com.projectmanagement.util.DatabaseUtil;
+import com.projectmanagement.util.EmbeddedDatabase;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.Timestamp;
+
+import static com.projectmanagement.dao.EntityVersions.Collection.*;
+import static org.junit.Assert.*;
+
+/**
+ * Bulk and cascading writes change rows they don't bump one by one: the ETag of each such
+ * row must change anyway. Tags are built as in SimpleServer's GET /api/alerts/{id} and
+ * GET /api/tasks/{id}.
+ */
+public class EntityVersionsTest {
+    private final AlertDAO alertDAO = new AlertDAO();
+    private final ProjectDAO projectDAO = new ProjectDAO();
+    private final TaskDAO taskDAO = new TaskDAO();
+    private HikariDataSource pool;
+
+    @Before
+    public void createDatabase() throws Exception {
+        pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:versions_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        DatabaseUtil.useDataSource(pool);
+        try (Connection conn = pool.getConnection()) {
+            EmbeddedDatabase.runScript(conn, "database/schema.sql");
+        }
+    }
+
+    @After
+    public void close() {
+        DatabaseUtil.close();
+    }
+
+    @Test
+    public void markingAllAlertsReadChangesEachAlertTag() throws Exception {
+        int id = alertDAO.create(new Alert(Alert.AlertType.INFO, "Unread", "Generated"));
+        String before = alertTag(id);
+
+        alertDAO.markAllAsRead();
+
+        assertNotEquals(before, alertTag(id));
+    }
+
+    @Test
+    public void archivingChangesTheTagOfEachArchivedAlert() throws Exception {
+        Alert alert = new Alert(Alert.AlertType.INFO, "Read", "Generated");
+        alert.setRead(true);
+        int id = alertDAO.create(alert);
+        String before = alertTag(id);
+
+        assertEquals(1, alertDAO.archiveRead(new Timestamp(System.currentTimeMillis() + 60_000), 10));
+
+        assertNotEquals(before, alertTag(id));
+    }
+
+    @Test
+    public void deletingAProjectChangesTheTagOfItsTasks() throws Exception {
+        int projectId = project();
+        int taskId = taskDAO.create(new Task(projectId, "Child", 4));
+        String before = taskTag(taskId);
+
+        projectDAO.delete(projectId);
+
+        assertNotEquals(before, taskTag(taskId));
+    }
+
+    @Test
+    public void deletingATaskChangesTheTagOfTheTasksDependingOnIt() throws Exception {
+        int projectId = project();
+        int first = taskDAO.create(new Task(projectId, "First", 4));
+        int second = taskDAO.create(new Task(projectId, "Second", 4));
+        taskDAO.addDependency(second, first);
+        String before = taskTag(second);
+
+        taskDAO.delete(first);
+
+        assertNotEquals(before, taskTag(second));
+    }
+
+    private int project() throws Exception {
+        return projectDAO.create(new Project("Apollo", null, Date.valueOf("2026-01-01"), Date.valueOf("2026-12-31")));
+    }
+
+    private static String alertTag(int id) {
+        return EntityVersions.etag(ALERTS, id, MEMBERS, PROJECTS, TASKS);
+    }
+
+    private static String taskTag(int id) {
+        return EntityVersions.etag(TASKS, id, PROJECTS, MEMBERS, SKILLS);
+    }
+}
@@ -0,0 +1,42 @@
+package com.projectmanagement.dao;
+
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class FieldSetTest {
+
+    private static Map<String, String> columns() {
+        Map<String, String> columns = new LinkedHashMap<>();
+        columns.put("id", "t.id");
+        columns.put("title", "t.title");
+        columns.put("assignedMember", "t.assigned_member_id, m.name as member_name");
+        columns.put("dependencies", null);
+        return columns;
+    }
+
+    @Test
+    public void blankMeansAllFields() {
+        assertTrue(FieldSet.parse(null, columns().keySet()).isAll());
+        assertTrue(FieldSet.parse(" ", columns().keySet()).isAll());
+        assertEquals("t.id, t.title, t.assigned_member_id, m.name as member_name",
+                FieldSet.ALL.columns(columns(), "t.id"));
+    }
+
+    @Test
+    public void selectsOnlyRequestedColumnsAndAlwaysId() {
+        FieldSet fields = FieldSet.parse("title, dependencies", columns().keySet());
+        assertTrue(fields.includes("id"));
+        assertTrue(fields.includes("dependencies"));
+        assertFalse(fields.includes("assignedMember"));
+        assertEquals("t.id, t.priority, t.title", fields.columns(columns(), "t.id", "t.priority"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnknownField() {
+        FieldSet.parse("title,password", columns().keySet());
+    }
+}
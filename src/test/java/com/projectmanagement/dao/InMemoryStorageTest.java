@@ -0,0 +1,130 @@
+package com.projectmanagement.dao;
+
+import com.projectmanagement.model.Alert;
+import com.projectmanagement.model.Member;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.Skill;
+import com.projectmanagement.model.Task;
+import org.junit.Test;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * The in-memory backend must answer like the JDBC DAOs: same orderings, constraints and cascades.
+ */
+public class InMemoryStorageTest {
+    private final Storage storage = new InMemoryStorage();
+
+    @Test
+    public void tasksComeInPriorityThenDeadlineOrder() throws Exception {
+        int projectId = project();
+        int late = task(projectId, Task.Priority.HIGH, Date.valueOf("2026-12-01"), 4);
+        int early = task(projectId, Task.Priority.HIGH, Date.valueOf("2026-11-01"), 4);
+        int urgent = task(projectId, Task.Priority.URGENT, null, 4);
+        int low = task(projectId, Task.Priority.LOW, null, 4);
+
+        assertEquals(List.of(urgent, early, late, low), ids(storage.tasks().findByProject(projectId)));
+
+        List<Task> firstPage = new ArrayList<>();
+        PageCursor next = storage.tasks().streamPageByProject(projectId, FieldSet.ALL, null, 2, firstPage::add);
+        List<Task> secondPage = new ArrayList<>();
+        assertNull(storage.tasks().streamPageByProject(projectId, FieldSet.ALL, next, 2, secondPage::add));
+        assertEquals(List.of(urgent, early), ids(firstPage));
+        assertEquals(List.of(late, low), ids(secondPage));
+    }
+
+    @Test
+    public void assignTaskToMemberUpdatesWorkloadAndRaisesOverload() throws Exception {
+        int projectId = project();
+        int taskId = task(projectId, Task.Priority.MEDIUM, null, 50);
+        int memberId = member("ana@example.com", 40);
+
+        storage.tasks().assignTaskToMember(taskId, memberId);
+
+        assertEquals(50, storage.members().findById(memberId).getCurrentWorkload(), 0.001);
+        assertEquals(List.of(taskId), ids(storage.tasks().findByMember(memberId)));
+        assertTrue(storage.tasks().findUnassignedByProject(projectId).isEmpty());
+        List<Alert> alerts = storage.alerts().findByMember(memberId);
+        assertEquals(1, alerts.size());
+        assertEquals(Alert.Severity.HIGH, alerts.get(0).getSeverity());
+
+        storage.tasks().unassignTask(taskId);
+        assertEquals(0, storage.members().findById(memberId).getCurrentWorkload(), 0.001);
+    }
+
+    @Test
+    public void assignTaskToMemberRefusesAnIncompetentMember() throws Exception {
+        Skill java = new Skill();
+        java.setName("Java");
+        storage.skills().create(java);
+        int taskId = task(project(), Task.Priority.MEDIUM, null, 4);
+        storage.tasks().addSkillRequirement(taskId, java.getId(), 4);
+        int memberId = member("bob@example.com", 40);
+        storage.members().addSkill(memberId, java.getId(), 2);
+
+        try {
+            storage.tasks().assignTaskToMember(taskId, memberId);
+            fail("Expected the assignment to be refused");
+        } catch (SQLException e) {
+            assertTrue(e.getMessage().startsWith("INCOMPETENT"));
+        }
+        assertNull(storage.tasks().findById(taskId).getAssignedMember());
+    }
+
+    @Test
+    public void deletesCascadeLikeTheSchema() throws Exception {
+        int projectId = project();
+        int taskId = task(projectId, Task.Priority.MEDIUM, null, 4);
+        int memberId = member("cleo@example.com", 40);
+        storage.tasks().assignTask(taskId, memberId);
+
+        storage.members().delete(memberId);
+        assertNull(storage.tasks().findById(taskId).getAssignedMember());
+        assertTrue(storage.tasks().findByMember(memberId).isEmpty());
+
+        storage.projects().delete(projectId);
+        assertNull(storage.tasks().findById(taskId));
+        assertTrue(storage.tasks().findByProject(projectId).isEmpty());
+    }
+
+    @Test(expected = SQLException.class)
+    public void duplicateEmailIsRejected() throws Exception {
+        member("dan@example.com", 40);
+        member("dan@example.com", 35);
+    }
+
+    private int project() throws SQLException {
+        return storage.projects().create(new Project("Apollo", null, null, null));
+    }
+
+    private int task(int projectId, Task.Priority priority, Date deadline, double hours) throws SQLException {
+        Task task = new Task();
+        task.setProjectId(projectId);
+        task.setTitle("Task");
+        task.setPriority(priority);
+        task.setDeadline(deadline);
+        task.setEstimatedHours(hours);
+        return storage.tasks().create(task);
+    }
+
+    private int member(String email, int availability) throws SQLException {
+        Member member = new Member();
+        member.setName(email.substring(0, email.indexOf('@')));
+        member.setEmail(email);
+        member.setWeeklyAvailability(availability);
+        return storage.members().create(member);
+    }
+
+    private static List<Integer> ids(List<Task> tasks) {
+        List<Integer> ids = new ArrayList<>();
+        for (Task task : tasks) {
+            ids.add(task.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,64 @@
+package com.projectmanagement.dao;
+
+import com.projectmanagement.model.Alert;
+import com.projectmanagement.model.Task;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.Base64;
+
+import static org.junit.Assert.*;
+
+public class PageCursorTest {
+
+    @Test
+    public void alertCursorRoundTrips() {
+        Alert alert = new Alert();
+        alert.setId(42);
+        alert.setSeverity(Alert.Severity.HIGH);
+        alert.setCreatedAt(new Timestamp(1700000000000L));
+
+        PageCursor cursor = PageCursor.decode(PageCursor.after(alert).encode(), Alert.Severity.class);
+        assertEquals("HIGH", cursor.getRank());
+        assertEquals(Long.valueOf(1700000000000L), cursor.getTime());
+        assertEquals(42, cursor.getId());
+    }
+
+    @Test
+    public void taskWithoutDeadlineKeepsNullTime() {
+        Task task = new Task();
+        task.setId(7);
+        task.setPriority(Task.Priority.URGENT);
+
+        PageCursor cursor = PageCursor.decode(PageCursor.after(task).encode(), Task.Priority.class);
+        assertEquals("URGENT", cursor.getRank());
+        assertNull(cursor.getTime());
+        assertEquals(7, cursor.getId());
+
+        task.setDeadline(Date.valueOf("2026-03-01"));
+        assertEquals(Date.valueOf("2026-03-01").getTime(),
+                PageCursor.decode(PageCursor.after(task).encode(), Task.Priority.class).getTime().longValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsRankOfAnotherEnum() {
+        Task task = new Task();
+        task.setId(1);
+        task.setPriority(Task.Priority.URGENT);
+        PageCursor.decode(PageCursor.after(task).encode(), Alert.Severity.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAlertCursorWithoutTime() {
+        String encoded = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("HIGH||5".getBytes(StandardCharsets.UTF_8));
+        PageCursor.decode(encoded, Alert.Severity.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsGarbage() {
+        PageCursor.decode("not a cursor!", Task.Priority.class);
+    }
+}
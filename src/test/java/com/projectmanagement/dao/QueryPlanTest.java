@@ -0,0 +1,231 @@
+package com.projectmanagement.dao;
+
+import com.projectmanagement.model.Alert;
+import com.projectmanagement.model.Member;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.Task;
+import com.projectmanagement.util.DatabaseUtil;
+import com.projectmanagement.util.EmbeddedDatabase;
+import com.projectmanagement.util.RecordingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs EXPLAIN on the SELECTs the DAO list methods actually send, with their actual
+ * parameters, on a generated dataset, and fails on a full scan of a large table.
+ *
+ * By default on an in-memory H2 database in MySQL mode, so that it runs with mvn test: H2
+ * reports which index each table is read through, but not whether a sort is avoided. The
+ * complete check, which also fails on a filesort, needs a MySQL 8 database that can be
+ * emptied, e.g.
+ * mvn test -Dtest=QueryPlanTest -Dexplain.db.url=jdbc:mysql://localhost:3306/pm_explain -Dexplain.db.username=root
+ */
+public class QueryPlanTest {
+    private static final int PROJECTS = 20;
+    private static final int MEMBERS = 50;
+    private static final int TASKS_PER_PROJECT = 1000;
+    private static final int ALERTS = 10_000;
+    // Une table de référence de quelques dizaines de lignes peut être lue en entier
+    private static final long LARGE_TABLE_ROWS = 1000;
+    // H2 annote chaque table lue sans index : /* public.tasks.tableScan */
+    private static final Pattern H2_TABLE_SCAN = Pattern.compile("/\\* \\w+\\.(\\w+)\\.tableScan");
+
+    private static RecordingDataSource recorder;
+    private static HikariDataSource database;
+    private static boolean mysql;
+
+    private final TaskDAO taskDAO = new TaskDAO();
+    private final AlertDAO alertDAO = new AlertDAO();
+
+    @BeforeClass
+    public static void loadDataset() throws Exception {
+        String url = System.getProperty("explain.db.url");
+        mysql = url != null;
+
+        HikariConfig config = new HikariConfig();
+        if (mysql) {
+            config.setJdbcUrl(url);
+            config.setUsername(System.getProperty("explain.db.username", "root"));
+            config.setPassword(System.getProperty("explain.db.password", ""));
+            config.addDataSourceProperty("rewriteBatchedStatements", "true");
+        } else {
+            config.setJdbcUrl("jdbc:h2:mem:explain;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        }
+        database = new HikariDataSource(config);
+
+        try (Connection conn = database.getConnection(); Statement stmt = conn.createStatement()) {
+            if (mysql) {
+                assertNotEquals("Refusing to empty the application database", "project_management", conn.getCatalog());
+                stmt.execute("SET FOREIGN_KEY_CHECKS = 0");
+                for (String table : new String[] { "task_history", "alerts_archive", "alerts", "task_dependencies", "task_skills",
+                        "tasks", "projects", "member_skills", "members", "skills" }) {
+                    stmt.execute("DROP TABLE IF EXISTS " + table);
+                }
+                stmt.execute("SET FOREIGN_KEY_CHECKS = 1");
+            }
+            EmbeddedDatabase.runScript(conn, "database/schema.sql");
+        }
+        recorder = new RecordingDataSource(database);
+        DatabaseUtil.useDataSource(recorder.dataSource());
+        generate(new Random(42));
+        try (Connection conn = database.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute(mysql ? "ANALYZE TABLE members, projects, tasks, alerts, task_skills" : "ANALYZE");
+        }
+    }
+
+    @AfterClass
+    public static void close() {
+        DatabaseUtil.close();
+        database.close();
+    }
+
+    @Before
+    public void clearRecorded() {
+        recorder.reset();
+    }
+
+    @Test
+    public void taskListsUseAnIndexInOrder() throws Exception {
+        taskDAO.findByProject(3);
+        taskDAO.findUnassignedByProject(3);
+        taskDAO.findByProjectAndStatus(3, Task.TaskStatus.IN_PROGRESS);
+        taskDAO.findByMember(7);
+        List<Task> page = new ArrayList<>();
+        PageCursor next = taskDAO.streamPageByProject(3, FieldSet.ALL, null, 50, page::add);
+        taskDAO.streamPageByProject(3, FieldSet.ALL, next, 50, task -> { });
+        assertPlans();
+    }
+
+    @Test
+    public void alertListsUseAnIndexInOrder() throws Exception {
+        alertDAO.findAll(true);
+        alertDAO.findByMember(7);
+        alertDAO.findByProject(3);
+        alertDAO.getUnreadCount();
+        PageCursor next = alertDAO.streamPage(false, FieldSet.ALL, null, 50, alert -> { });
+        alertDAO.streamPage(false, FieldSet.ALL, next, 50, alert -> { });
+        alertDAO.streamPage(true, FieldSet.ALL, null, 50, alert -> { });
+        assertPlans();
+    }
+
+    private void assertPlans() throws Exception {
+        List<RecordingDataSource.Query> queries = recorder.selects();
+        assertFalse(queries.isEmpty());
+        List<String> problems = new ArrayList<>();
+        try (Connection conn = database.getConnection()) {
+            for (RecordingDataSource.Query query : queries) {
+                try (PreparedStatement explain = conn.prepareStatement("EXPLAIN " + query.sql)) {
+                    for (Object[] setter : query.setters) {
+                        ((Method) setter[0]).invoke(explain, (Object[]) setter[1]);
+                    }
+                    try (ResultSet rs = explain.executeQuery()) {
+                        if (!mysql) {
+                            rs.next();
+                            Matcher scan = H2_TABLE_SCAN.matcher(rs.getString(1));
+                            while (scan.find()) {
+                                if (rowCount(conn, scan.group(1)) > LARGE_TABLE_ROWS) {
+                                    problems.add("full scan of " + scan.group(1) + ": " + query.sql);
+                                }
+                            }
+                            continue;
+                        }
+                        while (rs.next()) {
+                            String extra = rs.getString("Extra");
+                            if (extra != null && extra.contains("Using filesort")) {
+                                problems.add("filesort on " + rs.getString("table") + ": " + query.sql);
+                            }
+                            if ("ALL".equals(rs.getString("type")) && rs.getLong("rows") > LARGE_TABLE_ROWS) {
+                                problems.add("full scan of " + rs.getString("table") + ": " + query.sql);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        assertTrue(String.join("\n", problems), problems.isEmpty());
+    }
+
+    private static long rowCount(Connection conn, String table) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static void generate(Random random) throws SQLException {
+        ProjectDAO projectDAO = new ProjectDAO();
+        for (int p = 0; p < PROJECTS; p++) {
+            projectDAO.create(new Project("Project " + p, null, Date.valueOf("2026-01-01"), Date.valueOf("2026-12-31")));
+        }
+        List<Member> members = new ArrayList<>();
+        for (int m = 0; m < MEMBERS; m++) {
+            Member member = new Member();
+            member.setName("Member " + m);
+            member.setEmail("member" + m + "@example.com");
+            member.setWeeklyAvailability(40);
+            members.add(member);
+        }
+        new MemberDAO().createAll(members);
+
+        Task.Priority[] priorities = Task.Priority.values();
+        Task.TaskStatus[] statuses = Task.TaskStatus.values();
+        List<Task> tasks = new ArrayList<>();
+        for (int p = 1; p <= PROJECTS; p++) {
+            for (int i = 0; i < TASKS_PER_PROJECT; i++) {
+                Task task = new Task();
+                task.setProjectId(p);
+                task.setTitle("Task " + i);
+                task.setEstimatedHours(1 + random.nextInt(16));
+                task.setPriority(priorities[random.nextInt(priorities.length)]);
+                task.setStatus(statuses[random.nextInt(statuses.length)]);
+                if (random.nextInt(10) > 0) {
+                    task.setDeadline(new Date(Date.valueOf("2026-01-01").getTime() + random.nextInt(365) * 86_400_000L));
+                }
+                if (random.nextInt(3) > 0) {
+                    Member assignee = new Member();
+                    assignee.setId(1 + random.nextInt(MEMBERS));
+                    task.setAssignedMember(assignee);
+                }
+                tasks.add(task);
+            }
+        }
+        new TaskDAO().createAll(tasks);
+
+        Alert.AlertType[] types = Alert.AlertType.values();
+        Alert.Severity[] severities = Alert.Severity.values();
+        List<Alert> alerts = new ArrayList<>();
+        for (int a = 0; a < ALERTS; a++) {
+            Alert alert = new Alert(types[random.nextInt(types.length)], "Alert " + a, "Generated");
+            alert.setSeverity(severities[random.nextInt(severities.length)]);
+            alert.setRead(random.nextInt(10) > 0);    // la plupart des alertes ont été lues
+            Member member = new Member();
+            member.setId(1 + random.nextInt(MEMBERS));
+            alert.setMember(member);
+            Project project = new Project();
+            project.setId(1 + random.nextInt(PROJECTS));
+            alert.setProject(project);
+            alerts.add(alert);
+        }
+        new AlertDAO().createAll(alerts);
+    }
+}
@@ -0,0 +1,103 @@
+package com.projectmanagement.dao;
+
+import com.projectmanagement.model.Alert;
+import com.projectmanagement.model.Member;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.Skill;
+import com.projectmanagement.model.Task;
+import com.projectmanagement.util.DatabaseUtil;
+import com.projectmanagement.util.EmbeddedDatabase;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Manual assignment without the stored procedures (H2): verdict and workload come back with the call.
+ */
+public class TaskDAOAssignTest {
+    private final TaskDAO taskDAO = new TaskDAO();
+    private final MemberDAO memberDAO = new MemberDAO();
+
+    @Before
+    public void createSchema() throws Exception {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:assign_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        DatabaseUtil.useDataSource(pool);
+        try (Connection conn = pool.getConnection()) {
+            EmbeddedDatabase.runScript(conn, "database/schema.sql");
+        }
+    }
+
+    @After
+    public void close() {
+        DatabaseUtil.close();
+    }
+
+    @Test
+    public void assignReturnsCompetenceAndWorkloadThenUnassignGivesHoursBack() throws Exception {
+        int java = skill("Java");
+        int sql = skill("SQL");
+        int taskId = task(30, java, sql);
+        int memberId = member("ana@example.com", 40);
+        memberDAO.addSkill(memberId, java, 4);
+
+        try {
+            taskDAO.assignTaskToMember(taskId, memberId);
+            fail("Expected the assignment to be refused");
+        } catch (SQLException e) {
+            assertTrue(e.getMessage().startsWith("INCOMPETENT"));
+        }
+        assertEquals(0, memberDAO.findById(memberId).getCurrentWorkload(), 0.001);
+
+        memberDAO.addSkill(memberId, sql, 3);
+        TaskRepository.AssignmentResult assigned = taskDAO.assignTaskToMember(taskId, memberId);
+        assertEquals(1.0, assigned.getCompetenceScore(), 0.001);
+        assertEquals(30, assigned.getCurrentWorkload(), 0.001);
+        assertFalse(assigned.isOverloaded());
+
+        assigned = taskDAO.assignTaskToMember(task(20, java), memberId);
+        assertTrue(assigned.isOverloaded());
+        List<Alert> alerts = new AlertDAO().findByMember(memberId);
+        assertEquals(1, alerts.size());
+
+        TaskRepository.AssignmentResult unassigned = taskDAO.unassignTask(taskId);
+        assertEquals(memberId, unassigned.getMemberId());
+        assertNull(unassigned.getCompetenceScore());
+        assertEquals(20, unassigned.getCurrentWorkload(), 0.001);
+    }
+
+    private int skill(String name) throws SQLException {
+        Skill skill = new Skill();
+        skill.setName(name);
+        return new SkillDAO().create(skill);
+    }
+
+    private int task(double hours, int... skillIds) throws SQLException {
+        int projectId = new ProjectDAO().create(new Project("Apollo", null, Date.valueOf("2026-01-01"), Date.valueOf("2026-12-31")));
+        Task task = new Task();
+        task.setProjectId(projectId);
+        task.setTitle("Task");
+        task.setEstimatedHours(hours);
+        int taskId = taskDAO.create(task);
+        for (int skillId : skillIds) {
+            taskDAO.addSkillRequirement(taskId, skillId, 3);
+        }
+        return taskId;
+    }
+
+    private int member(String email, int availability) throws SQLException {
+        Member member = new Member();
+        member.setName("Ana");
+        member.setEmail(email);
+        member.setWeeklyAvailability(availability);
+        return memberDAO.create(member);
+    }
+}
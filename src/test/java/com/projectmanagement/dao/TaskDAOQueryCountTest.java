@@ -0,0 +1,170 @@
+package com.projectmanagement.dao;
+
+import com.projectmanagement.model.Skill;
+import com.projectmanagement.model.Task;
+import com.projectmanagement.model.TaskSkill;
+import com.projectmanagement.util.DatabaseUtil;
+import com.projectmanagement.util.RecordingDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * The task list methods must run a fixed number of statements, whatever the number of tasks.
+ */
+public class TaskDAOQueryCountTest {
+    private static RecordingDataSource recorder;
+    private static JdbcDataSource h2;
+    private static Connection keepAlive;
+
+    private final TaskDAO taskDAO = new TaskDAO();
+
+    @BeforeClass
+    public static void createSchema() throws SQLException {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:taskdao;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        keepAlive = h2.getConnection();
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("CREATE TABLE members (id INT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(100))");
+            stmt.execute("CREATE TABLE skills (id INT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(50))");
+            stmt.execute("CREATE TABLE tasks (id INT AUTO_INCREMENT PRIMARY KEY, project_id INT NOT NULL, " +
+                    "title VARCHAR(200), description TEXT, estimated_hours DECIMAL(10, 2), " +
+                    "priority ENUM('LOW', 'MEDIUM', 'HIGH', 'URGENT'), " +
+                    "status ENUM('TODO', 'IN_PROGRESS', 'COMPLETED', 'BLOCKED'), " +
+                    "start_date DATE, deadline DATE, assigned_member_id INT)");
+            stmt.execute("CREATE TABLE task_skills (task_id INT, skill_id INT, required_level INT)");
+            stmt.execute("CREATE TABLE task_dependencies (task_id INT, depends_on_task_id INT)");
+            stmt.execute("INSERT INTO skills (name) VALUES ('Java')");
+        }
+        recorder = new RecordingDataSource(h2);
+        DatabaseUtil.useDataSource(recorder.dataSource());
+    }
+
+    @AfterClass
+    public static void dropSchema() throws SQLException {
+        keepAlive.close();
+    }
+
+    @Before
+    public void clearTables() throws SQLException {
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("DELETE FROM task_dependencies");
+            stmt.execute("DELETE FROM task_skills");
+            stmt.execute("DELETE FROM tasks");
+        }
+    }
+
+    @Test
+    public void findByProjectDoesNotQueryPerTask() throws Exception {
+        int few = statementsFor(1, 10, () -> assertEquals(10, taskDAO.findByProject(1).size()));
+        int many = statementsFor(2, 200, () -> {
+            List<Task> tasks = taskDAO.findByProject(2);
+            assertEquals(200, tasks.size());
+            for (Task task : tasks) {
+                assertEquals(1, task.getRequiredSkills().size());
+                assertEquals("Java", task.getRequiredSkills().get(0).getSkill().getName());
+            }
+        });
+        assertEquals(few, many);
+    }
+
+    @Test
+    public void streamByProjectDoesNotQueryPerTask() throws Exception {
+        int few = statementsFor(3, 10, () -> taskDAO.streamByProject(3, task -> { }));
+        int many = statementsFor(4, 200, () -> {
+            List<Task> tasks = new ArrayList<>();
+            taskDAO.streamByProject(4, tasks::add);
+            assertEquals(200, tasks.size());
+            for (Task task : tasks) {
+                assertEquals(task.getId() % 2 == 0 ? 1 : 0, task.getDependencies().size());
+            }
+        });
+        assertEquals(few, many);
+    }
+
+    @Test
+    public void streamByProjectReadsEveryChunkOnOneConnection() throws Exception {
+        int count = 2 * DatabaseUtil.IN_LIST_CHUNK + 10;
+        insertTasks(6, count);
+        recorder.reset();
+        List<Task> tasks = new ArrayList<>();
+        taskDAO.streamByProject(6, tasks::add);
+
+        assertEquals(1, recorder.maxOpenConnections());
+        assertEquals(count, tasks.size());
+        for (int i = 0; i < count; i++) {
+            Task task = tasks.get(i);
+            assertTrue(i == 0 || task.getId() > tasks.get(i - 1).getId());
+            assertEquals(1, task.getRequiredSkills().size());
+            assertEquals(task.getId() % 2 == 0 ? 1 : 0, task.getDependencies().size());
+        }
+    }
+
+    @Test
+    public void createAllBatchesTasksAndRequirements() throws Exception {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Task task = new Task();
+            task.setProjectId(5);
+            task.setTitle("Imported " + i);
+            task.setPriority(Task.Priority.HIGH);
+            task.setStatus(Task.TaskStatus.TODO);
+            TaskSkill requirement = new TaskSkill();
+            Skill skill = new Skill();
+            skill.setId(1);
+            requirement.setSkill(skill);
+            requirement.setRequiredLevel(3);
+            task.getRequiredSkills().add(requirement);
+            tasks.add(task);
+        }
+        recorder.reset();
+        int[] ids = taskDAO.createAll(tasks);
+        assertEquals(2, recorder.statements());
+        
+        assertEquals(200, ids.length);
+        assertEquals(tasks.get(199).getId(), ids[199]);
+        assertTrue(ids[0] > 0 && ids[199] > ids[0]);
+        List<Task> loaded = taskDAO.findByProject(5);
+        assertEquals(200, loaded.size());
+        assertEquals(3, loaded.get(0).getRequiredSkills().get(0).getRequiredLevel());
+    }
+
+    private interface Call {
+        void run() throws Exception;
+    }
+
+    private int statementsFor(int projectId, int taskCount, Call call) throws Exception {
+        insertTasks(projectId, taskCount);
+        recorder.reset();
+        call.run();
+        return recorder.statements();
+    }
+
+    // Chaque tâche a une compétence ; une tâche sur deux dépend de la précédente
+    private static void insertTasks(int projectId, int count) throws SQLException {
+        try (PreparedStatement stmt = keepAlive.prepareStatement(
+                "INSERT INTO tasks (project_id, title, estimated_hours, priority, status, deadline) " +
+                "VALUES (?, ?, 4, 'MEDIUM', 'TODO', DATE '2026-12-01')", Statement.RETURN_GENERATED_KEYS);
+             Statement children = keepAlive.createStatement()) {
+            for (int i = 0; i < count; i++) {
+                stmt.setInt(1, projectId);
+                stmt.setString(2, "Task " + i);
+                stmt.executeUpdate();
+            }
+            children.execute("INSERT INTO task_skills SELECT id, 1, 2 FROM tasks WHERE project_id = " + projectId);
+            children.execute("INSERT INTO task_dependencies SELECT id, id - 1 FROM tasks " +
+                    "WHERE project_id = " + projectId + " AND MOD(id, 2) = 0");
+        }
+    }
+}
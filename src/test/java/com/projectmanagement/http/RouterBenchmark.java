@@ -0,0 +1,121 @@
+package com.projectmanagement.http;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatch cost per request: the precompiled Router vs. the former
+ * contains/matches/split/parseInt chain of SimpleServer.
+ *
+ * Run with:
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat cp.txt) com.projectmanagement.http.RouterBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RouterBenchmark {
+
+    private static final String[][] REQUESTS = {
+        {"GET", "/api/projects/42/tasks"},
+        {"GET", "/api/projects/42"},
+        {"GET", "/api/projects/"},
+        {"DELETE", "/api/members/7/skills/3"},
+        {"POST", "/api/tasks/128/assign"},
+        {"GET", "/api/alerts/count"},
+        {"GET", "/api/statistics/project/5"},
+    };
+
+    private Router router;
+
+    @Setup
+    public void setup() {
+        Router.Handler noop = (ex, p) -> { };
+        router = new Router()
+            .get("/api/members", noop)
+            .post("/api/members/{id:int}/skills", noop)
+            .delete("/api/members/{id:int}/skills/{skillId:int}", noop)
+            .get("/api/projects", noop)
+            .get("/api/projects/{id:int}", noop)
+            .get("/api/projects/{id:int}/tasks", noop)
+            .post("/api/tasks/{id:int}/assign", noop)
+            .get("/api/alerts", noop)
+            .get("/api/alerts/count", noop)
+            .get("/api/alerts/{id:int}", noop)
+            .get("/api/statistics/project/{id:int}", noop);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(7)
+    public void router(Blackhole bh) {
+        for (String[] request : REQUESTS) {
+            Router.Match match = router.match(request[0], request[1]);
+            bh.consume(match.getParams());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(7)
+    public void legacyChain(Blackhole bh) {
+        for (String[] request : REQUESTS) {
+            bh.consume(legacyDispatch(request[0], request[1]));
+        }
+    }
+
+    // Reproduit les tests enchaînés des anciens handlers
+    private static int legacyDispatch(String method, String path) {
+        if (path.startsWith("/api/members/")) {
+            if ("POST".equals(method) && path.contains("/skills")) return getId(path);
+            if ("DELETE".equals(method) && path.contains("/skills")) {
+                String[] parts = path.split("/");
+                return Integer.parseInt(parts[3]) + Integer.parseInt(parts[5]);
+            }
+            return "DELETE".equals(method) ? getId(path) : 0;
+        }
+        if (path.startsWith("/api/projects/")) {
+            if ("GET".equals(method) && path.contains("/tasks")) {
+                String[] parts = path.split("/");
+                for (int i = 0; i < parts.length; i++) {
+                    if (parts[i].equals("projects") && i + 1 < parts.length) {
+                        try {
+                            return Integer.parseInt(parts[i + 1]);
+                        } catch (Exception e) {}
+                    }
+                }
+                return 0;
+            }
+            if ("GET".equals(method) && path.matches(".*/\\d+/?$")) return getId(path);
+            return 0;
+        }
+        if (path.startsWith("/api/tasks/")) {
+            return path.contains("/assign") ? getId(path) : 0;
+        }
+        if (path.startsWith("/api/alerts/")) {
+            return path.endsWith("/count") ? 1 : getId(path);
+        }
+        if (path.startsWith("/api/statistics/")) {
+            if (path.contains("/workload")) return 1;
+            if (path.matches(".*/project/\\d+/?")) return Integer.parseInt(path.split("/")[4]);
+        }
+        return 0;
+    }
+
+    private static int getId(String path) {
+        String[] parts = path.split("/");
+        for (int i = parts.length - 1; i >= 0; i--) {
+            try { return Integer.parseInt(parts[i]); } catch (Exception e) {}
+        }
+        return 0;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(RouterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,61 @@
+package com.projectmanagement.http;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+public class RouterTest {
+    private Router router;
+    private final Router.Handler list = (ex, p) -> { };
+    private final Router.Handler byId = (ex, p) -> { };
+    private final Router.Handler count = (ex, p) -> { };
+    private final Router.Handler removeSkill = (ex, p) -> { };
+
+    @Before
+    public void setUp() {
+        router = new Router()
+            .get("/api/alerts", list)
+            .get("/api/alerts/{id:int}", byId)
+            .delete("/api/alerts/{id:int}", byId)
+            .get("/api/alerts/count", count)
+            .delete("/api/members/{id:int}/skills/{skillId:int}", removeSkill);
+    }
+
+    @Test
+    public void matchesTrailingSlashAndLiterals() {
+        assertSame(list, router.match("GET", "/api/alerts/").getHandler());
+        assertSame(list, router.match("GET", "/api/alerts").getHandler());
+        assertSame(count, router.match("GET", "/api/alerts/count").getHandler());
+    }
+
+    @Test
+    public void extractsIntParameters() {
+        Router.Match match = router.match("DELETE", "/api/members/12/skills/3");
+        assertSame(removeSkill, match.getHandler());
+        assertEquals(12, match.getParams().getInt("id"));
+        assertEquals(3, match.getParams().getInt("skillId"));
+    }
+
+    @Test
+    public void rejectsNonNumericAndOverflowingIds() {
+        assertFalse(router.match("GET", "/api/alerts/abc").isFound());
+        assertFalse(router.match("GET", "/api/alerts/99999999999").isFound());
+        assertNull(router.match("GET", "/api/alerts/abc").getAllowedMethods());
+    }
+
+    @Test
+    public void reportsAllowedMethodsForWrongMethod() {
+        Router.Match match = router.match("PUT", "/api/alerts/5");
+        assertFalse(match.isFound());
+        assertEquals(new TreeSet<>(Arrays.asList("DELETE", "GET")), match.getAllowedMethods());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void refusesDuplicateRoutes() {
+        router.get("/api/alerts/{id:int}", list);
+    }
+}
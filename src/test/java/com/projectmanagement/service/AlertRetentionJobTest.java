@@ -0,0 +1,84 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dao.AlertDAO;
+import com.projectmanagement.model.Alert;
+import com.projectmanagement.model.Member;
+import com.projectmanagement.util.DatabaseUtil;
+import com.projectmanagement.util.EmbeddedDatabase;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class AlertRetentionJobTest {
+    private final AlertDAO alertDAO = new AlertDAO();
+    private HikariDataSource pool;
+
+    @Before
+    public void createDatabase() throws Exception {
+        pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:retention_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        DatabaseUtil.useDataSource(pool);
+        try (Connection conn = pool.getConnection()) {
+            EmbeddedDatabase.runScript(conn, "database/schema.sql");
+            EmbeddedDatabase.runScript(conn, "database/test_data.sql");
+        }
+    }
+
+    @After
+    public void close() {
+        DatabaseUtil.close();
+    }
+
+    @Test
+    public void movesOnlyOldReadAlertsInChunks() throws Exception {
+        List<Alert> alerts = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            alerts.add(alert("Old read " + i, true));
+        }
+        alerts.add(alert("Old unread", false));
+        alerts.add(alert("Recent read", true));
+        alertDAO.createAll(alerts);
+        try (Connection conn = pool.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("UPDATE alerts SET created_at = TIMESTAMP '2020-01-01 00:00:00' WHERE title LIKE 'Old%'");
+        }
+
+        assertEquals(5, new AlertRetentionJob(alertDAO, 30, 2, 0).runOnce());
+
+        List<String> remaining = new ArrayList<>();
+        for (Alert alert : alertDAO.findAll()) {
+            remaining.add(alert.getTitle());
+        }
+        assertEquals(2, remaining.size());
+        assertTrue(remaining.containsAll(List.of("Old unread", "Recent read")));
+
+        try (Connection conn = pool.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM members WHERE id = 2");   // l'archive garde son nom
+        }
+
+        List<Alert> archived = alertDAO.findArchived(2, null, Timestamp.valueOf("2020-01-01 00:00:00"), null, 3);
+        assertEquals(3, archived.size());
+        assertEquals("Old read 4", archived.get(0).getTitle());
+        assertNotNull(archived.get(0).getMember().getName());
+        assertTrue(archived.get(0).isRead());
+        assertTrue(alertDAO.findArchived(null, null, null, Timestamp.valueOf("2020-01-01 00:00:00"), 10).isEmpty());
+    }
+
+    private static Alert alert(String title, boolean read) {
+        Alert alert = new Alert(Alert.AlertType.INFO, title, "Generated");
+        alert.setSeverity(Alert.Severity.LOW);
+        alert.setRead(read);
+        Member member = new Member();
+        member.setId(2);
+        alert.setMember(member);
+        return alert;
+    }
+}
@@ -0,0 +1,46 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.model.Member;
+import com.projectmanagement.model.MemberSkill;
+import com.projectmanagement.model.Skill;
+import com.projectmanagement.model.Task;
+import com.projectmanagement.model.TaskSkill;
+
+/**
+ * Skills, members and tasks built in memory for the allocation tests. Skills and levels
+ * are given as pairs: (skill, level, skill, level, ...).
+ */
+final class AllocationFixtures {
+    private AllocationFixtures() {
+    }
+
+    static Skill skill(int id) {
+        Skill skill = new Skill("Skill " + id, null);
+        skill.setId(id);
+        return skill;
+    }
+
+    static Member member(int availability, Object... skillsAndLevels) {
+        Member member = new Member();
+        member.setWeeklyAvailability(availability);
+        for (int i = 0; i < skillsAndLevels.length; i += 2) {
+            member.getSkills().add(new MemberSkill(member, (Skill) skillsAndLevels[i], (Integer) skillsAndLevels[i + 1]));
+        }
+        return member;
+    }
+
+    static Task task(double hours, Object... skillsAndLevels) {
+        Task task = new Task();
+        task.setEstimatedHours(hours);
+        for (int i = 0; i < skillsAndLevels.length; i += 2) {
+            task.getRequiredSkills().add(new TaskSkill(task, (Skill) skillsAndLevels[i], (Integer) skillsAndLevels[i + 1]));
+        }
+        return task;
+    }
+
+    static Task task(Task.Priority priority, double hours, Object... skillsAndLevels) {
+        Task task = task(hours, skillsAndLevels);
+        task.setPriority(priority);
+        return task;
+    }
+}
@@ -0,0 +1,168 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.model.Member;
+import com.projectmanagement.model.MemberSkill;
+import com.projectmanagement.model.Skill;
+import com.projectmanagement.model.Task;
+import com.projectmanagement.model.TaskSkill;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Skill scoring of one task against every member (the inner loop of findBestMember) with
+ * 10k members and 50k tasks: AllocationSnapshot arrays vs. the former stream lookup in
+ * each member's skill list, and the inverted index scoring only the qualified candidates.
+ * One operation is one (task, member) pair of the full scan, whatever the method.
+ *
+ * CandidateScorer is also timed on a task every member qualifies for, with the full member
+ * score, on the calling thread and split across the common ForkJoinPool: the parallel run
+ * only pays off with several cores (-Dallocation.parallel.minMembers sets the switch-over).
+ *
+ * Run with:
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat cp.txt) com.projectmanagement.service.AllocationScoringBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AllocationScoringBenchmark {
+    private static final int MEMBERS = 10_000;
+    private static final int TASKS = 50_000;
+    private static final int SKILLS = 60;
+
+    private List<Member> members;
+    private List<Task> tasks;
+    private AllocationSnapshot snapshot;
+    private AllocationSnapshot.Requirements[] requirements;
+    private int next;
+    private Task openTask;
+    private final CandidateScorer sequential = new CandidateScorer(Integer.MAX_VALUE, 1024, ForkJoinPool.commonPool());
+    private final CandidateScorer parallel = new CandidateScorer(0, 1024, ForkJoinPool.commonPool());
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        Skill[] skills = new Skill[SKILLS];
+        for (int s = 0; s < SKILLS; s++) {
+            skills[s] = new Skill("Skill " + s, null);
+            skills[s].setId(s + 1);
+        }
+        members = new ArrayList<>();
+        for (int m = 0; m < MEMBERS; m++) {
+            Member member = new Member();
+            member.setId(m + 1);
+            member.setWeeklyAvailability(40);
+            member.setCurrentWorkload(random.nextInt(40));
+            for (int k = 5 + random.nextInt(6); k > 0; k--) {
+                member.getSkills().add(new MemberSkill(member, skills[random.nextInt(SKILLS)], 1 + random.nextInt(5)));
+            }
+            members.add(member);
+        }
+        tasks = new ArrayList<>();
+        for (int t = 0; t < TASKS; t++) {
+            Task task = new Task();
+            task.setId(t + 1);
+            for (int k = 1 + random.nextInt(3); k > 0; k--) {
+                task.getRequiredSkills().add(new TaskSkill(task, skills[random.nextInt(SKILLS)], 1 + random.nextInt(3)));
+            }
+            tasks.add(task);
+        }
+        openTask = new Task();
+        openTask.setEstimatedHours(8);
+        snapshot = AllocationSnapshot.of(members);
+        requirements = new AllocationSnapshot.Requirements[TASKS];
+        for (int t = 0; t < TASKS; t++) {
+            requirements[t] = snapshot.requirements(tasks.get(t));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MEMBERS)
+    public double snapshot() {
+        AllocationSnapshot.Requirements task = requirements[nextTask()];
+        double best = -1;
+        for (int m = 0; m < MEMBERS; m++) {
+            best = Math.max(best, snapshot.skillScore(task, m));
+        }
+        return best;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MEMBERS)
+    public double invertedIndex() {
+        AllocationSnapshot.Requirements task = requirements[nextTask()];
+        BitSet candidates = snapshot.candidates(task);
+        double best = -1;
+        for (int m = candidates.nextSetBit(0); m >= 0; m = candidates.nextSetBit(m + 1)) {
+            best = Math.max(best, snapshot.skillScore(task, m));
+        }
+        return best;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MEMBERS)
+    public double legacyStreams() {
+        Task task = tasks.get(nextTask());
+        double best = -1;
+        for (Member member : members) {
+            best = Math.max(best, legacySkillScore(task, member));
+        }
+        return best;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MEMBERS)
+    public CandidateScorer.Pick scorerSequential() {
+        return sequential.best(openTask, members, snapshot, 0.6);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MEMBERS)
+    public CandidateScorer.Pick scorerParallel() {
+        return parallel.best(openTask, members, snapshot, 0.6);
+    }
+
+    private int nextTask() {
+        int t = next;
+        next = t + 1 == TASKS ? 0 : t + 1;
+        return t;
+    }
+
+    // Ancien TaskAllocationService.calculateSkillScore
+    private static double legacySkillScore(Task task, Member member) {
+        List<TaskSkill> requiredSkills = task.getRequiredSkills();
+        if (requiredSkills.isEmpty()) {
+            return 0.5;
+        }
+        int totalSkillLevel = 0;
+        int maxSkillLevel = 0;
+        for (TaskSkill taskSkill : requiredSkills) {
+            maxSkillLevel += taskSkill.getRequiredLevel();
+            Optional<MemberSkill> memberSkill = member.getSkills().stream()
+                .filter(ms -> ms.getSkill().equals(taskSkill.getSkill()))
+                .findFirst();
+            if (memberSkill.isPresent() && memberSkill.get().getProficiencyLevel() >= taskSkill.getRequiredLevel()) {
+                totalSkillLevel += memberSkill.get().getProficiencyLevel();
+            } else {
+                return 0;
+            }
+        }
+        return Math.min(1.0, (double) totalSkillLevel / maxSkillLevel);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(AllocationScoringBenchmark.class.getSimpleName()).build()).run();
+    }
+}
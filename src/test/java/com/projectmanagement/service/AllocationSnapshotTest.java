@@ -0,0 +1,63 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.model.Member;
+import com.projectmanagement.model.Skill;
+import com.projectmanagement.model.Task;
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static com.projectmanagement.service.AllocationFixtures.*;
+import static org.junit.Assert.*;
+
+public class AllocationSnapshotTest {
+    private final Skill java = skill(1);
+    private final Skill sql = skill(2);
+    private final Skill cobol = skill(3);   // requise, mais personne ne l'a
+
+    @Test
+    public void scoresLikeTheFormerSkillListLookup() {
+        Member expert = member(40, java, 5, sql, 4);
+        Member junior = member(40, java, 2);
+        Member sqlOnly = member(40, sql, 3);
+        AllocationSnapshot snapshot = AllocationSnapshot.of(List.of(expert, junior, sqlOnly));
+
+        AllocationSnapshot.Requirements both = snapshot.requirements(task(4, java, 3, sql, 3));
+        assertEquals(1.0, snapshot.skillScore(both, 0), 1e-9);      // 9/6, plafonné
+        assertEquals(0, snapshot.skillScore(both, 1), 1e-9);        // Java trop faible
+        assertEquals(0, snapshot.skillScore(both, 2), 1e-9);        // Java absent
+
+        AllocationSnapshot.Requirements javaOnly = snapshot.requirements(task(4, java, 2));
+        assertEquals(1.0, snapshot.skillScore(javaOnly, 1), 1e-9);
+        assertEquals(0.5, snapshot.skillScore(snapshot.requirements(new Task()), 2), 1e-9);
+        assertEquals(0, snapshot.skillScore(snapshot.requirements(task(4, cobol, 1)), 0), 1e-9);
+
+        AllocationSnapshot.Requirements partial = snapshot.requirements(task(4, sql, 2, java, 4));
+        assertEquals(0.0, snapshot.skillScore(partial, 2), 1e-9);
+        assertEquals(1.0, snapshot.skillScore(partial, 0), 1e-9);
+    }
+
+    @Test
+    public void candidatesAreTheMembersWithEveryRequiredSkillAtItsLevel() {
+        AllocationSnapshot snapshot = AllocationSnapshot.of(List.of(
+                member(40, java, 5, sql, 4),
+                member(40, java, 2),
+                member(40, java, 3, sql, 3)));
+
+        assertEquals(bits(0, 2), snapshot.candidates(snapshot.requirements(task(4, java, 3, sql, 3))));
+        assertEquals(bits(0), snapshot.candidates(snapshot.requirements(task(4, java, 4, sql, 1))));
+        assertEquals(bits(0, 1, 2), snapshot.candidates(snapshot.requirements(task(4, java, 2))));
+        assertEquals(bits(0, 1, 2), snapshot.candidates(snapshot.requirements(new Task())));
+        assertEquals(bits(), snapshot.candidates(snapshot.requirements(task(4, java, 6))));
+        assertEquals(bits(), snapshot.candidates(snapshot.requirements(task(4, java, 1, cobol, 1))));
+    }
+
+    private static BitSet bits(int... positions) {
+        BitSet bits = new BitSet();
+        for (int position : positions) {
+            bits.set(position);
+        }
+        return bits;
+    }
+}
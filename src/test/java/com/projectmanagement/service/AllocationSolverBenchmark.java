@@ -0,0 +1,113 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dao.InMemoryStorage;
+import com.projectmanagement.dao.Storage;
+import com.projectmanagement.model.Member;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.Skill;
+import com.projectmanagement.model.Task;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.SQLException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full allocation run on the in-memory storage, greedy vs. min-cost flow, on a project
+ * with more task hours than the 200 members have left. Times the run; the quality of each
+ * mode's answer (tasks and hours placed, urgent tasks left, members pushed over their
+ * availability) is printed once per trial.
+ *
+ * Measured here (JDK 17): 5000 tasks, greedy ~90 ms, 1876 tasks, 11125 h of which 5916 h
+ * within availability, every member overloaded; min-cost flow ~320 ms, 1118 tasks, 5916 h,
+ * no overload.
+ *
+ * Run with:
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat cp.txt) com.projectmanagement.service.AllocationSolverBenchmark
+ */
+@BenchmarkMode(org.openjdk.jmh.annotations.Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=error")
+@State(Scope.Benchmark)
+public class AllocationSolverBenchmark {
+    private static final int MEMBERS = 200;
+    private static final int SKILLS = 20;
+
+    @Param({ "1000", "5000" })
+    private int tasks;
+
+    @Param({ "GREEDY", "OPTIMAL" })
+    private TaskAllocationService.Mode mode;
+
+    private Storage storage;
+    private int projectId;
+
+    @Setup(Level.Trial)
+    public void reportQuality() throws SQLException {
+        load();
+        TaskAllocationService.AllocationResult result = allocate();
+        int urgentLeft = 0;
+        for (Task task : storage.tasks().findUnassignedByProject(projectId)) {
+            if (task.getPriority() == Task.Priority.URGENT) {
+                urgentLeft++;
+            }
+        }
+        double hours = 0;
+        double withinAvailability = 0;
+        int overloaded = 0;
+        for (Member member : storage.members().findAll()) {
+            hours += member.getCurrentWorkload();
+            withinAvailability += Math.min(member.getCurrentWorkload(), member.getWeeklyAvailability());
+            if (member.isOverloaded()) {
+                overloaded++;
+            }
+        }
+        System.out.printf("%n%s, %d tasks: assigned %d, failed %d, %.0f h placed (%.0f h within availability), "
+                + "%d urgent left, %d members overloaded%n", mode, tasks, result.getAssignedCount(),
+                result.getFailedCount(), hours, withinAvailability, urgentLeft, overloaded);
+    }
+
+    @Setup(Level.Invocation)
+    public void load() throws SQLException {
+        Random random = new Random(42);
+        storage = new InMemoryStorage();
+        int[] skills = new int[SKILLS];
+        for (int s = 0; s < SKILLS; s++) {
+            skills[s] = storage.skills().create(new Skill("Skill " + s, null));
+        }
+        for (int m = 0; m < MEMBERS; m++) {
+            Member member = new Member();
+            member.setName("Member " + m);
+            member.setEmail("member" + m + "@example.com");
+            member.setWeeklyAvailability(20 + random.nextInt(21));
+            int id = storage.members().create(member);
+            for (int k = 3 + random.nextInt(4); k > 0; k--) {
+                storage.members().addSkill(id, skills[random.nextInt(SKILLS)], 1 + random.nextInt(5));
+            }
+        }
+        projectId = storage.projects().create(new Project("Apollo", null, null, null));
+        Task.Priority[] priorities = Task.Priority.values();
+        for (int t = 0; t < tasks; t++) {
+            Task task = new Task(projectId, "Task " + t, 1 + random.nextInt(12));
+            task.setPriority(priorities[random.nextInt(priorities.length)]);
+            int id = storage.tasks().create(task);
+            for (int k = 1 + random.nextInt(2); k > 0; k--) {
+                storage.tasks().addSkillRequirement(id, skills[random.nextInt(SKILLS)], 1 + random.nextInt(3));
+            }
+        }
+    }
+
+    @Benchmark
+    public TaskAllocationService.AllocationResult allocate() throws SQLException {
+        return new TaskAllocationService(storage).allocateTasks(projectId, mode);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(AllocationSolverBenchmark.class.getSimpleName()).build()).run();
+    }
+}
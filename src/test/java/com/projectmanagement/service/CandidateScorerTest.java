@@ -0,0 +1,80 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.model.Member;
+import com.projectmanagement.model.Skill;
+import com.projectmanagement.model.Task;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.projectmanagement.service.AllocationFixtures.*;
+import static org.junit.Assert.*;
+
+public class CandidateScorerTest {
+    private static final ForkJoinPool pool = new ForkJoinPool(4);
+
+    private final CandidateScorer sequential = new CandidateScorer(Integer.MAX_VALUE, 1024, pool);
+    // Découpé jusqu'à des feuilles de 3 membres
+    private final CandidateScorer parallel = new CandidateScorer(1, 3, pool);
+
+    @AfterClass
+    public static void shutdown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void parallelScoringPicksTheSameMembersAsTheSequentialLoop() {
+        Random random = new Random(7);
+        Skill java = skill(1);
+        List<Member> members = new ArrayList<>();
+        for (int m = 0; m < 500; m++) {
+            Member member = member(40, java, 3 + random.nextInt(3));
+            member.setId(m + 1);
+            // Peu de valeurs distinctes : beaucoup d'égalités de score
+            member.setCurrentWorkload(4 * random.nextInt(12));
+            members.add(member);
+        }
+        // Ordre de la liste sans rapport avec les ids
+        Collections.shuffle(members, random);
+        AllocationSnapshot snapshot = AllocationSnapshot.of(members);
+
+        for (int hours = 1; hours <= 40; hours += 3) {
+            Task task = task(hours, java, 3);
+
+            CandidateScorer.Pick expected = sequential.best(task, members, snapshot, 0.6);
+            CandidateScorer.Pick actual = parallel.best(task, members, snapshot, 0.6);
+            assertNotNull(expected);
+            assertEquals(expected.memberId, actual.memberId);
+            assertEquals(expected.position, actual.position);
+            assertLowestIdAmongEqualScores(expected, task, members, snapshot);
+
+            int excluded = members.get(hours).getId();
+            CandidateScorer.Rebalancing sequentialRebalancing = sequential.rebalancing(task, members, snapshot, excluded, 0.6);
+            CandidateScorer.Rebalancing parallelRebalancing = parallel.rebalancing(task, members, snapshot, excluded, 0.6);
+            assertEquals(id(sequentialRebalancing.underLoad), id(parallelRebalancing.underLoad));
+            assertEquals(id(sequentialRebalancing.lightest), id(parallelRebalancing.lightest));
+            assertNotEquals(Integer.valueOf(excluded), id(parallelRebalancing.lightest));
+        }
+    }
+
+    private static void assertLowestIdAmongEqualScores(CandidateScorer.Pick pick, Task task, List<Member> members,
+                                                       AllocationSnapshot snapshot) {
+        AllocationSnapshot.Requirements required = snapshot.requirements(task);
+        for (int i = 0; i < members.size(); i++) {
+            double score = TaskAllocationService.calculateMemberScore(task, members.get(i), snapshot.skillScore(required, i));
+            assertTrue(score <= pick.score);
+            if (score == pick.score) {
+                assertTrue(members.get(i).getId() >= pick.memberId);
+            }
+        }
+    }
+
+    private static Integer id(CandidateScorer.Pick pick) {
+        return pick != null ? pick.memberId : null;
+    }
+}
@@ -0,0 +1,65 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.model.Member;
+import com.projectmanagement.model.Skill;
+import com.projectmanagement.model.Task;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.projectmanagement.service.AllocationFixtures.*;
+import static org.junit.Assert.*;
+
+public class MinCostFlowAllocatorTest {
+    private final Skill java = skill(1);
+    private final Skill sql = skill(2);
+
+    @Test
+    public void anEarlyTaskDoesNotTakeTheOnlyMemberOfALaterOne() {
+        Member ana = member(10, java, 4, sql, 4);
+        Member bob = member(10, java, 4);
+        List<Member> members = List.of(ana, bob);
+        // Ordre de prioritizeTasks : l'urgente d'abord
+        Task urgent = task(Task.Priority.URGENT, 10, java, 3);
+        Task low = task(Task.Priority.LOW, 10, java, 3, sql, 3);
+        AllocationSnapshot snapshot = AllocationSnapshot.of(members);
+
+        // Le glouton donne l'urgente à Ana (première à score égal) ; chargée, elle passe sous le seuil
+        Member busyAna = member(10, java, 4, sql, 4);
+        busyAna.setCurrentWorkload(10);
+        assertTrue(TaskAllocationService.calculateMemberScore(low, busyAna, 1.0)
+                < TaskAllocationService.MINIMUM_COMPETENCE_THRESHOLD);
+
+        int[] solved = MinCostFlowAllocator.solve(List.of(urgent, low), members, snapshot);
+
+        assertArrayEquals(new int[] { 1, 0 }, solved);
+    }
+
+    @Test
+    public void staysWithinEachMembersRemainingHours() {
+        Member ana = member(20, java, 4);
+        ana.setCurrentWorkload(8);
+        Member bob = member(10, java, 4);
+        List<Member> members = List.of(ana, bob);
+        List<Task> tasks = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            tasks.add(task(Task.Priority.MEDIUM, 3 + t % 3, java, 3));
+        }
+
+        int[] solved = MinCostFlowAllocator.solve(tasks, members, AllocationSnapshot.of(members));
+
+        double[] hours = new double[members.size()];
+        int assigned = 0;
+        for (int t = 0; t < tasks.size(); t++) {
+            if (solved[t] >= 0) {
+                hours[solved[t]] += tasks.get(t).getEstimatedHours();
+                assigned++;
+            }
+        }
+        assertTrue(hours[0] <= 12);
+        assertTrue(hours[1] <= 10);
+        assertTrue("assigned: " + assigned, assigned >= 5);
+        assertEquals(8, ana.getCurrentWorkload(), 0);
+    }
+}
@@ -0,0 +1,199 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dao.AlertDAO;
+import com.projectmanagement.dao.JdbcStorage;
+import com.projectmanagement.dao.MemberDAO;
+import com.projectmanagement.dao.ProjectDAO;
+import com.projectmanagement.dao.SkillDAO;
+import com.projectmanagement.dao.TaskDAO;
+import com.projectmanagement.model.Member;
+import com.projectmanagement.model.Project;
+import com.projectmanagement.model.Skill;
+import com.projectmanagement.model.Task;
+import com.projectmanagement.model.TaskSkill;
+import com.projectmanagement.util.DatabaseUtil;
+import com.projectmanagement.util.EmbeddedDatabase;
+import com.projectmanagement.util.RecordingDataSource;
+import com.projectmanagement.util.UnitOfWork;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * A large allocation is written with batches: the number of statements doesn't grow with the tasks.
+ */
+public class TaskAllocationServiceTest {
+    private static final int MEMBERS = 20;
+    private static final int TASKS = 1000;
+
+    private HikariDataSource pool;
+    private RecordingDataSource recorder;
+
+    @Before
+    public void createDatabase() throws Exception {
+        pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:allocation_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        try (Connection conn = pool.getConnection()) {
+            EmbeddedDatabase.runScript(conn, "database/schema.sql");
+        }
+        recorder = new RecordingDataSource(pool);
+        DatabaseUtil.useDataSource(recorder.dataSource());
+    }
+
+    @After
+    public void close() {
+        DatabaseUtil.close();
+        pool.close();
+    }
+
+    @Test
+    public void allocatesAThousandTasksInAFixedNumberOfStatements() throws Exception {
+        Skill java = new Skill("Java", null);
+        new SkillDAO().create(java);
+        List<Member> members = new ArrayList<>();
+        for (int m = 0; m < MEMBERS; m++) {
+            Member member = new Member();
+            member.setName("Member " + m);
+            member.setEmail("member" + m + "@example.com");
+            member.setWeeklyAvailability(40);
+            members.add(member);
+        }
+        MemberDAO memberDAO = new MemberDAO();
+        memberDAO.createAll(members);
+        for (Member member : members) {
+            memberDAO.addSkill(member.getId(), java.getId(), 4);
+        }
+        int projectId = new ProjectDAO().create(new Project("Apollo", null, Date.valueOf("2026-01-01"), Date.valueOf("2026-12-31")));
+        List<Task> tasks = new ArrayList<>();
+        for (int t = 0; t < TASKS; t++) {
+            Task task = new Task(projectId, "Task " + t, 1);
+            task.getRequiredSkills().add(new TaskSkill(task, java, 3));
+            tasks.add(task);
+        }
+        new TaskDAO().createAll(tasks);
+
+        recorder.reset();
+        TaskAllocationService.AllocationResult result = new TaskAllocationService(new JdbcStorage()).allocateTasks(projectId);
+
+        assertEquals(TASKS, result.getAssignedCount());
+        assertTrue("statements: " + recorder.statements(), recorder.statements() <= 20);
+        assertTrue(new TaskDAO().findUnassignedByProject(projectId).isEmpty());
+        double total = 0;
+        for (Member member : memberDAO.findAll()) {
+            total += member.getCurrentWorkload();
+        }
+        assertEquals(TASKS, total, 0.001);
+        // 50 h pour 40 h disponibles : des alertes de surcharge, écrites dans le même lot
+        assertFalse(new AlertDAO().findAll().isEmpty());
+    }
+
+    @Test
+    public void keepsAnAssignmentMadeWhileTheAllocationIsDeciding() throws Exception {
+        Skill java = new Skill("Java", null);
+        new SkillDAO().create(java);
+        Member member = new Member();
+        member.setName("Ana");
+        member.setEmail("ana@example.com");
+        member.setWeeklyAvailability(40);
+        MemberDAO memberDAO = new MemberDAO();
+        int memberId = memberDAO.create(member);
+        memberDAO.addSkill(memberId, java.getId(), 4);
+        ProjectDAO projectDAO = new ProjectDAO();
+        int apollo = projectDAO.create(new Project("Apollo", null, Date.valueOf("2026-01-01"), Date.valueOf("2026-12-31")));
+        int gemini = projectDAO.create(new Project("Gemini", null, Date.valueOf("2026-01-01"), Date.valueOf("2026-12-31")));
+        TaskDAO taskDAO = new TaskDAO();
+        Task allocated = new Task(apollo, "Allocated", 5);
+        allocated.getRequiredSkills().add(new TaskSkill(allocated, java, 3));
+        Task manual = new Task(gemini, "Manual", 3);
+        manual.getRequiredSkills().add(new TaskSkill(manual, java, 3));
+        taskDAO.createAll(List.of(allocated, manual));
+
+        // Affectation manuelle, sur une autre connexion, entre la lecture des membres et l'écriture du plan
+        JdbcStorage storage = new JdbcStorage() {
+            private final MemberDAO members = new MemberDAO() {
+                @Override
+                public List<Member> findAll() throws SQLException {
+                    List<Member> read = super.findAll();
+                    try {
+                        runOnAnotherThread(() -> new TaskDAO().assignTaskToMember(manual.getId(), memberId));
+                    } catch (InterruptedException e) {
+                        throw new AssertionError(e);
+                    }
+                    return read;
+                }
+            };
+
+            @Override
+            public MemberDAO members() {
+                return members;
+            }
+        };
+        TaskAllocationService.AllocationResult result = new TaskAllocationService(storage).allocateTasks(apollo);
+
+        assertEquals(1, result.getAssignedCount());
+        assertEquals(8, memberDAO.findById(memberId).getCurrentWorkload(), 0.001);
+    }
+
+    @Test
+    public void writesNothingWhenTheLastBatchOfThePlanFails() throws Exception {
+        Skill java = new Skill("Java", null);
+        new SkillDAO().create(java);
+        Member member = new Member();
+        member.setName("Ana");
+        member.setEmail("ana@example.com");
+        member.setWeeklyAvailability(10);
+        MemberDAO memberDAO = new MemberDAO();
+        int memberId = memberDAO.create(member);
+        memberDAO.addSkill(memberId, java.getId(), 4);
+        int projectId = new ProjectDAO().create(new Project("Apollo", null, Date.valueOf("2026-01-01"), Date.valueOf("2026-12-31")));
+        List<Task> tasks = new ArrayList<>();
+        for (int t = 0; t < 3; t++) {
+            Task task = new Task(projectId, "Task " + t, 4);
+            task.getRequiredSkills().add(new TaskSkill(task, java, 3));
+            tasks.add(task);
+        }
+        TaskDAO taskDAO = new TaskDAO();
+        taskDAO.createAll(tasks);
+
+        // 12 h pour 10 h : le plan finit par des alertes, écrites après les affectations et les charges
+        recorder.failOn("INSERT INTO alerts");
+        try {
+            new TaskAllocationService(new JdbcStorage()).allocateTasks(projectId);
+            fail("the alerts batch should have failed");
+        } catch (SQLException expected) {
+            // attendu
+        } finally {
+            recorder.failOn(null);
+        }
+
+        assertEquals(3, taskDAO.findUnassignedByProject(projectId).size());
+        assertEquals(0, memberDAO.findById(memberId).getCurrentWorkload(), 0.001);
+        assertTrue(new AlertDAO().findAll().isEmpty());
+    }
+
+    private static void runOnAnotherThread(UnitOfWork.Work<?> work) throws SQLException, InterruptedException {
+        AtomicReference<SQLException> failure = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                work.run();
+            } catch (SQLException e) {
+                failure.set(e);
+            }
+        });
+        thread.start();
+        thread.join();
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+}
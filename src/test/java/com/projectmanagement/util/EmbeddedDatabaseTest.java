@@ -0,0 +1,49 @@
+package com.projectmanagement.util;
+
+import com.projectmanagement.dao.MemberDAO;
+import com.projectmanagement.dao.TaskDAO;
+import com.projectmanagement.model.Task;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.*;
+
+public class EmbeddedDatabaseTest {
+
+    @Test
+    public void splitsOnSemicolonsOutsideLiteralsAndComments() {
+        List<String> statements = EmbeddedDatabase.statements(
+                "-- header; not a statement\n" +
+                "INSERT INTO t VALUES ('a;b', 'it''s'); /* x; y */\n" +
+                "SELECT 1 -- trailing; comment\n;");
+        assertEquals(List.of("INSERT INTO t VALUES ('a;b', 'it''s')", "SELECT 1"), statements);
+    }
+
+    @Test
+    public void translatesMySqlOnlyStatements() {
+        assertNull(EmbeddedDatabase.toH2("USE project_management"));
+        assertNull(EmbeddedDatabase.toH2("DROP DATABASE IF EXISTS project_management"));
+        assertEquals("SET REFERENTIAL_INTEGRITY FALSE", EmbeddedDatabase.toH2("SET FOREIGN_KEY_CHECKS = 0"));
+        assertEquals("CREATE TABLE t (id INT)", EmbeddedDatabase.toH2("CREATE TABLE t (id INT) ENGINE=InnoDB"));
+    }
+
+    @Test
+    public void loadsTheProjectScriptsAndServesTheDaos() throws Exception {
+        Properties props = new Properties();
+        props.setProperty("db.embedded.url", "jdbc:h2:mem:embedded_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        HikariDataSource pool = EmbeddedDatabase.start(props);
+        DatabaseUtil.useDataSource(pool);
+        try {
+            assertEquals(5, new MemberDAO().findAll().size());
+            List<Task> tasks = new TaskDAO().findByProject(1);
+            assertEquals(10, tasks.size());
+            assertEquals(Task.Priority.URGENT, tasks.get(0).getPriority());
+            assertFalse(tasks.get(0).getRequiredSkills().isEmpty());
+        } finally {
+            DatabaseUtil.close();
+        }
+    }
+}
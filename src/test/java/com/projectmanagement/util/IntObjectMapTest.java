@@ -0,0 +1,36 @@
+package com.projectmanagement.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class IntObjectMapTest {
+
+    @Test
+    public void putGetAndReplace() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        assertNull(map.put(7, "a"));
+        assertEquals("a", map.put(7, "b"));
+        assertEquals("b", map.get(7));
+        assertNull(map.get(8));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void growsPastInitialCapacity() {
+        IntObjectMap<Integer> map = new IntObjectMap<>(2);
+        for (int i = -1000; i < 1000; i++) {
+            map.put(i * 16, i);
+        }
+        assertEquals(2000, map.size());
+        for (int i = -1000; i < 1000; i++) {
+            assertEquals(Integer.valueOf(i), map.get(i * 16));
+        }
+        int[] keys = map.keys();
+        Arrays.sort(keys);
+        assertEquals(-16000, keys[0]);
+        assertEquals(15984, keys[1999]);
+    }
+}
@@ -0,0 +1,105 @@
+package com.projectmanagement.util;
+
+import com.projectmanagement.dao.SkillDAO;
+import com.projectmanagement.model.Skill;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Routing between two independent H2 databases standing for the primary and the replica.
+ */
+public class ReadReplicaTest {
+    private static JdbcDataSource primary;
+    private static JdbcDataSource replica;
+    private static Connection keepPrimary;
+    private static Connection keepReplica;
+
+    private final SkillDAO skillDAO = new SkillDAO();
+
+    @BeforeClass
+    public static void createDatabases() throws SQLException {
+        primary = database("primary");
+        replica = database("replica");
+        keepPrimary = primary.getConnection();
+        keepReplica = replica.getConnection();
+        DatabaseUtil.useDataSource(primary);
+    }
+
+    @AfterClass
+    public static void dropDatabases() throws SQLException {
+        keepPrimary.close();
+        keepReplica.close();
+    }
+
+    @After
+    public void removeReplica() {
+        DatabaseUtil.useReadReplica(null, -1, 0);
+    }
+
+    @Test
+    public void findsGoToTheReplica() throws SQLException {
+        DatabaseUtil.useReadReplica(replica, -1, 0);
+        assertEquals(List.of("replica"), names());
+        
+        DatabaseUtil.useReadReplica(null, -1, 0);
+        assertTrue(names().contains("primary"));
+    }
+
+    @Test
+    public void unitOfWorkAndRecentWritesStayOnThePrimary() throws SQLException {
+        DatabaseUtil.useReadReplica(replica, -1, 60_000);
+        UnitOfWork.run(() -> {
+            assertTrue(names().contains("primary"));
+            return null;
+        });
+        
+        Skill skill = new Skill();
+        skill.setName("written");
+        skillDAO.create(skill);
+        assertTrue(names().contains("written"));
+    }
+
+    @Test
+    public void unreachableReplicaFallsBackToThePrimary() throws SQLException {
+        DataSource down = (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(),
+                new Class<?>[] { DataSource.class }, (proxy, method, args) -> {
+                    throw new SQLException("Connection refused");
+                });
+        DatabaseUtil.useReadReplica(down, -1, 0);
+        assertTrue(names().contains("primary"));
+    }
+
+    @Test
+    public void readsStayOnThePrimaryForAtLeastTheAllowedLag() {
+        assertEquals(5000, DatabaseUtil.readAfterWriteWindow(5, 1000));
+        assertEquals(8000, DatabaseUtil.readAfterWriteWindow(5, 8000));
+        assertEquals(0, DatabaseUtil.readAfterWriteWindow(-1, 0));
+    }
+
+    private List<String> names() throws SQLException {
+        return skillDAO.findAll().stream().map(Skill::getName).sorted().collect(Collectors.toList());
+    }
+
+    private static JdbcDataSource database(String name) throws SQLException {
+        JdbcDataSource ds = new JdbcDataSource();
+        ds.setURL("jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        try (Connection conn = ds.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE skills (id INT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(50), description VARCHAR(255))");
+            stmt.execute("INSERT INTO skills (name) VALUES ('" + name + "')");
+        }
+        return ds;
+    }
+}
@@ -0,0 +1,129 @@
+package com.projectmanagement.util;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wraps a data source for the tests: counts the prepareStatement calls and the connections
+ * open at the same time, records each executed SELECT with its parameter setters, and can
+ * make the statements starting with a given SQL prefix fail.
+ */
+public final class RecordingDataSource {
+    private final DataSource proxy;
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final AtomicInteger maxOpenConnections = new AtomicInteger();
+    private final List<Query> selects = new ArrayList<>();
+    private volatile String failingPrefix;
+
+    /**
+     * One executed SELECT; each setter is {Method, args}, to replay on another statement.
+     */
+    public static final class Query {
+        public final String sql;
+        public final List<Object[]> setters = new ArrayList<>();
+
+        Query(String sql) {
+            this.sql = sql;
+        }
+    }
+
+    public RecordingDataSource(DataSource target) {
+        this.proxy = (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(),
+                new Class<?>[] { DataSource.class }, (p, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    return result instanceof Connection ? connection((Connection) result) : result;
+                });
+    }
+
+    /**
+     * The wrapping data source, to hand to {@link DatabaseUtil#useDataSource}.
+     */
+    public DataSource dataSource() {
+        return proxy;
+    }
+
+    /**
+     * Resets the statement and connection counters and forgets the recorded SELECTs.
+     */
+    public void reset() {
+        statements.set(0);
+        maxOpenConnections.set(openConnections.get());
+        synchronized (selects) {
+            selects.clear();
+        }
+    }
+
+    public int statements() {
+        return statements.get();
+    }
+
+    public int maxOpenConnections() {
+        return maxOpenConnections.get();
+    }
+
+    public List<Query> selects() {
+        synchronized (selects) {
+            return new ArrayList<>(selects);
+        }
+    }
+
+    /**
+     * Makes prepareStatement throw for SQL starting with the prefix (case-insensitive);
+     * null stops failing.
+     */
+    public void failOn(String prefix) {
+        failingPrefix = prefix != null ? prefix.toUpperCase() : null;
+    }
+
+    private Connection connection(Connection conn) {
+        maxOpenConnections.accumulateAndGet(openConnections.incrementAndGet(), Math::max);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (p, m, a) -> {
+                    if (m.getName().equals("close") && !conn.isClosed()) {
+                        openConnections.decrementAndGet();
+                    }
+                    if (!m.getName().equals("prepareStatement")) {
+                        return invoke(conn, m, a);
+                    }
+                    statements.incrementAndGet();
+                    String sql = ((String) a[0]).trim().toUpperCase();
+                    String failing = failingPrefix;
+                    if (failing != null && sql.startsWith(failing)) {
+                        throw new SQLException("Injected failure: " + a[0]);
+                    }
+                    PreparedStatement stmt = (PreparedStatement) invoke(conn, m, a);
+                    return sql.startsWith("SELECT") ? recording(stmt, new Query((String) a[0])) : stmt;
+                });
+    }
+
+    private PreparedStatement recording(PreparedStatement target, Query query) {
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class }, (p, m, a) -> {
+                    if (m.getName().startsWith("set") && a != null && a.length >= 2 && a[0] instanceof Integer) {
+                        query.setters.add(new Object[] { m, a });
+                    } else if (m.getName().equals("executeQuery")) {
+                        synchronized (selects) {
+                            selects.add(query);
+                        }
+                    }
+                    return invoke(target, m, a);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.projectmanagement.util;
+
+import com.projectmanagement.dao.EntityVersions;
+import com.projectmanagement.dao.SkillDAO;
+import com.projectmanagement.model.Skill;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.*;
+
+public class UnitOfWorkTest {
+    private static Connection keepAlive;
+
+    private final SkillDAO skillDAO = new SkillDAO();
+
+    @BeforeClass
+    public static void createSchema() throws SQLException {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:unitofwork;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        keepAlive = h2.getConnection();
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("CREATE TABLE skills (id INT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(50), description VARCHAR(255))");
+        }
+        DatabaseUtil.useDataSource(h2);
+    }
+
+    @AfterClass
+    public static void dropSchema() throws SQLException {
+        keepAlive.close();
+    }
+
+    @Test
+    public void daoCallsShareTheConnectionAndCommitTogether() throws SQLException {
+        long version = EntityVersions.version(EntityVersions.Collection.SKILLS);
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            Connection first = DatabaseUtil.getConnection();
+            first.close();
+            assertSame(first, DatabaseUtil.getConnection());
+            
+            skillDAO.create(skill("Kotlin"));
+            skillDAO.create(skill("Scala"));
+            assertEquals(0, count("Kotlin", "Scala"));
+            assertEquals(version, EntityVersions.version(EntityVersions.Collection.SKILLS));
+            uow.commit();
+        }
+        assertFalse(UnitOfWork.isActive());
+        assertEquals(2, count("Kotlin", "Scala"));
+        assertEquals(version + 2, EntityVersions.version(EntityVersions.Collection.SKILLS));
+    }
+
+    @Test
+    public void closingWithoutCommitRollsBack() throws SQLException {
+        long version = EntityVersions.version(EntityVersions.Collection.SKILLS);
+        UnitOfWork uow = UnitOfWork.begin();
+        try {
+            skillDAO.create(skill("Cobol"));
+            try (UnitOfWork inner = UnitOfWork.begin()) {
+                skillDAO.create(skill("Fortran"));
+                inner.commit();
+            }
+        } finally {
+            uow.close();
+        }
+        assertEquals(0, count("Cobol", "Fortran"));
+        assertEquals(version, EntityVersions.version(EntityVersions.Collection.SKILLS));
+    }
+
+    @Test(expected = SQLException.class)
+    public void innerUnitWithoutCommitPreventsOuterCommit() throws SQLException {
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            UnitOfWork inner = UnitOfWork.begin();
+            try {
+                skillDAO.create(skill("Pascal"));
+            } finally {
+                inner.close();
+            }
+            uow.commit();
+        }
+    }
+
+    private static Skill skill(String name) {
+        Skill skill = new Skill();
+        skill.setName(name);
+        return skill;
+    }
+
+    // Lu sur une autre connexion : ne voit que ce qui est commité
+    private static int count(String... names) throws SQLException {
+        try (Statement stmt = keepAlive.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM skills WHERE name IN ('"
+                     + String.join("', '", names) + "')")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}